@@ -0,0 +1,27 @@
+#!/usr/bin/env bash
+#
+# Builds the jar with AOT processing, extracts it and creates a class data sharing (CDS) archive for it with a
+# training run, for the fast-startup profile.
+#
+# usage: scripts/build-cds.sh [application args for the training run...]
+#
+# The training run starts the application context and exits once it is refreshed, before serving any request; it
+# connects to the configured database, since Liquibase checks its changelog. The result is in target/cds, and the
+# command that starts the application from it is printed at the end. The archive only matches the JVM that created it.
+set -euo pipefail
+
+java=${JAVA_HOME:+$JAVA_HOME/bin/}java
+out=target/cds
+
+./mvnw -B -q -P aot -DskipTests package
+jar=$(ls target/production-finding-backend-*.jar | head -n 1)
+rm -rf "$out"
+"$java" -Djarmode=tools -jar "$jar" extract --destination "$out"
+app=$out/$(basename "$jar")
+
+# the AOT build records the startup timeline, see the aot profile in pom.xml
+options=(-Dspring.aot.enabled=true -Dapp.startup.timeline=true)
+"$java" -XX:ArchiveClassesAtExit="$out/application.jsa" -Xlog:cds=error "${options[@]}" -Dspring.context.exit=onRefresh \
+    -jar "$app" --spring.profiles.active=fast-startup "$@"
+
+echo "Start with: $java -XX:SharedArchiveFile=$out/application.jsa ${options[*]} -jar $app --spring.profiles.active=fast-startup"
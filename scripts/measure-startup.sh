@@ -0,0 +1,44 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request: from launching the JVM until GET /currencies/1 is answered.
+#
+# usage: scripts/measure-startup.sh [-n runs] [command...]
+#
+# The command starts the application and defaults to java -jar on the jar in target; see scripts/build-cds.sh for
+# the command of a CDS and AOT start. Each run is logged to target/startup-<run>.log; the time of each run and the
+# median are printed in milliseconds. Needs the database the application is configured for.
+set -euo pipefail
+
+runs=5
+if [[ "${1:-}" == "-n" ]]; then
+    runs=$2
+    shift 2
+fi
+if [[ $# -eq 0 ]]; then
+    set -- "${JAVA_HOME:+$JAVA_HOME/bin/}java" -jar "$(ls target/production-finding-backend-*.jar | head -n 1)"
+fi
+url="http://localhost:${SERVER_PORT:-18080}/currencies/1"
+if curl -s -o /dev/null "$url"; then
+    echo "something is already listening on $url" >&2
+    exit 1
+fi
+
+times=()
+for ((i = 1; i <= runs; i++)); do
+    start=$(date +%s%N)
+    "$@" > "target/startup-$i.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "$url"; do
+        if ! kill -0 "$pid" 2> /dev/null; then
+            echo "run $i: the application exited, see target/startup-$i.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    times+=("$elapsed")
+    echo "run $i: $elapsed ms"
+    kill "$pid"
+    wait "$pid" 2> /dev/null || true
+done
+printf '%s\n' "${times[@]}" | sort -n | awk '{ t[NR] = $1 } END { printf "median: %d ms\n", t[int((NR + 1) / 2)] }'
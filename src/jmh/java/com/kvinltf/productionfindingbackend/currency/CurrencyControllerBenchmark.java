@@ -0,0 +1,142 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.kvinltf.productionfindingbackend.ProductionFindingBackendApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * HTTP round-trips through the full application, {@link CurrencyController} included, backed by an in-memory
+ * H2 database in PostgreSQL mode standing in for Postgres. The schema is created by Hibernate rather than Liquibase,
+ * whose changelogs contain PostgreSQL-only statements.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyControllerBenchmark {
+    /**
+     * The snapshot functions with which the {@link CurrencyChange} outbox is read; the current time stands for the
+     * oldest transaction in progress, past every transaction ID, which {@link #createOutboxDefaults} sets to 0
+     */
+    private static final String OUTBOX_FUNCTIONS =
+            ";INIT=CREATE ALIAS IF NOT EXISTS pg_current_snapshot FOR 'java.lang.System.currentTimeMillis'"
+                    + "\\;CREATE ALIAS IF NOT EXISTS pg_snapshot_xmin FOR 'java.lang.Math.abs(long)'";
+    static final String[] EMBEDDED_DATABASE = {
+            "--spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH"
+                    + OUTBOX_FUNCTIONS,
+            "--spring.datasource.driverClassName=org.h2.Driver",
+            "--spring.datasource.username=sa",
+            "--spring.datasource.password=",
+            "--spring.datasource.hikari.data-source-properties.reWriteBatchedInserts=",
+            "--spring.liquibase.enabled=false",
+            "--spring.jpa.hibernate.ddl-auto=create-drop",
+            // H2 has no LISTEN/NOTIFY
+            "--app.second-level-cache.invalidation=local",
+            "--server.port=0",
+            "--logging.level.root=WARN"
+    };
+    private static final int ROWS = 200;
+
+    @Param({"true", "false"})
+    public boolean responseCache;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private String pageETag;
+    private long updateCount;
+
+    @Setup
+    public void setUp() throws IOException, InterruptedException {
+        List<String> args = new ArrayList<>(List.of(EMBEDDED_DATABASE));
+        args.add("--app.response-cache.enabled=" + responseCache);
+        context = new SpringApplicationBuilder(ProductionFindingBackendApplication.class)
+                .run(args.toArray(String[]::new));
+        List<Currency> currencies = IntStream.range(0, ROWS).mapToObj(CurrencyFixtures::currency).toList();
+        currencies.forEach(currency -> {
+            currency.setId(null);
+            currency.setVersion(null);
+        });
+        createOutboxDefaults(context.getBean(JdbcTemplate.class));
+        context.getBean(CurrencyRepository.class).saveAll(currencies);
+        context.getBean(CurrencyCache.class).reload();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/currencies";
+        pageETag = client.send(get("?page=1&size=20").build(), HttpResponse.BodyHandlers.discarding())
+                .headers().firstValue("ETag").orElseThrow();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getById() throws IOException, InterruptedException {
+        return send(get("/1"));
+    }
+
+    @Benchmark
+    public int getPage() throws IOException, InterruptedException {
+        return send(get("?page=1&size=20"));
+    }
+
+    @Benchmark
+    public int getPageGzip() throws IOException, InterruptedException {
+        return send(get("?page=1&size=20").header("Accept-Encoding", "gzip"));
+    }
+
+    @Benchmark
+    public int getPageNotModified() throws IOException, InterruptedException {
+        return send(get("?page=1&size=20").header("If-None-Match", pageETag));
+    }
+
+    @Benchmark
+    public int getCursorPage() throws IOException, InterruptedException {
+        return send(get("?after=&size=20&sort=name,asc"));
+    }
+
+    @Benchmark
+    public int update() throws IOException, InterruptedException {
+        String body = "{\"name\":\"Currency " + (updateCount++ % 2) + "\",\"code\":\"AAA\",\"symbol\":\"$\",\"decimalPlaces\":2}";
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/1"))
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private int send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+
+    /**
+     * Sets the defaults that Liquibase gives the outbox on Postgres, which Hibernate leaves out of the schema it creates;
+     * a constant transaction ID keeps the outbox in insertion order, all settled
+     */
+    private static void createOutboxDefaults(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("alter table currency_changes alter column txid set default 0");
+        jdbcTemplate.execute("alter table currency_changes alter column recorded_date set default current_timestamp");
+    }
+}
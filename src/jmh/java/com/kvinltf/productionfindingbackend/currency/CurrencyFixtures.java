@@ -0,0 +1,35 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import java.time.Instant;
+
+/**
+ * Sample currencies shared by the benchmarks
+ */
+final class CurrencyFixtures {
+
+    private CurrencyFixtures() {
+    }
+
+    /**
+     * @param i A number below 17576
+     * @return A distinct three-letter code for the number
+     */
+    static String code(int i) {
+        return "" + (char) ('A' + i / 676 % 26) + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26);
+    }
+
+    static Currency currency(int i) {
+        Currency currency = new Currency();
+        currency.setId((long) i + 1);
+        currency.setVersion(3);
+        currency.setCreatedDate(Instant.parse("2025-03-19T10:15:30Z"));
+        currency.setLastModifiedDate(Instant.parse("2025-03-20T08:00:00Z"));
+        currency.setCreatedBy("n/a");
+        currency.setLastModifiedBy("n/a");
+        currency.setName("Currency " + i);
+        currency.setCode(code(i));
+        currency.setSymbol("$");
+        currency.setDecimalPlaces(2);
+        return currency;
+    }
+}
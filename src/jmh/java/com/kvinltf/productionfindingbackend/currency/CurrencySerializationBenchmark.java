@@ -0,0 +1,53 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Jackson serialization cost of the bodies returned by {@link CurrencyController}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencySerializationBenchmark {
+    private ObjectMapper objectMapper;
+    private Currency currency;
+    private CurrencyDto currencyDto;
+    private PagedModel<Currency> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        currency = CurrencyFixtures.currency(0);
+        currencyDto = CurrencyDto.from(currency);
+        List<Currency> content = IntStream.range(0, 20).mapToObj(CurrencyFixtures::currency).toList();
+        page = new PagedModel<>(new PageImpl<>(content, PageRequest.of(0, 20), 170));
+    }
+
+    @Benchmark
+    public byte[] currency() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(currency);
+    }
+
+    @Benchmark
+    public byte[] currencyDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(currencyDto);
+    }
+
+    @Benchmark
+    public byte[] pagedModel() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
@@ -0,0 +1,119 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.kvinltf.productionfindingbackend.ProductionFindingBackendApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Load test of the currency API under many concurrent clients, served either by {@link CurrencyController} on
+ * Tomcat and JDBC or by {@link ReactiveCurrencyController} on Netty and R2DBC. Reports throughput and the latency
+ * distribution, tail percentiles included.
+ * <p>
+ * Each JMH thread is one client waiting on its own request, so {@code -t} sets the number of requests in flight;
+ * it defaults to 256, more than Tomcat's 200 request threads. Both stacks get 10 database connections.
+ * <p>
+ * Unlike {@link CurrencyControllerBenchmark}, this needs a real PostgreSQL server, since H2 has no non-blocking
+ * driver; it defaults to the local development database and can be changed with {@code -p database=host:port/db}.
+ * The schema is created by Hibernate in a separate {@code load_test} schema and dropped afterwards, and credentials
+ * are taken from {@code DB_USERNAME} and {@code DB_PASSWORD} as for the application.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(256)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyStackLoadBenchmark {
+    private static final String SCHEMA = "load_test";
+    private static final int ROWS = 200;
+    private static final int CONNECTIONS = 10;
+
+    @Param({"servlet", "reactive"})
+    public String stack;
+
+    @Param("localhost:5432/postgres")
+    public String database;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+
+    @Setup
+    public void setUp() {
+        String[] common = {
+                "--spring.datasource.url=jdbc:postgresql://" + database + "?currentSchema=" + SCHEMA,
+                "--spring.datasource.username=${DB_USERNAME:postgres}",
+                "--spring.datasource.password=${DB_PASSWORD:P@ssw0rd}",
+                "--spring.datasource.hikari.maximum-pool-size=" + CONNECTIONS,
+                "--spring.liquibase.enabled=false",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.default_schema=" + SCHEMA,
+                "--spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+                "--spring.jpa.show-sql=false",
+                "--server.port=0",
+                "--logging.level.root=WARN"
+        };
+        String[] reactive = {
+                "--spring.profiles.active=reactive",
+                "--spring.r2dbc.url=r2dbc:postgresql://" + database + "?schema=" + SCHEMA,
+                "--spring.r2dbc.pool.initial-size=" + CONNECTIONS,
+                "--spring.r2dbc.pool.max-size=" + CONNECTIONS
+        };
+        String[] args = Stream.of(common, stack.equals("reactive") ? reactive : new String[0])
+                .flatMap(Stream::of)
+                .toArray(String[]::new);
+        context = new SpringApplicationBuilder(ProductionFindingBackendApplication.class).run(args);
+        List<Currency> currencies = IntStream.range(0, ROWS).mapToObj(CurrencyFixtures::currency).toList();
+        currencies.forEach(currency -> {
+            currency.setId(null);
+            currency.setVersion(null);
+        });
+        context.getBean(CurrencyRepository.class).saveAll(currencies);
+        context.getBean(CurrencyCache.class).reload();
+
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port") + "/currencies";
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Served from the currency cache; measures the web stack alone
+     */
+    @Benchmark
+    public int getById() throws IOException, InterruptedException {
+        return send("/1");
+    }
+
+    /**
+     * Reads a page and the total from the database
+     */
+    @Benchmark
+    public int getPage() throws IOException, InterruptedException {
+        return send("?page=1&size=20&sort=code,asc");
+    }
+
+    private int send(String path) throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(baseUrl + path)).GET().build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException("Unexpected status " + response.statusCode());
+        }
+        return response.body().length;
+    }
+}
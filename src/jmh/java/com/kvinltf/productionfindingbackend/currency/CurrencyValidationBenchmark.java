@@ -0,0 +1,49 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean Validation cost of {@link CurrencyCreateRequest}, as applied to every create request
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private CurrencyCreateRequest valid;
+    private CurrencyCreateRequest invalid;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        valid = new CurrencyCreateRequest("US Dollar", "USD", "$", 2);
+        invalid = new CurrencyCreateRequest("", "USDD", "$", null);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CurrencyCreateRequest>> validRequest() {
+        return validator.validate(valid);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CurrencyCreateRequest>> invalidRequest() {
+        return validator.validate(invalid);
+    }
+}
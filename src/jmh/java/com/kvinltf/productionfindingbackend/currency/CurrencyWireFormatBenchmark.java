@@ -0,0 +1,74 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Encoding and decoding cost of the bodies of {@link CurrencyController} in each negotiable format, JSON, CBOR and
+ * Smile. The encoded size of each body is printed once per fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyWireFormatBenchmark {
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"20", "2000"})
+    public int pageSize;
+
+    private ObjectMapper objectMapper;
+    private PagedModel<Currency> page;
+    private CurrencyCreateRequest createRequest;
+    private byte[] encodedPage;
+    private byte[] encodedCreateRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = switch (format) {
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor().build();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile().build();
+            default -> Jackson2ObjectMapperBuilder.json().build();
+        };
+        List<Currency> content = IntStream.range(0, pageSize).mapToObj(CurrencyFixtures::currency).toList();
+        page = new PagedModel<>(new PageImpl<>(content, PageRequest.of(0, pageSize), 17_000));
+        createRequest = new CurrencyCreateRequest("Currency 0", "AAA", "$", 2);
+        encodedPage = objectMapper.writeValueAsBytes(page);
+        encodedCreateRequest = objectMapper.writeValueAsBytes(createRequest);
+        System.out.printf("%n%s: page of %d %d bytes, create request %d bytes%n",
+                format, pageSize, encodedPage.length, encodedCreateRequest.length);
+    }
+
+    @Benchmark
+    public byte[] encodePage() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public PageBody decodePage() throws IOException {
+        return objectMapper.readValue(encodedPage, PageBody.class);
+    }
+
+    @Benchmark
+    public CurrencyCreateRequest decodeCreateRequest() throws IOException {
+        return objectMapper.readValue(encodedCreateRequest, CurrencyCreateRequest.class);
+    }
+
+    /**
+     * What a caller maps a page into
+     */
+    public record PageBody(List<CurrencyDto> content, PagedModel.PageMetadata page) {
+    }
+}
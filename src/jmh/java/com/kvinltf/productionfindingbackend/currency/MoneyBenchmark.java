@@ -0,0 +1,79 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prices an order of line items (unit price times quantity, plus 8.25% tax on the subtotal and a currency conversion)
+ * with {@link BigDecimal}, with {@link Money} and with {@link MoneyMath} on primitive minor units.
+ * Run with {@code -prof gc} to compare allocation per order.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+    private static final BigDecimal TAX_RATE = new BigDecimal("0.0825");
+    private static final double EXCHANGE_RATE = 0.9187;
+    private static final CurrencyDto USD = new CurrencyDto().setCode("USD").setDecimalPlaces(2);
+    private static final CurrencyDto EUR = new CurrencyDto().setCode("EUR").setDecimalPlaces(2);
+
+    @Param({"100"})
+    public int lines;
+
+    private BigDecimal[] decimalPrices;
+    private Money[] moneyPrices;
+    private long[] minorPrices;
+    private long[] quantities;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        decimalPrices = new BigDecimal[lines];
+        moneyPrices = new Money[lines];
+        minorPrices = new long[lines];
+        quantities = new long[lines];
+        for (int i = 0; i < lines; i++) {
+            minorPrices[i] = random.nextLong(1, 100_000);
+            decimalPrices[i] = BigDecimal.valueOf(minorPrices[i], 2);
+            moneyPrices[i] = Money.ofMinor(minorPrices[i], USD);
+            quantities[i] = random.nextLong(1, 20);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            subtotal = subtotal.add(decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        BigDecimal tax = subtotal.multiply(TAX_RATE).setScale(2, RoundingMode.HALF_EVEN);
+        return subtotal.add(tax).multiply(BigDecimal.valueOf(EXCHANGE_RATE)).setScale(2, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public Money money() {
+        Money.Accumulator accumulator = Money.zero(USD).accumulator();
+        for (int i = 0; i < lines; i++) {
+            accumulator.add(moneyPrices[i], quantities[i]);
+        }
+        Money subtotal = accumulator.total();
+        return subtotal.plus(subtotal.times(825, 10_000)).convert(EXCHANGE_RATE, EUR);
+    }
+
+    @Benchmark
+    public long moneyMath() {
+        long subtotal = 0;
+        for (int i = 0; i < lines; i++) {
+            subtotal = Math.addExact(subtotal, Math.multiplyExact(minorPrices[i], quantities[i]));
+        }
+        long total = Math.addExact(subtotal, MoneyMath.multiplyHalfEven(subtotal, 825, 10_000));
+        return MoneyMath.convertHalfEven(total, EXCHANGE_RATE, 2, 2);
+    }
+}
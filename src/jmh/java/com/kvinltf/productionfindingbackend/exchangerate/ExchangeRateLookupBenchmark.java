@@ -0,0 +1,66 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * As-of lookups against an {@link ExchangeRateStore} holding a year of hourly rates for each pair
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ExchangeRateLookupBenchmark {
+    private static final int LOOKUPS = 1 << 16;
+    private static final long START = Instant.parse("2025-01-01T00:00:00Z").getEpochSecond() * 1_000_000L;
+    private static final long HOUR = 3_600_000_000L;
+    private static final int HOURS = 24 * 365;
+
+    @Param({"10", "100"})
+    public int currencies;
+
+    private ExchangeRateStore store;
+    private long[] bases;
+    private long[] quotes;
+    private long[] times;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        store = new ExchangeRateStore(null, new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(42);
+        for (long quote = 2; quote <= currencies; quote++) {
+            List<ExchangeRatePoint> points = new ArrayList<>(HOURS);
+            for (int hour = 0; hour < HOURS; hour++) {
+                Instant at = Instant.ofEpochSecond((START + hour * HOUR) / 1_000_000L);
+                points.add(new ExchangeRatePoint(1, quote, at, BigDecimal.valueOf(0.5 + random.nextDouble())));
+            }
+            store.onRatesChanged(new ExchangeRatesChangedEvent(points));
+        }
+        bases = new long[LOOKUPS];
+        quotes = new long[LOOKUPS];
+        times = new long[LOOKUPS];
+        for (int i = 0; i < LOOKUPS; i++) {
+            boolean inverse = random.nextBoolean();
+            long quote = random.nextLong(2, currencies + 1);
+            bases[i] = inverse ? quote : 1;
+            quotes[i] = inverse ? 1 : quote;
+            times[i] = START + random.nextLong(HOURS * HOUR);
+        }
+    }
+
+    @Benchmark
+    public double rateAt() {
+        int i = next++ & (LOOKUPS - 1);
+        return store.rateAt(bases[i], quotes[i], times[i]);
+    }
+}
@@ -0,0 +1,73 @@
+package com.kvinltf.productionfindingbackend.product;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranked searches against a {@link ProductSearchIndex} of synthetic products drawn from a small vocabulary, so that
+ * common terms match a large share of the catalog
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class ProductSearchBenchmark {
+    private static final String[] ADJECTIVES = {"red", "blue", "green", "black", "white", "organic", "classic",
+            "slim", "vintage", "waterproof", "wireless", "compact", "premium", "soft", "heavy", "light"};
+    private static final String[] NOUNS = {"shirt", "jacket", "socks", "scarf", "boots", "headphones", "speaker",
+            "lamp", "kettle", "torch", "backpack", "wallet", "watch", "charger", "blanket", "mug"};
+    private static final String[] MATERIALS = {"cotton", "denim", "wool", "leather", "steel", "ceramic", "bamboo",
+            "linen", "silk", "plastic", "glass", "oak"};
+
+    @Param({"100000"})
+    public int products;
+
+    private ProductSearchIndex index;
+
+    @Setup
+    public void setUp() {
+        index = new ProductSearchIndex(null, new SimpleMeterRegistry());
+        SplittableRandom random = new SplittableRandom(42);
+        for (long id = 1; id <= products; id++) {
+            String name = pick(random, ADJECTIVES) + " " + pick(random, MATERIALS) + " " + pick(random, NOUNS)
+                    + " " + Long.toString(id, 36);
+            String description = "A " + pick(random, ADJECTIVES) + " " + pick(random, NOUNS) + " made of "
+                    + pick(random, MATERIALS) + " for everyday use";
+            index.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, new ProductDto()
+                    .setId(id)
+                    .setName(name)
+                    .setDescription(description)
+                    .setAttributes(Map.of("color", pick(random, ADJECTIVES)))));
+        }
+    }
+
+    @Benchmark
+    public ProductSearchResult commonTerm() {
+        return index.search("cotton", 0, 20);
+    }
+
+    @Benchmark
+    public ProductSearchResult twoTerms() {
+        return index.search("red cotton", 0, 20);
+    }
+
+    @Benchmark
+    public ProductSearchResult prefix() {
+        return index.search("wireless head", 0, 20);
+    }
+
+    @Benchmark
+    public ProductSearchResult deepPage() {
+        return index.search("leather boots", 20, 20);
+    }
+
+    private static String pick(SplittableRandom random, String[] words) {
+        return words[random.nextInt(words.length)];
+    }
+}
@@ -2,14 +2,30 @@ package com.kvinltf.productionfindingbackend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @EnableJpaAuditing
+@EnableScheduling
 @SpringBootApplication
 public class ProductionFindingBackendApplication {
+    /**
+     * Startup steps kept for the {@code startup} actuator endpoint; later steps are dropped
+     */
+    private static final int STARTUP_TIMELINE_CAPACITY = 10_000;
 
+    /**
+     * Starts the application. The startup timeline is recorded when the {@code app.startup.timeline} system property
+     * or the {@code STARTUP_TIMELINE} environment variable is true; it has to be decided before the environment is
+     * prepared, so it cannot be an application property.
+     */
     public static void main(String[] args) {
-        SpringApplication.run(ProductionFindingBackendApplication.class, args);
+        SpringApplication application = new SpringApplication(ProductionFindingBackendApplication.class);
+        if (Boolean.parseBoolean(System.getProperty("app.startup.timeline", System.getenv("STARTUP_TIMELINE")))) {
+            application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_TIMELINE_CAPACITY));
+        }
+        application.run(args);
     }
 
 }
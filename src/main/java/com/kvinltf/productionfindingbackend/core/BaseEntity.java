@@ -12,14 +12,23 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.Instant;
 
+/**
+ * Base of the entities, with their ID, version and auditing fields.
+ * Read-mostly entities opt in to the second-level cache with {@link Cacheable} and a {@code @Cache} region, which is
+ * bounded by {@code app.second-level-cache.regions.<region>} or else by the cache defaults.
+ */
 @Getter
 @Setter
 @ToString
 @MappedSuperclass
 @EntityListeners(AuditingEntityListener.class)
-public class BaseEntity {
+public class BaseEntity implements Versioned {
+    /**
+     * Drawn from a per-table {@code <table>_seq} sequence with an increment of 50, which Hibernate hands out
+     * in blocks (pooled-lo) so inserts can be batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
     @Column(nullable = false)
     private Long id;
 
@@ -0,0 +1,15 @@
+package com.kvinltf.productionfindingbackend.core;
+
+import java.util.List;
+
+/**
+ * A slice of results from keyset pagination.
+ * Unlike a page, it carries no totals: {@code next} is an opaque cursor to pass back as {@code after}
+ * to fetch the following slice, or {@code null} once the end has been reached.
+ *
+ * @param content The results in this slice
+ * @param size    The number of results in this slice
+ * @param next    The cursor of the next slice, if any
+ */
+public record CursorPage<T>(List<T> content, int size, String next) {
+}
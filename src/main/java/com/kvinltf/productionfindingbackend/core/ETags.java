@@ -0,0 +1,145 @@
+package com.kvinltf.productionfindingbackend.core;
+
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Builds and compares HTTP entity tags derived from the optimistic-lock version of entities.
+ * <p>
+ * A single resource gets a strong tag made of its ID and version, which changes exactly when the row does.
+ * A list gets a weak tag combining the total, the IDs and versions of its items and the latest modification date,
+ * so that it changes when any item is modified or the membership of the list changes.
+ * <p>
+ * Each representation of a resource, such as its JSON and its CBOR body, is sent with a tag of its own naming the
+ * format, so that a cache never takes one for the other. Preconditions on writes are about the resource, so they
+ * accept the tag of any of its representations.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * @param resource The resource
+     * @return A strong entity tag for the resource, e.g. {@code "12-3"}
+     */
+    public static String strong(Versioned resource) {
+        return strong(resource.getId(), resource.getVersion());
+    }
+
+    /**
+     * @param id      The ID of the resource
+     * @param version The version of the resource
+     * @return A strong entity tag for the resource, e.g. {@code "12-3"}
+     */
+    public static String strong(Long id, Integer version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * @param total The total number of items the list was taken from
+     * @param items The items of the list
+     * @return A weak entity tag for the list
+     */
+    public static String weak(long total, Collection<? extends Versioned> items) {
+        long hash = total;
+        long lastModified = 0;
+        for (Versioned item : items) {
+            hash = 31 * hash + item.getId();
+            hash = 31 * hash + (item.getVersion() == null ? 0 : item.getVersion());
+            Instant date = item.getLastModifiedDate();
+            if (date != null) {
+                lastModified = Math.max(lastModified, date.toEpochMilli());
+            }
+        }
+        return "W/\"" + Long.toHexString(hash) + "-" + Long.toHexString(lastModified) + "\"";
+    }
+
+    /**
+     * @param eTag      The tag of a resource, as built by {@link #strong} or {@link #weak}
+     * @param mediaType The media type of the representation sent
+     * @return The tag of the representation, e.g. {@code "12-3+cbor"}
+     */
+    public static String representation(String eTag, MediaType mediaType) {
+        String subtype = mediaType.getSubtype();
+        String format = subtype.substring(Math.max(subtype.lastIndexOf('-'), subtype.lastIndexOf('+')) + 1);
+        return eTag.substring(0, eTag.length() - 1) + "+" + format + "\"";
+    }
+
+    /**
+     * Evaluates an {@code If-None-Match} header against the tag of the representation about to be sent, using the
+     * weak comparison required by RFC 9110.
+     *
+     * @param ifNoneMatch The value of the header
+     * @param etag        The tag of the representation
+     * @return Whether the client already has the representation
+     */
+    public static boolean notModified(String ifNoneMatch, String etag) {
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Evaluates an {@code If-Match} header against the current tag of a resource, using the strong comparison
+     * required by RFC 9110. The tag of any representation of the resource matches.
+     *
+     * @param ifMatch The value of the header
+     * @param etag    The current strong tag of the resource
+     * @return Whether the precondition holds
+     */
+    public static boolean matches(String ifMatch, String etag) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || resource(tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the versions of a resource that an {@code If-Match} header accepts, so that a write can be made
+     * conditional on them without reading the current version first.
+     *
+     * @param ifMatch The value of the header
+     * @param id      The ID of the resource
+     * @return The versions named by strong tags of the resource, empty if the header names none,
+     * or null if it is {@code *} and accepts any version
+     */
+    public static Set<Integer> versions(String ifMatch, Long id) {
+        String prefix = "\"" + id + "-";
+        Set<Integer> versions = new HashSet<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = resource(candidate.trim());
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    versions.add(Integer.valueOf(tag.substring(prefix.length(), tag.length() - 1)));
+                } catch (NumberFormatException e) {
+                    // not a tag of this resource
+                }
+            }
+        }
+        return versions;
+    }
+
+    /**
+     * @return The tag of the resource a representation's tag was built from
+     */
+    private static String resource(String tag) {
+        int format = tag.indexOf('+');
+        return format < 0 ? tag : tag.substring(0, format) + "\"";
+    }
+}
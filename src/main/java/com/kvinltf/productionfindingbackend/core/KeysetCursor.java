@@ -0,0 +1,95 @@
+package com.kvinltf.productionfindingbackend.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Opaque, URL-safe encoding of a keyset scroll position together with the sort it was taken from.
+ * <p>
+ * A cursor only makes sense for the sort it was issued for, so the sort travels with it and takes precedence
+ * over any sort given alongside the cursor. A position is keyed on the sort property and on the ID that breaks its
+ * ties, and on nothing else. Decoded key values are converted back to the attribute types declared by the caller,
+ * since JSON does not preserve them.
+ *
+ * @param sort     The single-property sort of the scroll
+ * @param position The position after the last returned result, or the initial position
+ */
+public record KeysetCursor(Sort sort, KeysetScrollPosition position) {
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String ID = "id";
+
+    /**
+     * Resolves the cursor of a keyset request
+     *
+     * @param after          The encoded cursor, or an empty string to start from the beginning
+     * @param sort           The requested sort, used when starting from the beginning
+     * @param attributeTypes The attributes that may be sorted on, and their types
+     * @param objectMapper   The mapper used to decode the cursor
+     * @return The decoded cursor
+     * @throws ResponseStatusException with status 400 if the cursor or the sort is invalid
+     */
+    public static KeysetCursor resolve(String after, Sort sort, Map<String, Class<?>> attributeTypes, ObjectMapper objectMapper) {
+        if (after == null || after.isBlank()) {
+            return new KeysetCursor(validate(sort, attributeTypes), ScrollPosition.keyset());
+        }
+        try {
+            Payload payload = objectMapper.readValue(DECODER.decode(after), Payload.class);
+            Sort cursorSort = validate(Sort.by(payload.direction(), payload.property()), attributeTypes);
+            if (payload.keys() == null || !payload.keys().keySet().equals(Set.of(payload.property(), ID))) {
+                throw new IllegalArgumentException("A cursor must be keyed on " + payload.property() + " and " + ID);
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            payload.keys().forEach((name, value) -> {
+                Class<?> type = attributeTypes.get(name);
+                if (type == null) {
+                    throw new IllegalArgumentException("Unknown key " + name);
+                }
+                keys.put(name, Objects.requireNonNull(objectMapper.convertValue(value, type), name));
+            });
+            return new KeysetCursor(cursorSort, ScrollPosition.forward(keys));
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor", e);
+        }
+    }
+
+    /**
+     * Encodes the position following the given one, keeping the sort
+     *
+     * @param next         The position after the last result of a slice
+     * @param objectMapper The mapper used to encode the cursor
+     * @return The encoded cursor
+     */
+    public String encode(ScrollPosition next, ObjectMapper objectMapper) {
+        Sort.Order order = sort.iterator().next();
+        Payload payload = new Payload(order.getProperty(), order.getDirection(), ((KeysetScrollPosition) next).getKeys());
+        try {
+            return ENCODER.encodeToString(objectMapper.writeValueAsString(payload).getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode cursor", e);
+        }
+    }
+
+    private static Sort validate(Sort sort, Map<String, Class<?>> attributeTypes) {
+        if (sort.stream().count() != 1 || !attributeTypes.containsKey(sort.iterator().next().getProperty())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cursor pagination supports sorting on exactly one of " + attributeTypes.keySet());
+        }
+        return sort;
+    }
+
+    private record Payload(String property, Sort.Direction direction, Map<String, Object> keys) {
+    }
+}
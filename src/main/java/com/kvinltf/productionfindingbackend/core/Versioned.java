@@ -0,0 +1,15 @@
+package com.kvinltf.productionfindingbackend.core;
+
+import java.time.Instant;
+
+/**
+ * Identity and optimistic-lock state shared by {@link BaseEntity} and the DTOs copied from it
+ */
+public interface Versioned {
+
+    Long getId();
+
+    Integer getVersion();
+
+    Instant getLastModifiedDate();
+}
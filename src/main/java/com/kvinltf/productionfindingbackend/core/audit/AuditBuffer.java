@@ -0,0 +1,88 @@
+package com.kvinltf.productionfindingbackend.core.audit;
+
+import io.micrometer.core.instrument.Counter;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded ring buffer between the threads committing writes and the writer of the {@link AuditTrail}, applying an
+ * {@link AuditProperties.Overflow} policy when it is full
+ *
+ * @param <T> The type of the buffered entries
+ */
+class AuditBuffer<T> {
+    private final ArrayBlockingQueue<T> entries;
+    private final AuditProperties.Overflow overflow;
+    private final Duration blockTimeout;
+    private final Counter dropped;
+
+    /**
+     * @param capacity     The most entries held
+     * @param overflow     What happens to an entry when the buffer is full
+     * @param blockTimeout How long to wait for room with {@link AuditProperties.Overflow#BLOCK}
+     * @param dropped      Counts the dropped entries
+     */
+    AuditBuffer(int capacity, AuditProperties.Overflow overflow, Duration blockTimeout, Counter dropped) {
+        this.entries = new ArrayBlockingQueue<>(capacity);
+        this.overflow = overflow;
+        this.blockTimeout = blockTimeout;
+        this.dropped = dropped;
+    }
+
+    /**
+     * Adds an entry, or drops it or the oldest entry when the buffer is full
+     *
+     * @param entry The entry
+     */
+    void add(T entry) {
+        boolean added = switch (overflow) {
+            case BLOCK -> {
+                try {
+                    yield entries.offer(entry, blockTimeout.toNanos(), TimeUnit.NANOSECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    yield false;
+                }
+            }
+            case DROP_OLDEST -> {
+                while (!entries.offer(entry)) {
+                    if (entries.poll() != null) {
+                        dropped.increment();
+                    }
+                }
+                yield true;
+            }
+            case DROP_NEWEST -> entries.offer(entry);
+        };
+        if (!added) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * @return The oldest entry, waiting up to the timeout for one, or null if there is none
+     */
+    T poll(Duration timeout) throws InterruptedException {
+        return entries.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Moves the oldest entries to a collection without waiting
+     *
+     * @return The number of entries moved
+     */
+    int drainTo(Collection<? super T> collection, int max) {
+        return entries.drainTo(collection, max);
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+}
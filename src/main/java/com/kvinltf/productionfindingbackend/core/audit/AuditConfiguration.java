@@ -0,0 +1,34 @@
+package com.kvinltf.productionfindingbackend.core.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+
+/**
+ * The audit history of {@link Audited} entities, recorded by the {@link AuditTrail} unless
+ * {@code app.audit.enabled} is false
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.audit", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(AuditProperties.class)
+public class AuditConfiguration {
+
+    @Bean
+    AuditTrail auditTrail(
+            AuditProperties properties,
+            AuditEntryRepository auditEntryRepository,
+            EntityManagerFactory entityManagerFactory,
+            ObjectMapper objectMapper,
+            ObjectProvider<AuditorAware<?>> auditorAware,
+            MeterRegistry meterRegistry
+    ) {
+        return new AuditTrail(properties, auditEntryRepository, entityManagerFactory, objectMapper,
+                auditorAware.getIfAvailable(), meterRegistry);
+    }
+}
@@ -0,0 +1,51 @@
+package com.kvinltf.productionfindingbackend.core.audit;
+
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * REST controller for reading the audit history kept by the {@link AuditTrail}
+ */
+@RestController
+@RequestMapping("/audit")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnBean(AuditTrail.class)
+@AllArgsConstructor
+public class AuditController {
+    private static final int MAX_LIMIT = 1000;
+
+    private final AuditTrail auditTrail;
+    private final AuditEntryRepository auditEntryRepository;
+
+    /**
+     * Retrieves the history of an entity, newest first. Entries are written shortly after their write commits, so the
+     * latest writes may be missing for up to {@code app.audit.flush-interval}.
+     *
+     * @param type The name of the audited entity, e.g. {@code currency}
+     * @param id The ID of the entity
+     * @param before The ID of the last entry of the previous page, or empty for the first page
+     * @param limit The most entries to return
+     * @return The entries, or 404 if the entity type is not audited
+     */
+    @GetMapping("/{type}/{id}")
+    @Transactional(readOnly = true)
+    public List<AuditEntry> getHistory(
+            @PathVariable String type,
+            @PathVariable Long id,
+            @RequestParam(required = false) Long before,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        String entityType = auditTrail.auditedEntityName(type)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Not an audited entity: " + type));
+        return auditEntryRepository.findHistory(entityType, id, before != null ? before : Long.MAX_VALUE,
+                Limit.of(Math.max(1, Math.min(limit, MAX_LIMIT))));
+    }
+}
@@ -0,0 +1,71 @@
+package com.kvinltf.productionfindingbackend.core.audit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * One committed write of an {@link Audited} entity in the append-only {@code audit_history} table.
+ * <p>
+ * The changes map each field that changed to an object with its value {@code before} and {@code after} the write.
+ * A creation has no {@code before} values and a deletion no {@code after} values; neither does an update whose
+ * previous values were not known, such as a bulk update.
+ */
+@Entity
+@Immutable
+@Table(name = "audit_history")
+@Getter
+@Setter
+@ToString
+public class AuditEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @Column(nullable = false)
+    private Long id;
+
+    /**
+     * The name of the entity, e.g. {@code Currency}
+     */
+    @Column(name = "entity_type", length = 100, nullable = false)
+    private String entityType;
+
+    @Column(name = "entity_id", nullable = false)
+    private Long entityId;
+
+    /**
+     * The version of the entity after the write, or before it for a deletion
+     */
+    @Column(name = "entity_version")
+    private Integer entityVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private Operation operation;
+
+    /**
+     * The current auditor when the write committed, if any
+     */
+    @Column(name = "changed_by")
+    private String changedBy;
+
+    @Column(name = "changed_date", nullable = false)
+    private Instant changedDate;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(nullable = false)
+    private JsonNode changes;
+
+    public enum Operation {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
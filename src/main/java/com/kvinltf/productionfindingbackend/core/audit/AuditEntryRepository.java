@@ -0,0 +1,23 @@
+package com.kvinltf.productionfindingbackend.core.audit;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface AuditEntryRepository extends JpaRepository<AuditEntry, Long> {
+
+    /**
+     * Reads the history of an entity, newest first, using the index on the entity and ID
+     *
+     * @param entityType The name of the entity
+     * @param entityId   The ID of the entity
+     * @param before     The exclusive upper bound of the entry IDs, to read the history page by page
+     * @param limit      The most entries to read
+     * @return The entries
+     */
+    @Query("select e from AuditEntry e where e.entityType = :entityType and e.entityId = :entityId and e.id < :before"
+            + " order by e.id desc")
+    List<AuditEntry> findHistory(String entityType, Long entityId, Long before, Limit limit);
+}
@@ -0,0 +1,67 @@
+package com.kvinltf.productionfindingbackend.core.audit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link AuditTrail}
+ *
+ * @param enabled         Whether writes of {@link Audited} entities are recorded
+ * @param capacity        The number of entries the buffer holds before {@code overflow} applies
+ * @param batchSize       The most entries written in one transaction
+ * @param flushInterval   How long an entry may wait in the buffer for a batch to fill
+ * @param overflow        What happens to an entry when the buffer is full
+ * @param blockTimeout    How long a committing thread waits for room with {@link Overflow#BLOCK} before dropping the entry
+ * @param shutdownTimeout How long shutdown waits for the buffer to be written
+ */
+@ConfigurationProperties(prefix = "app.audit")
+public record AuditProperties(
+        boolean enabled,
+        int capacity,
+        int batchSize,
+        Duration flushInterval,
+        Overflow overflow,
+        Duration blockTimeout,
+        Duration shutdownTimeout
+) {
+
+    public AuditProperties {
+        if (capacity <= 0) {
+            capacity = 10_000;
+        }
+        if (batchSize <= 0) {
+            batchSize = 200;
+        }
+        if (flushInterval == null) {
+            flushInterval = Duration.ofSeconds(1);
+        }
+        if (overflow == null) {
+            overflow = Overflow.BLOCK;
+        }
+        if (blockTimeout == null) {
+            blockTimeout = Duration.ofSeconds(1);
+        }
+        if (shutdownTimeout == null) {
+            shutdownTimeout = Duration.ofSeconds(10);
+        }
+    }
+
+    /**
+     * What happens to a new entry when the buffer is full, which happens when the database cannot keep up or is down
+     */
+    public enum Overflow {
+        /**
+         * The committing thread waits up to {@code block-timeout} for room, then the new entry is dropped
+         */
+        BLOCK,
+        /**
+         * The oldest entry in the buffer is dropped to make room
+         */
+        DROP_OLDEST,
+        /**
+         * The new entry is dropped
+         */
+        DROP_NEWEST
+    }
+}
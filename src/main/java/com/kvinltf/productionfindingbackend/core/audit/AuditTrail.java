@@ -0,0 +1,360 @@
+package com.kvinltf.productionfindingbackend.core.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.type.Type;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * Keeps a history of the committed writes of {@link Audited} entities in the {@code audit_history} table, without
+ * adding an insert to the writing transaction.
+ * <p>
+ * Hibernate hands every insert, update and delete of an audited entity to this listener once its transaction has
+ * committed, with the state of the entity before and after the write as flushed by the {@code AuditingEntityListener}.
+ * The fields that changed are put in a bounded ring buffer ({@link AuditBuffer}), and a single writer thread takes them out in batches and
+ * inserts each batch in one transaction, so a write only pays for copying its changed fields. When the database
+ * cannot keep up the buffer fills, and new entries wait or entries are dropped according to {@link AuditProperties#overflow()};
+ * drops are counted by {@code audit.entries.dropped}.
+ * <p>
+ * The history is therefore written a little after the write commits, up to {@code flush-interval} later, and entries
+ * still in the buffer are lost if the process dies; on shutdown the buffer is written first. Writes that bypass
+ * Hibernate's entity events, such as bulk updates, are only recorded when reported with {@link #recordBulkUpdate};
+ * R2DBC writes are not recorded. Collections are not compared, and associations are recorded by ID.
+ */
+@Slf4j
+public class AuditTrail implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+    /**
+     * Fields of {@link com.kvinltf.productionfindingbackend.core.BaseEntity} that change on every write; the entry
+     * records the version and the auditor itself
+     */
+    private static final Set<String> AUDITING_FIELDS =
+            Set.of("version", "createdDate", "lastModifiedDate", "createdBy", "lastModifiedBy");
+    /**
+     * Stands for a value that is not known or does not exist, such as the value before a creation
+     */
+    static final Object ABSENT = new Object();
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final Duration MAX_RETRY_INTERVAL = Duration.ofSeconds(30);
+
+    private final AuditProperties properties;
+    private final AuditEntryRepository auditEntryRepository;
+    private final ObjectMapper objectMapper;
+    private final AuditorAware<?> auditorAware;
+    private final SessionFactoryImplementor sessionFactory;
+    private final AuditBuffer<Pending> buffer;
+    /**
+     * The audited entity names, by lower-case name
+     */
+    private final Map<String, String> auditedEntities = new HashMap<>();
+    private final Counter written;
+    private final Counter dropped;
+    private final Timer flushes;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    /**
+     * @param properties           The configuration
+     * @param auditEntryRepository Writes the entries
+     * @param entityManagerFactory The factory whose writes are recorded
+     * @param objectMapper         Converts the values of the changed fields to JSON
+     * @param auditorAware         Supplies the user making a write, or null to record none
+     * @param meterRegistry        Registers the metrics of the buffer and the writer
+     */
+    public AuditTrail(
+            AuditProperties properties,
+            AuditEntryRepository auditEntryRepository,
+            EntityManagerFactory entityManagerFactory,
+            ObjectMapper objectMapper,
+            AuditorAware<?> auditorAware,
+            MeterRegistry meterRegistry
+    ) {
+        this.properties = properties;
+        this.auditEntryRepository = auditEntryRepository;
+        this.objectMapper = objectMapper;
+        this.auditorAware = auditorAware;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.written = Counter.builder("audit.entries.written").register(meterRegistry);
+        this.dropped = Counter.builder("audit.entries.dropped").register(meterRegistry);
+        this.flushes = Timer.builder("audit.flushes").register(meterRegistry);
+        this.buffer = new AuditBuffer<>(properties.capacity(), properties.overflow(), properties.blockTimeout(), dropped);
+        Gauge.builder("audit.buffer.size", buffer, AuditBuffer::size).register(meterRegistry);
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (isAudited(persister)) {
+                auditedEntities.put(entityName(persister).toLowerCase(Locale.ROOT), entityName(persister));
+            }
+        });
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        this.writer = Thread.ofPlatform().name("audit-writer").daemon().start(this::write);
+    }
+
+    /**
+     * @param name The name of an entity, in any case
+     * @return The name of the entity, if it is audited
+     */
+    public Optional<String> auditedEntityName(String name) {
+        return Optional.ofNullable(auditedEntities.get(name.toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Records an update made by a bulk statement, which fires no entity events, once the current transaction commits.
+     * The values before the update are not known, so only the new values are recorded.
+     *
+     * @param entityType The type of the updated entity
+     * @param id         The ID of the updated entity
+     * @param version    The version of the entity after the update
+     * @param values     The new values, by field
+     */
+    public void recordBulkUpdate(Class<?> entityType, Long id, Integer version, Map<String, Object> values) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityType);
+        if (!isAudited(persister)) {
+            return;
+        }
+        Map<String, Change> changes = new LinkedHashMap<>();
+        values.forEach((field, value) -> changes.put(field, new Change(ABSENT, value)));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                buffer.add(new Pending(entityName(persister), id, version, AuditEntry.Operation.UPDATED,
+                        auditor(), Instant.now(), changes));
+            }
+        });
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return isAudited(persister);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (isAudited(event.getPersister())) {
+            record(event.getPersister(), event.getId(), AuditEntry.Operation.CREATED, null, event.getState());
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (isAudited(event.getPersister())) {
+            record(event.getPersister(), event.getId(), AuditEntry.Operation.UPDATED, event.getOldState(), event.getState());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (isAudited(event.getPersister())) {
+            record(event.getPersister(), event.getId(), AuditEntry.Operation.DELETED, event.getDeletedState(), null);
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        writer.join(properties.shutdownTimeout().toMillis());
+        if (!buffer.isEmpty()) {
+            log.warn("{} audit entries were not written before shutdown", buffer.size());
+        }
+    }
+
+    /**
+     * @return The JPA name of the entity, e.g. {@code Currency}
+     */
+    private String entityName(EntityPersister persister) {
+        return sessionFactory.getJpaMetamodel().entity(persister.getMappedClass()).getName();
+    }
+
+    private static boolean isAudited(EntityPersister persister) {
+        return persister.getMappedClass().isAnnotationPresent(Audited.class);
+    }
+
+    /**
+     * @param before The state before the write, or null for a creation or when it is not known
+     * @param after  The state after the write, or null for a deletion
+     */
+    private void record(EntityPersister persister, Object id, AuditEntry.Operation operation, Object[] before, Object[] after) {
+        if (!(id instanceof Long entityId)) {
+            return;
+        }
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        Map<String, Change> changes = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (AUDITING_FIELDS.contains(names[i]) || types[i].isCollectionType()) {
+                continue;
+            }
+            Object oldValue = before != null ? value(types[i], before[i]) : ABSENT;
+            Object newValue = after != null ? value(types[i], after[i]) : ABSENT;
+            boolean changed = before != null && after != null
+                    ? !Objects.equals(oldValue, newValue)
+                    : (before != null ? oldValue : newValue) != null;
+            if (changed) {
+                changes.put(names[i], new Change(oldValue, newValue));
+            }
+        }
+        Object[] state = after != null ? after : before;
+        Integer version = persister.isVersioned() && state != null
+                ? (Integer) state[persister.getVersionProperty()]
+                : null;
+        buffer.add(new Pending(entityName(persister), entityId, version, operation, auditor(), Instant.now(), changes));
+    }
+
+    /**
+     * @return A copy of the value that later changes to the entity cannot affect; an associated entity is replaced by
+     * its ID
+     */
+    private Object value(Type type, Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (type.isEntityType()) {
+            return sessionFactory.getPersistenceUnitUtil().getIdentifier(value);
+        }
+        return type.deepCopy(value, sessionFactory);
+    }
+
+    private String auditor() {
+        return auditorAware == null ? null : auditorAware.getCurrentAuditor().map(String::valueOf).orElse(null);
+    }
+
+    /**
+     * Writes the buffer in batches until stopped and the buffer is empty. A batch is written once it is full or its
+     * first entry has waited {@code flush-interval}; a batch that fails is retried with a growing delay while running.
+     */
+    private void write() {
+        List<Pending> batch = new ArrayList<>(properties.batchSize());
+        while (running || !buffer.isEmpty()) {
+            try {
+                Pending first = buffer.poll(POLL_TIMEOUT);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + properties.flushInterval().toNanos();
+                while (batch.size() < properties.batchSize() && running) {
+                    buffer.drainTo(batch, properties.batchSize() - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= properties.batchSize() || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = buffer.poll(Duration.ofNanos(remaining));
+                    if (next != null) {
+                        batch.add(next);
+                    }
+                }
+                buffer.drainTo(batch, properties.batchSize() - batch.size());
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Dropping {} audit entries that cannot be written", batch.size(), e);
+                dropped.increment(batch.size());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) throws InterruptedException {
+        List<AuditEntry> entries = batch.stream().map(this::toEntry).toList();
+        Duration retryInterval = POLL_TIMEOUT;
+        while (true) {
+            try {
+                flushes.record(() -> auditEntryRepository.saveAll(entries));
+                written.increment(entries.size());
+                return;
+            } catch (RuntimeException e) {
+                if (!running) {
+                    log.warn("Dropping {} audit entries that could not be written during shutdown", entries.size(), e);
+                    dropped.increment(entries.size());
+                    return;
+                }
+                log.warn("Cannot write {} audit entries, retrying in {}", entries.size(), retryInterval, e);
+                Thread.sleep(retryInterval.toMillis());
+                retryInterval = retryInterval.multipliedBy(2).compareTo(MAX_RETRY_INTERVAL) < 0
+                        ? retryInterval.multipliedBy(2)
+                        : MAX_RETRY_INTERVAL;
+            }
+        }
+    }
+
+    private AuditEntry toEntry(Pending pending) {
+        ObjectNode changes = objectMapper.createObjectNode();
+        pending.changes().forEach((field, change) -> {
+            ObjectNode values = changes.putObject(field);
+            if (change.before() != ABSENT) {
+                values.set("before", objectMapper.valueToTree(change.before()));
+            }
+            if (change.after() != ABSENT) {
+                values.set("after", objectMapper.valueToTree(change.after()));
+            }
+        });
+        AuditEntry entry = new AuditEntry();
+        entry.setEntityType(pending.entityType());
+        entry.setEntityId(pending.entityId());
+        entry.setEntityVersion(pending.version());
+        entry.setOperation(pending.operation());
+        entry.setChangedBy(pending.changedBy());
+        entry.setChangedDate(pending.changedDate());
+        entry.setChanges(changes);
+        return entry;
+    }
+
+    /**
+     * The value of a field before and after a write, either of which may be {@link #ABSENT}
+     */
+    record Change(Object before, Object after) {
+    }
+
+    /**
+     * An entry waiting in the buffer
+     */
+    record Pending(
+            String entityType,
+            Long entityId,
+            Integer version,
+            AuditEntry.Operation operation,
+            String changedBy,
+            Instant changedDate,
+            Map<String, Change> changes
+    ) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.kvinltf.productionfindingbackend.core.audit;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an entity whose committed inserts, updates and deletes are kept in the audit history by the
+ * {@link AuditTrail}, with the values of the fields that changed
+ */
+@Documented
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Audited {
+}
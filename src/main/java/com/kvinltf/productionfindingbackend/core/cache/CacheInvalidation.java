@@ -0,0 +1,23 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The cached entities a committed transaction changed, sent to the other instances so they drop their copies.
+ * Cached query results are dropped with any invalidation, since an insert can change them as well.
+ *
+ * @param origin   The {@link CacheInvalidationChannel#nodeId() node} that made the changes
+ * @param entities The IDs of the changed entities by entity name; an empty set drops no entity but still drops the
+ *                 query results, and a null set drops every entity of the type. A null map drops everything.
+ */
+public record CacheInvalidation(String origin, Map<String, Set<Long>> entities) {
+
+    /**
+     * @param origin The node that lost track of its changes
+     * @return An invalidation dropping every region
+     */
+    public static CacheInvalidation everything(String origin) {
+        return new CacheInvalidation(origin, null);
+    }
+}
@@ -0,0 +1,40 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link CacheInvalidation}s between the instances of the application. An invalidation must reach the other
+ * instances only if the transaction that made the changes commits, so it is handed to the channel twice: within the
+ * transaction, for a channel that can send as part of it, and after the commit, for one that cannot.
+ */
+public interface CacheInvalidationChannel {
+
+    /**
+     * @return The ID of this instance, carried as the origin of the invalidations it sends
+     */
+    String nodeId();
+
+    /**
+     * Sends an invalidation as part of a transaction, just before it commits
+     *
+     * @param invalidation The changes of the transaction
+     * @param connection   The connection of the transaction
+     */
+    default void publishInTransaction(CacheInvalidation invalidation, Connection connection) throws SQLException {
+    }
+
+    /**
+     * Sends an invalidation once its transaction has committed
+     *
+     * @param invalidation The changes of the transaction
+     */
+    default void publishAfterCommit(CacheInvalidation invalidation) {
+    }
+
+    /**
+     * @param subscriber Called with every invalidation sent by another instance
+     */
+    void subscribe(Consumer<CacheInvalidation> subscriber);
+}
@@ -0,0 +1,109 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the writes of cached entities made in a transaction and hands them to the
+ * {@link CacheInvalidationChannel} as a single {@link CacheInvalidation} when the transaction completes, after
+ * Hibernate's final flush. Entities that are not cached are ignored; a transaction that writes none publishes nothing.
+ */
+@Slf4j
+class CacheInvalidationCollector implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+    /**
+     * IDs kept per entity type; a transaction writing more drops the whole type instead, as a bulk import would
+     */
+    private static final int MAX_IDS = 200;
+
+    private final CacheInvalidationChannel channel;
+    private final Map<SharedSessionContractImplementor, Map<String, Set<Long>>> pending = new ConcurrentHashMap<>();
+
+    CacheInvalidationCollector(CacheInvalidationChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * Inserted entities are not in the second-level cache yet, but may belong in cached query results and in caches
+     * kept outside of Hibernate, which are sent their IDs as well
+     */
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        collect(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        collect(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        collect(event.getSession(), event.getPersister(), event.getId());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    /**
+     * @param session   The session writing the entity
+     * @param persister The persister of the entity
+     * @param id        The ID of the written entity, or null when only cached queries are affected
+     */
+    void collect(EventSource session, EntityPersister persister, Object id) {
+        if (!persister.canWriteToCache()) {
+            return;
+        }
+        Map<String, Set<Long>> entities = pending.computeIfAbsent(session, key -> {
+            session.getActionQueue().registerProcess(this::beforeCompletion);
+            session.getActionQueue().registerProcess(this::afterCompletion);
+            return new HashMap<>();
+        });
+        if (!entities.containsKey(persister.getEntityName())) {
+            entities.put(persister.getEntityName(), new HashSet<>());
+        }
+        Set<Long> ids = entities.get(persister.getEntityName());
+        if (ids == null) {
+            return;
+        }
+        if ((id != null && !(id instanceof Long)) || ids.size() >= MAX_IDS) {
+            entities.put(persister.getEntityName(), null);
+        } else if (id != null) {
+            ids.add((Long) id);
+        }
+    }
+
+    private void beforeCompletion(SharedSessionContractImplementor session) {
+        Map<String, Set<Long>> entities = pending.get(session);
+        if (entities != null) {
+            CacheInvalidation invalidation = new CacheInvalidation(channel.nodeId(), entities);
+            session.doWork(connection -> channel.publishInTransaction(invalidation, connection));
+        }
+    }
+
+    private void afterCompletion(boolean success, SharedSessionContractImplementor session) {
+        Map<String, Set<Long>> entities = pending.remove(session);
+        if (success && entities != null) {
+            try {
+                channel.publishAfterCommit(new CacheInvalidation(channel.nodeId(), entities));
+            } catch (RuntimeException e) {
+                log.warn("Cannot publish the cache invalidation of a committed transaction", e);
+            }
+        }
+    }
+}
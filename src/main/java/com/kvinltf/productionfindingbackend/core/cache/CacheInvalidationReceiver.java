@@ -0,0 +1,48 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Drops the second-level cache entries that another instance has invalidated, together with all cached query results.
+ * Without a channel nothing is received.
+ */
+@Slf4j
+class CacheInvalidationReceiver {
+    private final EntityManagerFactory entityManagerFactory;
+    private final Counter received;
+
+    CacheInvalidationReceiver(CacheInvalidationChannel channel, EntityManagerFactory entityManagerFactory,
+                              MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.received = Counter.builder("cache.invalidations.received").register(meterRegistry);
+        if (channel != null) {
+            channel.subscribe(this::evict);
+        }
+    }
+
+    void evict(CacheInvalidation invalidation) {
+        received.increment();
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        if (invalidation.entities() == null) {
+            cache.evictAllRegions();
+            return;
+        }
+        for (Map.Entry<String, Set<Long>> entity : invalidation.entities().entrySet()) {
+            if (entity.getValue() == null) {
+                cache.evictEntityData(entity.getKey());
+            } else {
+                entity.getValue().forEach(id -> cache.evictEntityData(entity.getKey(), id));
+            }
+        }
+        cache.evictQueryRegions();
+        log.debug("Evicted {}", invalidation);
+    }
+}
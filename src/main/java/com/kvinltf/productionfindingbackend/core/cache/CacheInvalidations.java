@@ -0,0 +1,39 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Sends writes that Hibernate's event listeners never see to the other instances.
+ * <p>
+ * A bulk JPQL or criteria update evicts the local second-level cache by itself, but it fires no entity event, so the
+ * {@link CacheInvalidationCollector} does not send it. Code issuing such an update for a known row records it here,
+ * and it is sent with the other writes of the transaction.
+ */
+public final class CacheInvalidations {
+
+    private CacheInvalidations() {
+    }
+
+    /**
+     * Records a write of an entity made by a bulk statement in the current transaction.
+     * Does nothing when the entity is not cached or invalidations are not sent.
+     *
+     * @param entityManager The entity manager of the transaction
+     * @param entityType    The type of the written entity
+     * @param id            The ID of the written entity
+     */
+    public static void bulkWritten(EntityManager entityManager, Class<?> entityType, Long id) {
+        EventSource session = entityManager.unwrap(EventSource.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(entityType);
+        EventListenerRegistry registry = session.getFactory().getServiceRegistry().requireService(EventListenerRegistry.class);
+        registry.getEventListenerGroup(EventType.POST_UPDATE).fireEventOnEachListener(id, (listener, writtenId) -> {
+            if (listener instanceof CacheInvalidationCollector collector) {
+                collector.collect(session, persister, writtenId);
+            }
+        });
+    }
+}
@@ -0,0 +1,122 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A serialized response body kept together with its pre-compressed encodings, so that it can be sent again without
+ * serializing or compressing anything.
+ * <p>
+ * Encodings are kept by content coding in order of preference, and only when they are smaller than the body; another
+ * coding such as {@code br} only needs an encoder to be added to {@link #of}.
+ *
+ * @param contentType The media type of the body
+ * @param eTag        The entity tag of the body, compared with {@code If-None-Match}
+ * @param body        The unencoded body
+ * @param encodings   The body in each content coding, most preferred first
+ */
+public record CachedResponse(String contentType, String eTag, byte[] body, Map<String, byte[]> encodings) {
+
+    /**
+     * @return The response with its body encoded in every supported content coding it shrinks in
+     */
+    public static CachedResponse of(String contentType, String eTag, byte[] body) {
+        Map<String, byte[]> encodings = new LinkedHashMap<>();
+        byte[] gzip = gzip(body);
+        if (gzip.length < body.length) {
+            encodings.put("gzip", gzip);
+        }
+        return new CachedResponse(contentType, eTag, body, Collections.unmodifiableMap(encodings));
+    }
+
+    /**
+     * @return The bytes held, all encodings included
+     */
+    public long size() {
+        long size = body.length;
+        for (byte[] encoded : encodings.values()) {
+            size += encoded.length;
+        }
+        return size;
+    }
+
+    /**
+     * Sends the response, or 304 if the client's {@code If-None-Match} matches it. The body is sent in the first
+     * encoding the client accepts, or unencoded if it accepts none. The response varies by {@code Accept} as well,
+     * since it is only one of the representations a client may negotiate.
+     */
+    public void writeTo(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+            return;
+        }
+        byte[] content = body;
+        for (Map.Entry<String, byte[]> encoding : encodings.entrySet()) {
+            if (accepts(request.getHeader(HttpHeaders.ACCEPT_ENCODING), encoding.getKey())) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding.getKey());
+                content = encoding.getValue();
+                break;
+            }
+        }
+        response.setContentType(contentType);
+        response.setContentLength(content.length);
+        response.getOutputStream().write(content);
+    }
+
+    /**
+     * @return Whether an {@code Accept-Encoding} header allows a content coding, by name or else through {@code *}
+     */
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double wildcard = 0;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            if (name.equals(coding)) {
+                return quality(parts) > 0;
+            }
+            if (name.equals("*")) {
+                wildcard = quality(parts);
+            }
+        }
+        return wildcard > 0;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(body.length / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+}
@@ -0,0 +1,37 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.RegionFactory;
+
+import javax.cache.Cache;
+import java.util.OptionalLong;
+
+/**
+ * JCache region factory that creates each region as a bounded Caffeine cache, sized and expired by the
+ * {@link SecondLevelCacheProperties} of the region, so that an entity opting in to caching needs no cache
+ * configuration of its own.
+ * <p>
+ * The update timestamps region is left unbounded and never expires: Hibernate relies on it to know whether cached
+ * query results are stale, and it holds one entry per table.
+ */
+class CaffeineRegionFactory extends JCacheRegionFactory {
+    private final SecondLevelCacheProperties properties;
+
+    CaffeineRegionFactory(SecondLevelCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected Cache<Object, Object> createCache(String regionName) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stores disassembled state, so entries need not be copied in and out
+        configuration.setStoreByValue(false);
+        if (!regionName.equals(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME)) {
+            SecondLevelCacheProperties.Region region = properties.region(regionName);
+            configuration.setMaximumSize(OptionalLong.of(region.maxEntries()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+        }
+        return getCacheManager().createCache(regionName, configuration);
+    }
+}
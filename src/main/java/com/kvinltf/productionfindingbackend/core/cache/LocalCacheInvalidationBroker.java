@@ -0,0 +1,29 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-process stand-in for a message broker: delivers an invalidation to every {@link LocalCacheInvalidationChannel}
+ * connected to it, except the sender's. Several application contexts sharing one broker behave like instances
+ * sharing a database.
+ */
+public class LocalCacheInvalidationBroker {
+    private final List<LocalCacheInvalidationChannel> channels = new CopyOnWriteArrayList<>();
+
+    void connect(LocalCacheInvalidationChannel channel) {
+        channels.add(channel);
+    }
+
+    void disconnect(LocalCacheInvalidationChannel channel) {
+        channels.remove(channel);
+    }
+
+    void deliver(CacheInvalidation invalidation) {
+        for (LocalCacheInvalidationChannel channel : channels) {
+            if (!channel.nodeId().equals(invalidation.origin())) {
+                channel.receive(invalidation);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Channel through a {@link LocalCacheInvalidationBroker}. Invalidations are delivered synchronously after the commit.
+ */
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel, AutoCloseable {
+    private final String nodeId = UUID.randomUUID().toString();
+    private final LocalCacheInvalidationBroker broker;
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+
+    public LocalCacheInvalidationChannel(LocalCacheInvalidationBroker broker) {
+        this.broker = broker;
+        broker.connect(this);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publishAfterCommit(CacheInvalidation invalidation) {
+        broker.deliver(invalidation);
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    void receive(CacheInvalidation invalidation) {
+        subscribers.forEach(subscriber -> subscriber.accept(invalidation));
+    }
+
+    @Override
+    public void close() {
+        broker.disconnect(this);
+    }
+}
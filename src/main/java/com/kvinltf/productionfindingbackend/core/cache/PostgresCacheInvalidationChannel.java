@@ -0,0 +1,168 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Channel over PostgreSQL {@code LISTEN}/{@code NOTIFY}, so that every instance connected to the database receives
+ * the invalidations without a separate broker.
+ * <p>
+ * An invalidation is sent with {@code pg_notify} on the connection of the transaction that made the changes, and
+ * PostgreSQL delivers it only when that transaction commits. Invalidations are received on a connection of their own,
+ * outside the pool, by a single thread. Notifications sent while that connection is down are lost, so after
+ * reconnecting the subscribers are given an invalidation of everything.
+ */
+@Slf4j
+public class PostgresCacheInvalidationChannel implements CacheInvalidationChannel {
+    /**
+     * Payloads must be shorter than 8000 bytes; larger invalidations are widened to whole entity types
+     */
+    private static final int MAX_PAYLOAD = 7900;
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(10);
+    private static final Duration RETRY_INTERVAL = Duration.ofSeconds(5);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final String url;
+    private final String username;
+    private final String password;
+    private final String channel;
+    private final ObjectMapper objectMapper;
+    private final List<Consumer<CacheInvalidation>> subscribers = new CopyOnWriteArrayList<>();
+    private final Thread listener;
+    private volatile boolean running = true;
+
+    /**
+     * @param url          The JDBC URL of the database
+     * @param username     The user to listen as
+     * @param password     The password of the user
+     * @param channel      The notification channel, a plain identifier
+     * @param objectMapper To write and read the payloads
+     */
+    public PostgresCacheInvalidationChannel(String url, String username, String password, String channel,
+                                            ObjectMapper objectMapper) {
+        if (!channel.matches("[a-z_][a-z0-9_]*")) {
+            throw new IllegalArgumentException("Invalid notification channel " + channel);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.channel = channel;
+        this.objectMapper = objectMapper;
+        this.listener = Thread.ofPlatform().name("cache-invalidation-listener").daemon().start(this::listen);
+    }
+
+    @Override
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public void publishInTransaction(CacheInvalidation invalidation, Connection connection) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("select pg_notify(?, ?)")) {
+            statement.setString(1, channel);
+            statement.setString(2, payload(invalidation));
+            statement.execute();
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        listener.interrupt();
+    }
+
+    private String payload(CacheInvalidation invalidation) {
+        try {
+            String payload = objectMapper.writeValueAsString(invalidation);
+            if (payload.length() <= MAX_PAYLOAD || invalidation.entities() == null) {
+                return payload;
+            }
+            Map<String, Set<Long>> types = new HashMap<>();
+            invalidation.entities().keySet().forEach(entityName -> types.put(entityName, null));
+            return objectMapper.writeValueAsString(new CacheInvalidation(invalidation.origin(), types));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void listen() {
+        boolean connectedBefore = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(url, username, password)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("listen " + channel);
+                }
+                if (connectedBefore) {
+                    log.info("Listening for cache invalidations again, dropping everything that may have been missed");
+                    deliver(CacheInvalidation.everything(null));
+                }
+                connectedBefore = true;
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications((int) POLL_TIMEOUT.toMillis());
+                    if (received != null) {
+                        for (PGNotification notification : received) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    log.warn("Lost the cache invalidation listener connection, retrying in {}", RETRY_INTERVAL, e);
+                    try {
+                        Thread.sleep(RETRY_INTERVAL);
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void receive(String payload) {
+        CacheInvalidation invalidation;
+        try {
+            invalidation = objectMapper.readValue(payload, CacheInvalidation.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Ignoring an unreadable cache invalidation {}", payload, e);
+            return;
+        }
+        if (!nodeId.equals(invalidation.origin())) {
+            deliver(invalidation);
+        }
+    }
+
+    private void deliver(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> subscriber : subscribers) {
+            try {
+                subscriber.accept(invalidation);
+            } catch (RuntimeException e) {
+                log.warn("Cache invalidation subscriber failed on {}", invalidation, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Least-recently-used cache of {@link CachedResponse}s, bounded by both the number of entries and the bytes they hold.
+ * <p>
+ * The cache has a generation that {@link #invalidate()} moves forward. A response must be computed after reading the
+ * {@link #generation()} and is only stored if no invalidation happened since, so a response built from data read
+ * before a write can never outlive the write's invalidation. Responses also expire a while after they were stored,
+ * which bounds how stale a response can get when an invalidation is lost, such as one sent by another instance while
+ * the channel was down.
+ *
+ * @param <K> The type of the keys, normalized request parameters
+ */
+public class ResponseCache<K> {
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long timeToLive;
+    private final LongSupplier nanoTime;
+    private final LinkedHashMap<K, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    private long generation;
+    private long bytes;
+
+    /**
+     * @param name       The name of the cache, tagging its metrics
+     * @param maxEntries The most responses to keep
+     * @param maxBytes   The most bytes to keep, encodings included
+     * @param timeToLive How long a response is served after it was stored
+     */
+    public ResponseCache(String name, int maxEntries, long maxBytes, Duration timeToLive, MeterRegistry meterRegistry) {
+        this(name, maxEntries, maxBytes, timeToLive, meterRegistry, System::nanoTime);
+    }
+
+    ResponseCache(String name, int maxEntries, long maxBytes, Duration timeToLive, MeterRegistry meterRegistry,
+                  LongSupplier nanoTime) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.timeToLive = timeToLive.toNanos();
+        this.nanoTime = nanoTime;
+        this.hits = Counter.builder("response.cache.requests").tag("cache", name).tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("response.cache.requests").tag("cache", name).tag("result", "miss")
+                .register(meterRegistry);
+        this.evictions = Counter.builder("response.cache.evictions")
+                .description("Responses dropped to stay within the entry and size bounds")
+                .tag("cache", name)
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("response.cache.invalidations").tag("cache", name).register(meterRegistry);
+        Gauge.builder("response.cache.entries", this, ResponseCache::size).tag("cache", name)
+                .register(meterRegistry);
+        Gauge.builder("response.cache.size", this, ResponseCache::bytes).tag("cache", name).baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return The cached response, or {@code null} if there is none or it expired
+     */
+    public synchronized CachedResponse get(K key) {
+        Entry entry = entries.get(key);
+        if (entry != null && nanoTime.getAsLong() - entry.stored() >= timeToLive) {
+            entries.remove(key);
+            bytes -= entry.response().size();
+            entry = null;
+        }
+        (entry != null ? hits : misses).increment();
+        return entry != null ? entry.response() : null;
+    }
+
+    /**
+     * @return The current generation, to pass to {@link #put} with a response computed after reading it
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * Stores a response unless the cache was invalidated since the given generation, or the response alone exceeds
+     * the size bound, then evicts the least recently used responses until both bounds are met again.
+     *
+     * @return Whether the response was stored
+     */
+    public synchronized boolean put(K key, long generation, CachedResponse response) {
+        if (generation != this.generation || response.size() > maxBytes || maxEntries <= 0) {
+            return false;
+        }
+        Entry replaced = entries.put(key, new Entry(response, nanoTime.getAsLong()));
+        if (replaced != null) {
+            bytes -= replaced.response().size();
+        }
+        bytes += response.size();
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            bytes -= eldest.next().response().size();
+            eldest.remove();
+            evictions.increment();
+        }
+        return true;
+    }
+
+    /**
+     * Drops every response and rejects those computed before this call
+     */
+    public synchronized void invalidate() {
+        generation++;
+        entries.clear();
+        bytes = 0;
+        invalidations.increment();
+    }
+
+    /**
+     * @return The number of responses held
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return The bytes held, encodings included
+     */
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    /**
+     * @param response The response
+     * @param stored   When it was stored, in nanoseconds
+     */
+    private record Entry(CachedResponse response, long stored) {
+    }
+}
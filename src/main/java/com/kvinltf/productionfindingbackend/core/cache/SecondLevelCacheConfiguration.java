@@ -0,0 +1,114 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Hibernate's second-level cache, stored in bounded Caffeine caches (see {@link CaffeineRegionFactory}), with query
+ * caching for queries that ask for it. Entities opt in with {@link jakarta.persistence.Cacheable}.
+ * <p>
+ * Every instance caches on its own, so the writes of cached entities are sent over a {@link CacheInvalidationChannel}
+ * chosen by {@code app.second-level-cache.invalidation}, and the other instances drop their copies once the writing
+ * transaction commits. Writes that bypass Hibernate's entity events, such as bulk JPQL updates and R2DBC, are not
+ * sent unless recorded with {@link CacheInvalidations}; otherwise their entries go stale until the region's TTL.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.second-level-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+@EnableConfigurationProperties(SecondLevelCacheProperties.class)
+public class SecondLevelCacheConfiguration {
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            SecondLevelCacheProperties properties,
+            ObjectProvider<CacheInvalidationChannel> channel
+    ) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, new CaffeineRegionFactory(properties));
+            hibernateProperties.put(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+            hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.CREATE.getExternalRepresentation());
+            channel.ifAvailable(available -> hibernateProperties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                    (IntegratorProvider) () -> List.of(new CollectorIntegrator(new CacheInvalidationCollector(available)))));
+        };
+    }
+
+    @Bean
+    CacheInvalidationReceiver cacheInvalidationReceiver(
+            ObjectProvider<CacheInvalidationChannel> channel,
+            EntityManagerFactory entityManagerFactory,
+            MeterRegistry meterRegistry
+    ) {
+        return new CacheInvalidationReceiver(channel.getIfAvailable(), entityManagerFactory, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.second-level-cache", name = "invalidation", havingValue = "postgres", matchIfMissing = true)
+    PostgresCacheInvalidationChannel postgresCacheInvalidationChannel(
+            SecondLevelCacheProperties properties,
+            DataSourceProperties dataSourceProperties,
+            ObjectMapper objectMapper
+    ) {
+        return new PostgresCacheInvalidationChannel(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(),
+                properties.channel(), objectMapper);
+    }
+
+    /**
+     * The broker is shared by every context that is given the same one, which is how tests run several instances
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "app.second-level-cache", name = "invalidation", havingValue = "local")
+    LocalCacheInvalidationBroker localCacheInvalidationBroker() {
+        return new LocalCacheInvalidationBroker();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.second-level-cache", name = "invalidation", havingValue = "local")
+    LocalCacheInvalidationChannel localCacheInvalidationChannel(LocalCacheInvalidationBroker broker) {
+        return new LocalCacheInvalidationChannel(broker);
+    }
+
+    /**
+     * Registers the {@link CacheInvalidationCollector} for inserts, updates and deletes
+     */
+    private record CollectorIntegrator(CacheInvalidationCollector collector) implements Integrator {
+
+        @Override
+        public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+            EventListenerRegistry registry = sessionFactory.getServiceRegistry().requireService(EventListenerRegistry.class);
+            registry.appendListeners(EventType.POST_INSERT, collector);
+            registry.appendListeners(EventType.POST_UPDATE, collector);
+            registry.appendListeners(EventType.POST_DELETE, collector);
+        }
+
+        @Override
+        public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        }
+    }
+}
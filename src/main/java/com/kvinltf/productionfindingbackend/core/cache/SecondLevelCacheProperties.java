@@ -0,0 +1,83 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Configuration of Hibernate's second-level cache
+ *
+ * @param enabled      Whether entities that opt in and cacheable queries are cached
+ * @param defaults     The bounds of a region that has none of its own
+ * @param regions      The bounds of regions by name, such as {@code currencies}
+ * @param invalidation How other instances are told to drop the entries an instance has written
+ * @param channel      The PostgreSQL notification channel invalidations are sent on
+ */
+@ConfigurationProperties(prefix = "app.second-level-cache")
+public record SecondLevelCacheProperties(
+        boolean enabled,
+        Region defaults,
+        Map<String, Region> regions,
+        Invalidation invalidation,
+        String channel
+) {
+
+    public SecondLevelCacheProperties {
+        if (defaults == null) {
+            defaults = new Region(10_000L, Duration.ofMinutes(10));
+        }
+        if (regions == null) {
+            regions = Map.of();
+        }
+        if (invalidation == null) {
+            invalidation = Invalidation.POSTGRES;
+        }
+        if (channel == null) {
+            channel = "cache_invalidation";
+        }
+    }
+
+    /**
+     * @param name The name of a region
+     * @return The bounds of the region, each falling back to the defaults when unset
+     */
+    public Region region(String name) {
+        Region region = regions.get(name);
+        if (region == null) {
+            return defaults;
+        }
+        return new Region(
+                region.maxEntries() != null ? region.maxEntries() : defaults.maxEntries(),
+                region.ttl() != null ? region.ttl() : defaults.ttl()
+        );
+    }
+
+    /**
+     * Bounds of a cache region
+     *
+     * @param maxEntries The most entries kept; the least recently used beyond it are evicted
+     * @param ttl        How long an entry is kept after it was written, which also bounds how long an entry can stay
+     *                   stale when an invalidation is lost
+     */
+    public record Region(Long maxEntries, Duration ttl) {
+    }
+
+    /**
+     * Ways of telling other instances to drop entries
+     */
+    public enum Invalidation {
+        /**
+         * Other instances are not told; entries written elsewhere go stale until their TTL
+         */
+        NONE,
+        /**
+         * Through an in-process {@link LocalCacheInvalidationBroker}, for a single instance and for tests
+         */
+        LOCAL,
+        /**
+         * Through PostgreSQL {@code NOTIFY}, see {@link PostgresCacheInvalidationChannel}
+         */
+        POSTGRES
+    }
+}
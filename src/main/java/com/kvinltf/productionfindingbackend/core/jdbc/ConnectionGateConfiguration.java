@@ -0,0 +1,79 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts the application {@link DataSource} behind a {@link GatedDataSource} when {@code app.db-gate.enabled} is set,
+ * which it is by default whenever requests are served on virtual threads. The gate is found behind any other
+ * {@link DataSourceWrapper} to register its metrics, and finds the pools behind them to size itself: the primary's,
+ * and with a {@link ReadWriteRoutingDataSource} those of the replicas as well, since it gates connections to all of
+ * them.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.db-gate", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ConnectionGateProperties.class)
+public class ConnectionGateConfiguration {
+    /**
+     * Pool size Hikari falls back to; until the pool starts, an unset size reads as -1
+     */
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    static BeanPostProcessor connectionGatePostProcessor(Environment environment) {
+        return new DataSourceWrapper(DataSourceWrapper.GATE) {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || isWrapperFor(dataSource, GatedDataSource.class)) {
+                    return bean;
+                }
+                ConnectionGateProperties properties = Binder.get(environment)
+                        .bindOrCreate("app.db-gate", ConnectionGateProperties.class);
+                int permits = properties.permits() != null ? properties.permits()
+                        : poolSize(dataSource);
+                return new GatedDataSource(dataSource, permits, properties.timeout());
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder connectionGateMetrics(DataSource dataSource) {
+        return DataSourceWrapper.unwrap(dataSource, GatedDataSource.class)::bindTo;
+    }
+
+    /**
+     * @return The maximum number of connections the pools behind the data source hold together, whichever wrappers
+     * they are already behind
+     */
+    static int poolSize(DataSource dataSource) {
+        int size = hikariPoolSize(dataSource);
+        if (DataSourceWrapper.isWrapperFor(dataSource, ReadWriteRoutingDataSource.class)) {
+            for (DataSource replica : DataSourceWrapper.unwrap(dataSource, ReadWriteRoutingDataSource.class).replicas()) {
+                size += hikariPoolSize(replica);
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return The maximum size of the Hikari pool behind the data source
+     */
+    private static int hikariPoolSize(DataSource dataSource) {
+        if (DataSourceWrapper.isWrapperFor(dataSource, HikariDataSource.class)) {
+            int size = DataSourceWrapper.unwrap(dataSource, HikariDataSource.class).getMaximumPoolSize();
+            if (size > 0) {
+                return size;
+            }
+        }
+        return DEFAULT_POOL_SIZE;
+    }
+}
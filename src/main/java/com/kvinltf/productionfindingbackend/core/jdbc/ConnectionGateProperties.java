@@ -0,0 +1,22 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuration of the {@link GatedDataSource}
+ *
+ * @param enabled Whether connection requests go through the gate
+ * @param permits The number of connections that may be held at once; defaults to the Hikari maximum pool size
+ * @param timeout How long a request may wait for a permit before failing
+ */
+@ConfigurationProperties(prefix = "app.db-gate")
+public record ConnectionGateProperties(boolean enabled, Integer permits, Duration timeout) {
+
+    public ConnectionGateProperties {
+        if (timeout == null) {
+            timeout = Duration.ofSeconds(30);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * {@link DataSource} that reports executed statements and fetched rows to the {@link SqlStatistics} of the calling
+ * thread.
+ * <p>
+ * A JDBC batch counts as a single statement, matching the single round trip it costs. Calls made outside a
+ * {@link SqlStatistics} scope are passed through without being counted.
+ */
+public class CountingDataSource extends DelegatingDataSource {
+
+    public CountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                    count(target, method, result);
+                    return wrap(method, result);
+                });
+    }
+
+    private static void count(Object target, Method method, Object result) {
+        SqlStatistics statistics = SqlStatistics.current();
+        if (statistics == null) {
+            return;
+        }
+        if (target instanceof Statement && method.getName().startsWith("execute")) {
+            statistics.statementExecuted();
+        } else if (target instanceof ResultSet && method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+            statistics.rowFetched();
+        }
+    }
+
+    /**
+     * Keeps statements and result sets created through a counted object counted too
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Object wrap(Method method, Object result) {
+        Class<?> type = method.getReturnType();
+        if (result != null && (Statement.class.isAssignableFrom(type) || type == ResultSet.class)) {
+            return proxy((Class) type, result);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,49 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Post-processor putting the application {@link DataSource} behind one more wrapper.
+ * <p>
+ * The wrappers are applied in a fixed order, from the innermost to the outermost, rather than in the order their
+ * configurations happen to be registered: the {@link ReadWriteRoutingDataSource} needs the pool itself, the
+ * {@link GatedDataSource} is sized to the pools and so gates connections to the primary and the replicas alike, and
+ * the {@link CountingDataSource} counts the statements of every connection. A wrapper looks through the others with
+ * {@link #isWrapperFor} and {@link #unwrap}, never with {@code instanceof}.
+ */
+abstract class DataSourceWrapper implements BeanPostProcessor, Ordered {
+    static final int ROUTING = Ordered.HIGHEST_PRECEDENCE + 100;
+    static final int GATE = ROUTING + 100;
+    static final int COUNTING = GATE + 100;
+
+    private final int order;
+
+    DataSourceWrapper(int order) {
+        this.order = order;
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    static boolean isWrapperFor(DataSource dataSource, Class<?> type) {
+        try {
+            return dataSource.isWrapperFor(type);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.unwrap(type);
+        } catch (SQLException e) {
+            throw new IllegalStateException("The data source is not a " + type.getSimpleName(), e);
+        }
+    }
+}
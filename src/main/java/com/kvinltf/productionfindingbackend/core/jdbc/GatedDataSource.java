@@ -0,0 +1,119 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link DataSource} that admits a bounded number of concurrently open connections through a fair semaphore.
+ * <p>
+ * Sized to the connection pool, it makes callers in excess of the pool queue on the semaphore, which parks
+ * virtual threads cheaply and in arrival order, instead of contending inside the pool. A permit is held from
+ * {@link #getConnection()} until the returned connection is closed.
+ */
+public class GatedDataSource extends DelegatingDataSource {
+    private final Semaphore permits;
+    private final int size;
+    private final long timeoutNanos;
+
+    private Timer waits;
+    private Counter timeouts;
+
+    public GatedDataSource(DataSource targetDataSource, int permits, Duration timeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(permits, true);
+        this.size = permits;
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        waits = Timer.builder("db.gate.wait")
+                .description("Time spent waiting for a database connection permit")
+                .register(registry);
+        timeouts = Counter.builder("db.gate.timeouts")
+                .description("Connection requests that timed out waiting for a permit")
+                .register(registry);
+        Gauge.builder("db.gate.queue", permits, Semaphore::getQueueLength)
+                .description("Connection requests waiting for a permit")
+                .register(registry);
+        Gauge.builder("db.gate.in.use", this, gate -> gate.size - gate.permits.availablePermits())
+                .description("Permits currently held")
+                .register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return release(super.getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return release(super.getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private void acquire() throws SQLException {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database connection permit", e);
+        }
+        if (waits != null) {
+            waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            if (timeouts != null) {
+                timeouts.increment();
+            }
+            throw new SQLTransientConnectionException("Timed out waiting for a database connection permit after "
+                    + Duration.ofNanos(timeoutNanos));
+        }
+    }
+
+    /**
+     * Wraps a connection so that closing it releases its permit, exactly once
+     */
+    private Connection release(Connection connection) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    boolean closing = method.getName().equals("close") && closed.compareAndSet(false, true);
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if (closing) {
+                            permits.release();
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,106 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Puts the application {@link DataSource} behind a {@link ReadWriteRoutingDataSource} when
+ * {@code app.datasource-routing.enabled} is set, with a connection pool per replica configured like the primary's.
+ * Only the JDBC stack is routed; R2DBC connections always go to the primary.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.datasource-routing", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ReadWriteRoutingProperties.class)
+public class ReadWriteRoutingConfiguration {
+
+    @Bean
+    static BeanPostProcessor readWriteRoutingPostProcessor(Environment environment) {
+        return new DataSourceWrapper(DataSourceWrapper.ROUTING) {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || isWrapperFor(dataSource, ReadWriteRoutingDataSource.class)
+                        || !isWrapperFor(dataSource, HikariDataSource.class)) {
+                    return bean;
+                }
+                ReadWriteRoutingProperties properties = Binder.get(environment)
+                        .bindOrCreate("app.datasource-routing", ReadWriteRoutingProperties.class);
+                HikariDataSource primary = DataSourceWrapper.unwrap(dataSource, HikariDataSource.class);
+                List<DataSource> replicas = new ArrayList<>();
+                for (ReadWriteRoutingProperties.Replica replica : properties.replicas()) {
+                    if (replica.url() == null || replica.url().isBlank()) {
+                        continue;
+                    }
+                    replicas.add(replica(primary, replica, replicas.size()));
+                }
+                ReplicaLagMonitor monitor = new ReplicaLagMonitor(primary, replicas, properties.lagCheckInterval(),
+                        properties.maxLag().toBytes());
+                return new ReadWriteRoutingDataSource(dataSource, replicas, monitor);
+            }
+        };
+    }
+
+    /**
+     * @return A pool for the replica with the settings of the primary's pool, which does not fail startup when the
+     * replica is down
+     */
+    private static HikariDataSource replica(HikariDataSource primary, ReadWriteRoutingProperties.Replica replica, int index) {
+        HikariConfig config = new HikariConfig();
+        primary.copyStateTo(config);
+        config.setJdbcUrl(replica.url());
+        if (replica.username() != null) {
+            config.setUsername(replica.username());
+        }
+        if (replica.password() != null) {
+            config.setPassword(replica.password());
+        }
+        config.setPoolName("replica-" + index);
+        config.setReadOnly(true);
+        config.setInitializationFailTimeout(-1);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Closes the replica pools before the primary's. The container destroys the data source bean as it was created,
+     * before it was wrapped, so the routing data source is not closed with it.
+     */
+    @Bean
+    Closeable readWriteRoutingShutdown(DataSource dataSource) {
+        return DataSourceWrapper.unwrap(dataSource, ReadWriteRoutingDataSource.class)::close;
+    }
+
+    @Bean
+    MeterBinder readWriteRoutingMetrics(DataSource dataSource) {
+        ReadWriteRoutingDataSource routing = DataSourceWrapper.unwrap(dataSource, ReadWriteRoutingDataSource.class);
+        return registry -> {
+            routing.bindTo(registry);
+            if (routing.positions() instanceof ReplicaLagMonitor monitor) {
+                monitor.bindTo(registry);
+            }
+        };
+    }
+
+    @Bean
+    ReadYourWritesListener readYourWritesListener(DataSource dataSource) {
+        return new ReadYourWritesListener(DataSourceWrapper.unwrap(dataSource, ReadWriteRoutingDataSource.class).positions());
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    ReadYourWritesFilter readYourWritesFilter(ReadWriteRoutingProperties properties) {
+        return new ReadYourWritesFilter(properties.readYourWritesTimeout());
+    }
+}
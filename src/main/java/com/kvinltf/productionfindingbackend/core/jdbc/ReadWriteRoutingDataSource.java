@@ -0,0 +1,121 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link DataSource} that sends read-only transactions to streaming replicas and everything else to the primary.
+ * <p>
+ * Connections are handed out lazily, so the target is only chosen once the transaction has declared whether it is
+ * read-only. Read-only connections rotate over the replicas that {@link ReplicaPositions} reports as close enough to
+ * the primary and as having replayed the current thread's {@link ReadYourWrites} position; when none qualifies they
+ * come from the primary.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+    private final List<DataSource> replicas;
+    private final ReplicaPositions positions;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private Counter[] replicaReads;
+    private Counter primaryReads;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaPositions positions) {
+        super(primary);
+        this.replicas = List.copyOf(replicas);
+        this.positions = positions;
+        setReadOnlyDataSource(new ReplicaDataSource());
+    }
+
+    void bindTo(MeterRegistry registry) {
+        Counter[] counters = new Counter[replicas.size()];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = reads(registry, "replica-" + i);
+        }
+        primaryReads = reads(registry, "primary");
+        replicaReads = counters;
+    }
+
+    private static Counter reads(MeterRegistry registry, String target) {
+        return Counter.builder("db.routing.reads")
+                .description("Connections opened for read-only transactions, by the database serving them")
+                .tag("target", target)
+                .register(registry);
+    }
+
+    ReplicaPositions positions() {
+        return positions;
+    }
+
+    List<DataSource> replicas() {
+        return replicas;
+    }
+
+    /**
+     * Stops tracking the replicas and closes their pools. The primary is left open, it belongs to whoever created it.
+     */
+    @Override
+    public void close() {
+        if (positions instanceof Closeable closeable) {
+            close(closeable);
+        }
+        replicas.forEach(replica -> close(replica));
+    }
+
+    private static void close(Object dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Could not close {}: {}", dataSource, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Picks the replica for each read-only connection
+     */
+    private class ReplicaDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            long requiredPosition = ReadYourWrites.requiredPosition();
+            int start = next.getAndIncrement();
+            for (int i = 0; i < replicas.size(); i++) {
+                int replica = Math.floorMod(start + i, replicas.size());
+                if (positions.canServe(replica, requiredPosition)) {
+                    try {
+                        Connection connection = replicas.get(replica).getConnection();
+                        increment(replicaReads != null ? replicaReads[replica] : null);
+                        return connection;
+                    } catch (SQLException e) {
+                        log.debug("Replica {} refused a connection: {}", replica, e.getMessage());
+                    }
+                }
+            }
+            increment(primaryReads);
+            return obtainTargetDataSource().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return obtainTargetDataSource().getConnection(username, password);
+        }
+
+        private static void increment(Counter counter) {
+            if (counter != null) {
+                counter.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Configuration of the {@link ReadWriteRoutingDataSource}
+ *
+ * @param enabled                Whether read-only transactions are sent to the replicas
+ * @param replicas               The streaming replicas of the primary database
+ * @param lagCheckInterval       How often the replay position of each replica is read
+ * @param maxLag                 How much WAL a replica may be behind the primary and still serve reads
+ * @param readYourWritesTimeout  How long a client keeps carrying the position of its last write; its reads go to the
+ *                               primary until a replica has replayed that position or the time is up
+ */
+@ConfigurationProperties(prefix = "app.datasource-routing")
+public record ReadWriteRoutingProperties(
+        boolean enabled,
+        List<Replica> replicas,
+        Duration lagCheckInterval,
+        DataSize maxLag,
+        Duration readYourWritesTimeout
+) {
+
+    public ReadWriteRoutingProperties {
+        if (replicas == null) {
+            replicas = List.of();
+        }
+        if (lagCheckInterval == null) {
+            lagCheckInterval = Duration.ofMillis(500);
+        }
+        if (maxLag == null) {
+            maxLag = DataSize.ofMegabytes(16);
+        }
+        if (readYourWritesTimeout == null) {
+            readYourWritesTimeout = Duration.ofMinutes(1);
+        }
+    }
+
+    /**
+     * @param url      The JDBC URL of the replica
+     * @param username The user to connect as; defaults to the user of the primary
+     * @param password The password of the user; defaults to the password of the primary
+     */
+    public record Replica(String url, String username, String password) {
+    }
+}
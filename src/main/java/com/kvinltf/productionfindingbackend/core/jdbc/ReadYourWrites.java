@@ -0,0 +1,91 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * The WAL position the current thread's reads must see, while a {@link #begin scope} is open.
+ * <p>
+ * A scope starts with the position of the client's last write, and moves forward as the thread commits writes of its
+ * own. Read-only transactions only go to replicas that have replayed it. Outside a scope any replica within the
+ * configured lag will do.
+ * <p>
+ * Reads that fill a cache go to the primary instead, through {@link #fromPrimary}: the cache may already have been
+ * invalidated for a write that a replica has not replayed yet, and would then keep the stale rows until the next write.
+ */
+public final class ReadYourWrites {
+    private static final ThreadLocal<ReadYourWrites> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Boolean> PRIMARY = new ThreadLocal<>();
+
+    private final LongConsumer onWrite;
+    private long requiredPosition;
+
+    private ReadYourWrites(long requiredPosition, LongConsumer onWrite) {
+        this.requiredPosition = requiredPosition;
+        this.onWrite = onWrite;
+    }
+
+    /**
+     * Starts a scope for the current thread, replacing any scope that was left open
+     *
+     * @param requiredPosition The position of the client's last write, 0 for none
+     * @param onWrite          Receives the position of every write committed within the scope
+     */
+    public static ReadYourWrites begin(long requiredPosition, LongConsumer onWrite) {
+        ReadYourWrites scope = new ReadYourWrites(requiredPosition, onWrite);
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * Ends the scope of the current thread
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return The scope of the current thread, or {@code null} outside a scope
+     */
+    public static ReadYourWrites current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Runs reads that must see every committed write, sending the read-only transactions they start to the primary.
+     * A transaction that already holds a replica connection stays on it, so the reads must start their own.
+     *
+     * @param reads The reads
+     * @return What the reads return
+     */
+    public static <T> T fromPrimary(Supplier<T> reads) {
+        if (PRIMARY.get() != null) {
+            return reads.get();
+        }
+        PRIMARY.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PRIMARY.remove();
+        }
+    }
+
+    /**
+     * @return The position the current thread's reads must see, 0 outside a scope, or past any replica's within
+     * {@link #fromPrimary}
+     */
+    static long requiredPosition() {
+        if (PRIMARY.get() != null) {
+            return Long.MAX_VALUE;
+        }
+        ReadYourWrites scope = CURRENT.get();
+        return scope != null ? scope.requiredPosition : 0;
+    }
+
+    void written(long position) {
+        if (position > requiredPosition) {
+            requiredPosition = position;
+            onWrite.accept(position);
+        }
+    }
+}
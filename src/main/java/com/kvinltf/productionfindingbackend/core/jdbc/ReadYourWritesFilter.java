@@ -0,0 +1,65 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Carries the WAL position of a client's last write between its requests in a cookie, so that its reads keep going to
+ * the primary until a replica has caught up with what it wrote.
+ * <p>
+ * The cookie only ever makes reads more consistent; a client tampering with it can at worst read its own writes late.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    static final String COOKIE = "db-position";
+
+    private final Duration timeout;
+
+    public ReadYourWritesFilter(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadYourWrites.begin(requiredPosition(request), position -> {
+            if (!response.isCommitted()) {
+                response.addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(COOKIE, Long.toHexString(position))
+                        .path("/")
+                        .httpOnly(true)
+                        .sameSite("Lax")
+                        .maxAge(timeout)
+                        .build()
+                        .toString());
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.end();
+        }
+    }
+
+    private static long requiredPosition(HttpServletRequest request) {
+        if (request.getCookies() != null) {
+            for (Cookie cookie : request.getCookies()) {
+                if (COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseUnsignedLong(cookie.getValue(), 16);
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+}
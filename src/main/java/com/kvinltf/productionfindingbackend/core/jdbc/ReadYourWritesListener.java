@@ -0,0 +1,39 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.sql.SQLException;
+
+/**
+ * Moves the {@link ReadYourWrites} scope of the current thread past each read-write transaction it commits.
+ * <p>
+ * The primary's WAL position read right after the commit covers the commit record, so a replica that has replayed
+ * it sees the write. If the position cannot be read, the scope is moved as far as it goes, sending the client's reads
+ * to the primary until its cookie expires.
+ */
+@Slf4j
+public class ReadYourWritesListener implements TransactionExecutionListener {
+    private final ReplicaPositions positions;
+
+    ReadYourWritesListener(ReplicaPositions positions) {
+        this.positions = positions;
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        ReadYourWrites scope = ReadYourWrites.current();
+        if (scope == null || commitFailure != null || !transaction.isNewTransaction() || transaction.isReadOnly()) {
+            return;
+        }
+        long position;
+        try {
+            position = positions.primaryPosition();
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Could not read the WAL position of the primary after a commit: {}", e.getMessage());
+            position = Long.MAX_VALUE;
+        }
+        scope.written(position);
+    }
+}
@@ -0,0 +1,129 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Reads how far each PostgreSQL streaming replica has replayed the write-ahead log of the primary.
+ * <p>
+ * A background thread polls the primary's current WAL position and each replica's replay position. A replica that
+ * cannot be reached, or is no longer in recovery (promoted, or not a replica at all), is treated as unavailable until
+ * a later poll says otherwise.
+ */
+@Slf4j
+class ReplicaLagMonitor implements ReplicaPositions, Closeable {
+    /**
+     * Position of a replica that cannot serve reads
+     */
+    static final long UNAVAILABLE = -1;
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final long maxLagBytes;
+    private final AtomicLongArray replayed;
+    private final ScheduledExecutorService scheduler;
+
+    private volatile long primaryPosition;
+
+    ReplicaLagMonitor(DataSource primary, List<DataSource> replicas, Duration interval, long maxLagBytes) {
+        this.primary = primary;
+        this.replicas = replicas;
+        this.maxLagBytes = maxLagBytes;
+        this.replayed = new AtomicLongArray(replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            replayed.set(i, UNAVAILABLE);
+        }
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("replica-lag-monitor").daemon().factory());
+        scheduler.scheduleWithFixedDelay(this::poll, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    void bindTo(MeterRegistry registry) {
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = i;
+            Gauge.builder("db.replica.lag", this, monitor -> monitor.lag(replica))
+                    .description("WAL the replica has yet to replay, NaN while it is unavailable")
+                    .tag("replica", String.valueOf(replica))
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public boolean canServe(int replica, long requiredPosition) {
+        long position = replayed.get(replica);
+        return position != UNAVAILABLE && position >= requiredPosition && primaryPosition - position <= maxLagBytes;
+    }
+
+    @Override
+    public long primaryPosition() throws SQLException {
+        return query(primary, "select pg_current_wal_lsn()::text");
+    }
+
+    private double lag(int replica) {
+        long position = replayed.get(replica);
+        return position == UNAVAILABLE ? Double.NaN : Math.max(0, primaryPosition - position);
+    }
+
+    private void poll() {
+        try {
+            primaryPosition = primaryPosition();
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Could not read the WAL position of the primary: {}", e.getMessage());
+        }
+        for (int i = 0; i < replicas.size(); i++) {
+            long position;
+            try {
+                position = query(replicas.get(i), "select pg_last_wal_replay_lsn()::text");
+            } catch (SQLException | RuntimeException e) {
+                position = UNAVAILABLE;
+            }
+            if ((position == UNAVAILABLE) != (replayed.getAndSet(i, position) == UNAVAILABLE)) {
+                log.info("Replica {} is {}", i, position == UNAVAILABLE ? "unavailable" : "available");
+            }
+        }
+    }
+
+    /**
+     * @return The WAL position returned by the query, or {@link #UNAVAILABLE} if it returned null
+     */
+    private static long query(DataSource dataSource, String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            String lsn = resultSet.getString(1);
+            return lsn != null ? parseLsn(lsn) : UNAVAILABLE;
+        }
+    }
+
+    /**
+     * Converts a PostgreSQL log sequence number, two hexadecimal halves like {@code 16/B374D848}, to a byte position.
+     */
+    static long parseLsn(String lsn) {
+        int slash = lsn.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Not a log sequence number: " + lsn);
+        }
+        return Long.parseLong(lsn, 0, slash, 16) << 32 | Long.parseLong(lsn, slash + 1, lsn.length(), 16);
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+}
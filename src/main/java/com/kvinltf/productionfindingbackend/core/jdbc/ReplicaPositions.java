@@ -0,0 +1,21 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import java.sql.SQLException;
+
+/**
+ * Tracks how far the replicas have replayed the write-ahead log of the primary
+ */
+interface ReplicaPositions {
+
+    /**
+     * @param replica          The index of the replica
+     * @param requiredPosition The WAL position the replica must have replayed, 0 for none
+     * @return Whether the replica is reachable, close enough to the primary, and has replayed the position
+     */
+    boolean canServe(int replica, long requiredPosition);
+
+    /**
+     * @return The current WAL position of the primary, which covers every transaction committed so far
+     */
+    long primaryPosition() throws SQLException;
+}
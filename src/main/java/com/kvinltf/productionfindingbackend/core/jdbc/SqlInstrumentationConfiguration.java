@@ -0,0 +1,40 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Counts SQL statements and fetched rows per request when {@code app.instrumentation.enabled} is set. When it is not,
+ * neither the data source nor the request path is touched.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "app.instrumentation", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(SqlInstrumentationProperties.class)
+public class SqlInstrumentationConfiguration {
+
+    @Bean
+    static BeanPostProcessor countingDataSourcePostProcessor() {
+        return new DataSourceWrapper(DataSourceWrapper.COUNTING) {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || isWrapperFor(dataSource, CountingDataSource.class)) {
+                    return bean;
+                }
+                return new CountingDataSource(dataSource);
+            }
+        };
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    SqlStatisticsFilter sqlStatisticsFilter(MeterRegistry meterRegistry, SqlInstrumentationProperties properties) {
+        return new SqlStatisticsFilter(meterRegistry, properties.statementBudget());
+    }
+}
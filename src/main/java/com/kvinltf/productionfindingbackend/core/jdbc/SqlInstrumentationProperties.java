@@ -0,0 +1,19 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration of the per-request SQL instrumentation
+ *
+ * @param enabled         Whether statements and rows are counted per request
+ * @param statementBudget The number of statements a single request may execute before it is flagged
+ */
+@ConfigurationProperties(prefix = "app.instrumentation")
+public record SqlInstrumentationProperties(boolean enabled, Integer statementBudget) {
+
+    public SqlInstrumentationProperties {
+        if (statementBudget == null) {
+            statementBudget = 20;
+        }
+    }
+}
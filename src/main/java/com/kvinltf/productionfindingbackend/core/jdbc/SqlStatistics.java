@@ -0,0 +1,55 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+/**
+ * SQL statements executed and rows fetched by the current thread while a {@link #begin() scope} is open.
+ * <p>
+ * The counters are confined to the thread that opened the scope, so they are plain fields.
+ */
+public final class SqlStatistics {
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+    private long rows;
+
+    private SqlStatistics() {
+    }
+
+    /**
+     * Starts counting for the current thread, replacing any scope that was left open
+     */
+    public static SqlStatistics begin() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops counting for the current thread
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return The statistics of the current thread, or {@code null} outside a scope
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    void statementExecuted() {
+        statements++;
+    }
+
+    void rowFetched() {
+        rows++;
+    }
+
+    public long statements() {
+        return statements;
+    }
+
+    public long rows() {
+        return rows;
+    }
+}
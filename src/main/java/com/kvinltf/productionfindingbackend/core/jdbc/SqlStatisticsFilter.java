@@ -0,0 +1,70 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Opens a {@link SqlStatistics} scope around each request and records its statement and row counts per endpoint.
+ * <p>
+ * Requests executing more statements than the configured budget are counted and logged, which is how N+1 query
+ * patterns are meant to surface.
+ */
+@Slf4j
+public class SqlStatisticsFilter extends OncePerRequestFilter {
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    public SqlStatisticsFilter(MeterRegistry meterRegistry, int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatistics statistics = SqlStatistics.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlStatistics.end();
+            record(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, SqlStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN");
+        DistributionSummary.builder("http.server.sql.statements")
+                .description("SQL statements executed per request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.statements());
+        DistributionSummary.builder("http.server.sql.rows")
+                .description("Rows fetched per request")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statistics.rows());
+        if (statistics.statements() > statementBudget) {
+            Counter.builder("http.server.sql.budget.exceeded")
+                    .description("Requests that executed more SQL statements than the budget")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("{} {} executed {} SQL statements, over the budget of {}", request.getMethod(),
+                    request.getRequestURI(), statistics.statements(), statementBudget);
+        }
+    }
+}
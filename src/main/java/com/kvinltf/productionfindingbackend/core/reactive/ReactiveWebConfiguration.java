@@ -0,0 +1,65 @@
+package com.kvinltf.productionfindingbackend.core.reactive;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.data.web.ReactiveSortHandlerMethodArgumentResolver;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+
+/**
+ * Infrastructure of the non-blocking stack, active when the application runs as a reactive web application
+ * (the {@code reactive} profile).
+ * <p>
+ * Requests are served by Netty event loops rather than a thread per request, and the database is reached through
+ * R2DBC. JPA and its JDBC pool stay in place for the components that are not ported, such as the caches loaded at
+ * startup; the servlet-only controllers are not registered.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReactiveWebConfiguration implements WebFluxConfigurer {
+
+    /**
+     * Tomcat stays on the classpath for the servlet stack and would otherwise be preferred by Spring Boot
+     */
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    /**
+     * Spring Boot backs off its JDBC data source once there is an R2DBC connection factory, but JPA and Liquibase
+     * still need one; it is configured from the same {@code spring.datasource} properties
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource dataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    DatabaseClient databaseClient(ConnectionFactory connectionFactory) {
+        return DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Resolves {@code page}, {@code size} and {@code sort} parameters the same way Spring Data does for the servlet
+     * stack
+     */
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(
+                new ReactivePageableHandlerMethodArgumentResolver(),
+                new ReactiveSortHandlerMethodArgumentResolver()
+        );
+    }
+}
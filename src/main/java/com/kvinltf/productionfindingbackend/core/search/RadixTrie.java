@@ -0,0 +1,158 @@
+package com.kvinltf.productionfindingbackend.core.search;
+
+import java.util.*;
+
+/**
+ * Immutable radix trie mapping string keys to weighted values, answering "best values under a prefix" lookups.
+ * <p>
+ * Chains of single-child nodes are collapsed into one edge label, and every node stores the best
+ * {@code maxSuggestions} distinct values of its subtree, ranked by weight and then by the given order. A lookup
+ * therefore walks at most the length of the prefix and copies a precomputed list; it never visits the subtree.
+ *
+ * @param <V> The type of the values
+ */
+public final class RadixTrie<V> {
+    private final Node root;
+    private final int nodeCount;
+
+    private RadixTrie(Node root, int nodeCount) {
+        this.root = root;
+        this.nodeCount = nodeCount;
+    }
+
+    /**
+     * @param maxSuggestions The most values a lookup can return
+     * @param order          How values of equal weight are ranked
+     */
+    public static <V> Builder<V> builder(int maxSuggestions, Comparator<? super V> order) {
+        return new Builder<>(maxSuggestions, order);
+    }
+
+    /**
+     * @param prefix The prefix, in the same normalized form as the keys
+     * @param limit  The most values to return
+     * @return The best values whose keys start with the prefix, best first
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> prefixSearch(String prefix, int limit) {
+        Node node = root;
+        int offset = 0;
+        while (offset < prefix.length()) {
+            node = node.child(prefix.charAt(offset));
+            if (node == null) {
+                return List.of();
+            }
+            int matched = 0;
+            while (matched < node.label.length && offset < prefix.length()) {
+                if (node.label[matched++] != prefix.charAt(offset++)) {
+                    return List.of();
+                }
+            }
+        }
+        int count = Math.min(limit, node.top.length);
+        List<V> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add((V) node.top[i]);
+        }
+        return values;
+    }
+
+    public int nodeCount() {
+        return nodeCount;
+    }
+
+    private static final class Node {
+        private final char[] label;
+        private final char[] firstChars;
+        private final Node[] children;
+        private final Object[] top;
+        private final int[] topWeights;
+
+        private Node(char[] label, char[] firstChars, Node[] children, Object[] top, int[] topWeights) {
+            this.label = label;
+            this.firstChars = firstChars;
+            this.children = children;
+            this.top = top;
+            this.topWeights = topWeights;
+        }
+
+        private Node child(char c) {
+            int i = Arrays.binarySearch(firstChars, c);
+            return i >= 0 ? children[i] : null;
+        }
+    }
+
+    public static final class Builder<V> {
+        private final int maxSuggestions;
+        private final Comparator<? super V> order;
+        private final MutableNode<V> root = new MutableNode<>();
+
+        private Builder(int maxSuggestions, Comparator<? super V> order) {
+            this.maxSuggestions = maxSuggestions;
+            this.order = order;
+        }
+
+        /**
+         * Adds a value under a key; a value may be added under several keys, and keeps its highest weight
+         *
+         * @param key    The normalized key
+         * @param value  The value
+         * @param weight How strongly the value should rank for prefixes of this key; higher ranks first
+         */
+        public Builder<V> add(String key, V value, int weight) {
+            MutableNode<V> node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(key.charAt(i), c -> new MutableNode<>());
+            }
+            node.values.merge(value, weight, Math::max);
+            return this;
+        }
+
+        public RadixTrie<V> build() {
+            int[] nodeCount = new int[1];
+            return new RadixTrie<>(freeze(root, new StringBuilder(), nodeCount), nodeCount[0]);
+        }
+
+        /**
+         * @param label The edge label leading to the node, starting with the character it is reached by
+         */
+        private Node freeze(MutableNode<V> node, StringBuilder label, int[] nodeCount) {
+            while (node.values.isEmpty() && node.children.size() == 1 && node != root) {
+                Map.Entry<Character, MutableNode<V>> only = node.children.firstEntry();
+                label.append(only.getKey());
+                node = only.getValue();
+            }
+            nodeCount[0]++;
+            char[] firstChars = new char[node.children.size()];
+            Node[] children = new Node[node.children.size()];
+            Map<V, Integer> candidates = new HashMap<>(node.values);
+            int i = 0;
+            for (Map.Entry<Character, MutableNode<V>> entry : node.children.entrySet()) {
+                Node child = freeze(entry.getValue(), new StringBuilder().append(entry.getKey()), nodeCount);
+                firstChars[i] = entry.getKey();
+                children[i++] = child;
+                for (int t = 0; t < child.top.length; t++) {
+                    @SuppressWarnings("unchecked")
+                    V value = (V) child.top[t];
+                    candidates.merge(value, child.topWeights[t], Math::max);
+                }
+            }
+            List<Map.Entry<V, Integer>> ranked = new ArrayList<>(candidates.entrySet());
+            ranked.sort(Map.Entry.<V, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry::getKey, order));
+            int size = Math.min(maxSuggestions, ranked.size());
+            Object[] top = new Object[size];
+            int[] topWeights = new int[size];
+            for (int t = 0; t < size; t++) {
+                top[t] = ranked.get(t).getKey();
+                topWeights[t] = ranked.get(t).getValue();
+            }
+            return new Node(label.toString().toCharArray(), firstChars, children, top, topWeights);
+        }
+    }
+
+    private static final class MutableNode<V> {
+        private final TreeMap<Character, MutableNode<V>> children = new TreeMap<>();
+        private final Map<V, Integer> values = new HashMap<>();
+    }
+}
@@ -0,0 +1,54 @@
+package com.kvinltf.productionfindingbackend.core.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Splits text into search terms: runs of letters and digits, lower-cased and stripped of diacritics,
+ * so that "Crème Brûlée" and "creme brulee" produce the same terms.
+ */
+public final class Tokenizer {
+
+    private Tokenizer() {
+    }
+
+    /**
+     * @param text The text to split, may be {@code null}
+     * @return The terms of the text in order, including repeats
+     */
+    public static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String normalized = normalize(text);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            boolean word = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                terms.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Lower-cases text and removes combining marks
+     */
+    public static String normalize(String text) {
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,60 @@
+package com.kvinltf.productionfindingbackend.core.startup;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SHA-256 digest of a Liquibase changelog: the master file and every file next to or below it, which covers the
+ * changelogs it includes. Files are taken in order of their path relative to the master file, so the digest is the
+ * same whether they are read from the jar, an extracted jar or the source tree.
+ */
+final class ChangelogFingerprint {
+
+    private ChangelogFingerprint() {
+    }
+
+    /**
+     * @param resourceLoader To list and read the changelog files
+     * @param changeLog      The location of the master changelog, as configured for Liquibase
+     * @param filter         Anything else that selects which change sets run, such as contexts and labels
+     * @return The digest, in hex
+     */
+    static String of(ResourceLoader resourceLoader, String changeLog, String filter) {
+        String path = changeLog.replaceFirst("^classpath\\*?:", "").replaceFirst("^/+", "");
+        String directory = path.substring(0, path.lastIndexOf('/') + 1);
+        try {
+            Map<String, Resource> files = new TreeMap<>();
+            for (Resource resource : new PathMatchingResourcePatternResolver(resourceLoader)
+                    .getResources("classpath*:" + directory + "**/*")) {
+                String url = resource.getURL().toString();
+                if (resource.isReadable() && !url.endsWith("/")) {
+                    files.putIfAbsent(url.substring(url.lastIndexOf(directory) + directory.length()), resource);
+                }
+            }
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((filter + '\0').getBytes(StandardCharsets.UTF_8));
+            for (Map.Entry<String, Resource> file : files.entrySet()) {
+                digest.update((file.getKey() + '\0').getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = file.getValue().getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read the changelog " + changeLog, e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.kvinltf.productionfindingbackend.core.startup;
+
+import liquibase.integration.spring.SpringLiquibase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.io.ResourceLoader;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Skips Liquibase at startup when the database has already been migrated with exactly the changelog being started.
+ * <p>
+ * Even when there is nothing to apply, Liquibase takes its lock, parses every changelog and reads and validates the
+ * {@code databasechangelog} table. Instead, the {@link ChangelogFingerprint} of the changelog is looked up in the
+ * {@code liquibase_fingerprints} table, which is written after each successful run; if it is there, Liquibase is
+ * told not to run. Any change to a changelog file, context or label changes the fingerprint, and a database without
+ * the table, such as a new one, is migrated as usual.
+ */
+@Slf4j
+class ChangelogFingerprintPostProcessor implements BeanPostProcessor {
+    private static final String SELECT = "select 1 from liquibase_fingerprints where fingerprint = ?";
+    private static final String INSERT = "insert into liquibase_fingerprints (fingerprint, applied_date)"
+            + " values (?, current_timestamp at time zone 'UTC') on conflict do nothing";
+
+    private final ResourceLoader resourceLoader;
+    /**
+     * Fingerprints of the changelogs being run, by bean name, to record once the run succeeds
+     */
+    private final Map<String, String> running = new ConcurrentHashMap<>();
+
+    ChangelogFingerprintPostProcessor(ResourceLoader resourceLoader) {
+        this.resourceLoader = resourceLoader;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof SpringLiquibase liquibase) {
+            String fingerprint = ChangelogFingerprint.of(resourceLoader, liquibase.getChangeLog(),
+                    liquibase.getContexts() + "|" + liquibase.getLabelFilter());
+            if (isApplied(liquibase.getDataSource(), fingerprint)) {
+                log.info("Skipping Liquibase, changelog {} with fingerprint {} is already applied",
+                        liquibase.getChangeLog(), fingerprint);
+                liquibase.setShouldRun(false);
+            } else {
+                running.put(beanName, fingerprint);
+            }
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        String fingerprint = running.remove(beanName);
+        if (fingerprint != null) {
+            record(((SpringLiquibase) bean).getDataSource(), fingerprint);
+        }
+        return bean;
+    }
+
+    private static boolean isApplied(DataSource dataSource, String fingerprint) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(SELECT)) {
+            statement.setString(1, fingerprint);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next();
+            }
+        } catch (SQLException e) {
+            log.debug("Cannot look up the changelog fingerprint, running Liquibase", e);
+            return false;
+        }
+    }
+
+    private static void record(DataSource dataSource, String fingerprint) {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(INSERT)) {
+            statement.setString(1, fingerprint);
+            statement.executeUpdate();
+        } catch (SQLException e) {
+            log.warn("Cannot record the changelog fingerprint, Liquibase will run on the next start too", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.kvinltf.productionfindingbackend.core.startup;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+/**
+ * Marks the springdoc beans lazy, so that they are created by the first request for the API documentation rather
+ * than at startup. Their request mappings are still registered at startup, since that only needs their types.
+ */
+class LazyApiDocsPostProcessor implements BeanFactoryPostProcessor {
+    private static final String PACKAGE = "org.springdoc.";
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String beanName : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+            if (isApiDocs(beanFactory, definition)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+
+    /**
+     * @return Whether the bean is a springdoc class or is declared by one
+     */
+    private static boolean isApiDocs(ConfigurableListableBeanFactory beanFactory, BeanDefinition definition) {
+        String className = definition.getBeanClassName();
+        if (className == null && definition.getFactoryBeanName() != null
+                && beanFactory.containsBeanDefinition(definition.getFactoryBeanName())) {
+            className = beanFactory.getBeanDefinition(definition.getFactoryBeanName()).getBeanClassName();
+        }
+        return className != null && className.startsWith(PACKAGE);
+    }
+}
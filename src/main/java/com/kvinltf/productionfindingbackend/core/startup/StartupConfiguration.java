@@ -0,0 +1,70 @@
+package com.kvinltf.productionfindingbackend.core.startup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.StartupStep;
+
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Startup shortcuts, each enabled by its own property and all of them by the {@code fast-startup} profile:
+ * <ul>
+ *     <li>{@code app.startup.skip-unchanged-changelog} skips Liquibase when the changelog is already applied, see
+ *     {@link ChangelogFingerprintPostProcessor}</li>
+ *     <li>{@code app.startup.lazy-api-docs} creates the springdoc beans on first use, see
+ *     {@link LazyApiDocsPostProcessor}</li>
+ * </ul>
+ * When the application was started with a startup timeline (see
+ * {@link com.kvinltf.productionfindingbackend.ProductionFindingBackendApplication}), its slowest steps are logged
+ * once the application is ready; the whole timeline is served by the {@code startup} actuator endpoint.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class StartupConfiguration {
+    private static final int SLOWEST_STEPS = 15;
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.startup", name = "skip-unchanged-changelog", havingValue = "true")
+    static BeanPostProcessor changelogFingerprintPostProcessor(ResourceLoader resourceLoader) {
+        return new ChangelogFingerprintPostProcessor(resourceLoader);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "app.startup", name = "lazy-api-docs", havingValue = "true")
+    static BeanFactoryPostProcessor lazyApiDocsPostProcessor() {
+        return new LazyApiDocsPostProcessor();
+    }
+
+    @Bean
+    ApplicationListener<ApplicationReadyEvent> startupTimelineLogger() {
+        return event -> {
+            if (!(event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup)) {
+                return;
+            }
+            StartupTimeline timeline = startup.getBufferedTimeline();
+            log.info("Slowest startup steps of {}:\n{}", event.getTimeTaken(), timeline.getEvents().stream()
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(SLOWEST_STEPS)
+                    .map(step -> String.format("%8d ms  %s %s", step.getDuration().toMillis(),
+                            step.getStartupStep().getName(), describe(step.getStartupStep().getTags())))
+                    .collect(Collectors.joining("\n")));
+        };
+    }
+
+    private static String describe(StartupStep.Tags tags) {
+        return StreamSupport.stream(tags.spliterator(), false)
+                .map(tag -> tag.getKey() + "=" + tag.getValue())
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,111 @@
+package com.kvinltf.productionfindingbackend.core.web;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A limit of requests in flight that follows their latency, after the gradient algorithm of Netflix's
+ * concurrency-limits.
+ * <p>
+ * Two moving averages of the latency are kept: a short one of the last few requests and a long one of the last few
+ * hundred, which stands for the latency when nothing queues. While the short one stays within {@code tolerance} times
+ * the long one, the limit grows by about its square root, which leaves room for some queueing; once requests get
+ * slower than that, the limit shrinks in proportion, down to half at once. The latency says nothing about the limit
+ * while less than half of it is used, so such samples leave the limit alone. Every change is smoothed, since single
+ * requests vary a lot. The long average slowly follows the short one, so a latency that lasts for hundreds of requests
+ * becomes the usual one and the limit grows back, as it should after a deployment made requests slower for good.
+ * <p>
+ * Admission only compares and sets the count in flight; the averages are updated under a lock once a request is done.
+ */
+public class AdaptiveConcurrencyLimit {
+    private static final double SHORT_WEIGHT = 0.1;
+    private static final double LONG_WEIGHT = 1.0 / 600;
+    private static final double SMOOTHING = 0.2;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double shortLatency;
+    private double longLatency;
+
+    /**
+     * @param initialLimit The limit until latencies are observed
+     * @param minLimit     The lowest the limit goes
+     * @param maxLimit     The highest the limit goes
+     * @param tolerance    How many times the usual latency requests may take before the limit shrinks
+     */
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+    }
+
+    /**
+     * Admits a request if fewer than the limit are in flight. An admitted request must be released.
+     *
+     * @return Whether the request was admitted
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a request that completed, adjusting the limit to its latency.
+     *
+     * @param latency The nanoseconds the request took
+     */
+    public void release(long latency) {
+        int current = inFlight.getAndDecrement();
+        sample(latency, current);
+    }
+
+    /**
+     * Releases a request without adjusting the limit, for a request whose latency says nothing about the load, such as
+     * one that went on asynchronously.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void sample(long latency, int inFlight) {
+        if (longLatency == 0) {
+            shortLatency = latency;
+            longLatency = latency;
+            return;
+        }
+        shortLatency += (latency - shortLatency) * SHORT_WEIGHT;
+        longLatency += (shortLatency - longLatency) * LONG_WEIGHT;
+        if (longLatency > 2 * shortLatency) {
+            // Recover quickly once a slow period is over, rather than over hundreds of requests
+            longLatency *= 0.95;
+        }
+        if (inFlight < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.clamp(tolerance * longLatency / shortLatency, 0.5, 1.0);
+        double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        estimatedLimit = Math.clamp(estimatedLimit * (1 - SMOOTHING) + newLimit * SMOOTHING, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+}
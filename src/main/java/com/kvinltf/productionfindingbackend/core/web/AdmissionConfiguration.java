@@ -0,0 +1,55 @@
+package com.kvinltf.productionfindingbackend.core.web;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Puts the controllers behind an {@link AdmissionInterceptor} when {@code app.admission.enabled} is set. The
+ * interceptor runs before any other, and the actuator endpoints are not behind it, so an overloaded instance still
+ * answers its health checks and reports what it sheds.
+ * <p>
+ * Admission is off by default: without a client header, clients are told apart by their remote address, and behind a
+ * proxy that does not forward it, or without {@code server.forward-headers-strategy}, every request would share the
+ * proxy's bucket. Enabling it that way is warned about at startup.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(AdmissionProperties.class)
+public class AdmissionConfiguration {
+
+    @Bean
+    AdmissionInterceptor admissionInterceptor(
+            AdmissionProperties properties,
+            ServerProperties serverProperties,
+            MeterRegistry meterRegistry
+    ) {
+        ServerProperties.ForwardHeadersStrategy forwardHeaders = serverProperties.getForwardHeadersStrategy();
+        if (properties.clientHeader() == null
+                && (forwardHeaders == null || forwardHeaders == ServerProperties.ForwardHeadersStrategy.NONE)) {
+            log.warn("Admission tells clients apart by their remote address, with neither app.admission.client-header "
+                    + "nor server.forward-headers-strategy set; behind a proxy all clients share one rate limit");
+        }
+        return new AdmissionInterceptor(properties, meterRegistry);
+    }
+
+    @Bean
+    WebMvcConfigurer admissionWebMvcConfigurer(AdmissionInterceptor admissionInterceptor) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(admissionInterceptor).order(Ordered.HIGHEST_PRECEDENCE);
+            }
+        };
+    }
+}
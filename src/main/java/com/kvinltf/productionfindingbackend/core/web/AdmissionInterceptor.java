@@ -0,0 +1,159 @@
+package com.kvinltf.productionfindingbackend.core.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Admits requests to the controllers, refusing them before the handler runs, and so before any database work.
+ * <p>
+ * A client over its rate, across all endpoints or on an endpoint with a rate of its own, gets a 429 with a
+ * {@code Retry-After} of when it will have a token again. A request arriving while the {@link AdaptiveConcurrencyLimit}
+ * is reached gets a 503, so that an overloaded instance sheds requests rather than queueing them for its connection
+ * pool; its tokens are given back. Both are answered without a body. Endpoints are told apart by the pattern their controller maps, so that
+ * {@code /currencies/1} and {@code /currencies/2} share a bucket.
+ * <p>
+ * Only the first dispatch of a request is admitted. A request going on asynchronously, such as a stream of events,
+ * leaves the concurrency limit once its handler returns, since its latency is that of its client.
+ */
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+    private static final String STARTED = AdmissionInterceptor.class.getName() + ".started";
+
+    private final String clientHeader;
+    private final TokenBuckets clients;
+    private final Map<String, TokenBuckets> endpoints = new HashMap<>();
+    private final AdaptiveConcurrencyLimit concurrencyLimit;
+    private final Counter admitted;
+    private final Counter throttled;
+    private final Counter shed;
+
+    public AdmissionInterceptor(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.clientHeader = properties.clientHeader();
+        this.clients = new TokenBuckets(properties.perClient().rate(), properties.perClient().burst(),
+                properties.maxClients());
+        for (AdmissionProperties.Endpoint endpoint : properties.endpoints()) {
+            AdmissionProperties.Limit limit = endpoint.limit();
+            endpoints.put(endpoint(endpoint.method() != null ? endpoint.method().toUpperCase() : "*", endpoint.pattern()),
+                    new TokenBuckets(limit.rate(), limit.burst(), properties.maxClients()));
+        }
+        AdmissionProperties.Concurrency concurrency = properties.concurrency();
+        this.concurrencyLimit = concurrency.enabled()
+                ? new AdaptiveConcurrencyLimit(concurrency.initialLimit(), concurrency.minLimit(),
+                concurrency.maxLimit(), concurrency.tolerance())
+                : null;
+        this.admitted = counter("admitted", meterRegistry);
+        this.throttled = counter("throttled", meterRegistry);
+        this.shed = counter("shed", meterRegistry);
+        Gauge.builder("http.server.admission.clients", clients, TokenBuckets::size)
+                .description("Clients with a bucket of their own")
+                .register(meterRegistry);
+        if (concurrencyLimit != null) {
+            Gauge.builder("http.server.admission.limit", concurrencyLimit, AdaptiveConcurrencyLimit::limit)
+                    .description("Requests that may be in flight at once")
+                    .register(meterRegistry);
+            Gauge.builder("http.server.admission.in.flight", concurrencyLimit, AdaptiveConcurrencyLimit::inFlight)
+                    .register(meterRegistry);
+        }
+    }
+
+    private static Counter counter(String result, MeterRegistry meterRegistry) {
+        return Counter.builder("http.server.admission")
+                .description("Requests to the controllers by whether they were admitted, throttled with a 429 or shed with a 503")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST || !(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        String client = client(request);
+        long wait = clients.tryAcquire(client);
+        TokenBuckets endpoint = null;
+        if (wait == 0 && !endpoints.isEmpty()) {
+            endpoint = endpoint(request);
+            if (endpoint != null && (wait = endpoint.tryAcquire(client)) > 0) {
+                clients.refund(client);
+            }
+        }
+        if (wait > 0) {
+            throttled.increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, wait);
+            return false;
+        }
+        if (concurrencyLimit != null) {
+            if (!concurrencyLimit.tryAcquire()) {
+                // A shed request did not use the client's rate, so it may retry as soon as the instance recovers
+                clients.refund(client);
+                if (endpoint != null) {
+                    endpoint.refund(client);
+                }
+                shed.increment();
+                reject(response, HttpStatus.SERVICE_UNAVAILABLE, Duration.ofSeconds(1).toNanos());
+                return false;
+            }
+            request.setAttribute(STARTED, System.nanoTime());
+        }
+        admitted.increment();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getAttribute(STARTED) != null) {
+            request.removeAttribute(STARTED);
+            concurrencyLimit.release();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(STARTED) instanceof Long started) {
+            request.removeAttribute(STARTED);
+            concurrencyLimit.release(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * @return The value of the client header if set and sent, otherwise the remote address
+     */
+    private String client(HttpServletRequest request) {
+        String client = clientHeader != null ? request.getHeader(clientHeader) : null;
+        return client != null && !client.isBlank() ? client : request.getRemoteAddr();
+    }
+
+    /**
+     * @return The buckets of the endpoint the request is mapped to, if it has a rate of its own
+     */
+    private TokenBuckets endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return null;
+        }
+        TokenBuckets buckets = endpoints.get(endpoint(request.getMethod(), pattern.toString()));
+        return buckets != null ? buckets : endpoints.get(endpoint("*", pattern.toString()));
+    }
+
+    private static String endpoint(String method, String pattern) {
+        return method + " " + pattern;
+    }
+
+    private static void reject(HttpServletResponse response, HttpStatus status, long retryAfterNanos) {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                Long.toString(Math.max(1, (retryAfterNanos + 999_999_999) / 1_000_000_000)));
+    }
+}
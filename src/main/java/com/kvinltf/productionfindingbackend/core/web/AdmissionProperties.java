@@ -0,0 +1,99 @@
+package com.kvinltf.productionfindingbackend.core.web;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Configuration of the {@link AdmissionInterceptor}
+ *
+ * @param enabled      Whether requests are admitted through rate limits and the concurrency limit
+ * @param clientHeader The request header naming the client, such as an API key; clients sending none, or all clients
+ *                     when unset, are told apart by their remote address
+ * @param perClient    The rate of requests each client may make, across all endpoints
+ * @param endpoints    Tighter rates for each client on given endpoints, checked in addition to {@code perClient}
+ * @param maxClients   The most buckets kept for each limit; clients beyond it share one bucket until idle ones are
+ *                     dropped
+ * @param concurrency  The limit of requests handled at once
+ */
+@ConfigurationProperties(prefix = "app.admission")
+public record AdmissionProperties(
+        boolean enabled,
+        String clientHeader,
+        Limit perClient,
+        List<Endpoint> endpoints,
+        int maxClients,
+        Concurrency concurrency
+) {
+
+    public AdmissionProperties {
+        if (clientHeader != null && clientHeader.isBlank()) {
+            clientHeader = null;
+        }
+        if (perClient == null) {
+            perClient = new Limit(0, 0);
+        }
+        if (endpoints == null) {
+            endpoints = List.of();
+        }
+        if (maxClients <= 0) {
+            maxClients = 100_000;
+        }
+        if (concurrency == null) {
+            concurrency = new Concurrency(false, 0, 0, 0, 0);
+        }
+    }
+
+    /**
+     * @param rate  The requests per second a client may sustain
+     * @param burst The requests a client may make at once after being idle; defaults to twice the rate
+     */
+    public record Limit(double rate, int burst) {
+
+        public Limit {
+            if (rate <= 0) {
+                rate = 100;
+            }
+            if (burst <= 0) {
+                burst = (int) Math.max(1, Math.ceil(rate * 2));
+            }
+        }
+    }
+
+    /**
+     * @param method  The HTTP method of the endpoint, or {@code null} for all its methods
+     * @param pattern The path pattern of the endpoint, as mapped by its controller, such as {@code /currencies/{id}}
+     * @param rate    The requests per second a client may sustain on the endpoint
+     * @param burst   The requests a client may make at once on the endpoint after being idle
+     */
+    public record Endpoint(String method, String pattern, double rate, int burst) {
+
+        public Limit limit() {
+            return new Limit(rate, burst);
+        }
+    }
+
+    /**
+     * @param enabled      Whether requests over the limit are shed
+     * @param initialLimit The requests handled at once before any latency was observed
+     * @param minLimit     The lowest the limit goes however slow requests get
+     * @param maxLimit     The highest the limit goes however fast requests are
+     * @param tolerance    How many times slower than usual requests may get before the limit is lowered
+     */
+    public record Concurrency(boolean enabled, int initialLimit, int minLimit, int maxLimit, double tolerance) {
+
+        public Concurrency {
+            if (minLimit <= 0) {
+                minLimit = 4;
+            }
+            maxLimit = maxLimit <= 0 ? 400 : Math.max(minLimit, maxLimit);
+            if (initialLimit <= 0) {
+                initialLimit = 20;
+            }
+            initialLimit = Math.clamp(initialLimit, minLimit, maxLimit);
+            if (tolerance < 1) {
+                tolerance = 2;
+            }
+        }
+    }
+}
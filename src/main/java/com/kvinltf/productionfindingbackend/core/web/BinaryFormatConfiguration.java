@@ -0,0 +1,34 @@
+package com.kvinltf.productionfindingbackend.core.web;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Lets every JSON endpoint also read and write CBOR ({@code application/cbor}) and Smile
+ * ({@code application/x-jackson-smile}), chosen by the {@code Accept} and {@code Content-Type} headers.
+ * <p>
+ * Spring MVC registers both converters by itself once the formats are on the classpath, but with a default object
+ * mapper; these replace them in place, after the JSON converter, with mappers built like the application's JSON one,
+ * so the binary bodies carry the same fields, dates and modules. A client that asks for nothing in particular still
+ * gets JSON. The builder is a prototype, so each converter configures a builder of its own.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class BinaryFormatConfiguration {
+
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+}
@@ -0,0 +1,75 @@
+package com.kvinltf.productionfindingbackend.core.web;
+
+import com.kvinltf.productionfindingbackend.core.ETags;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Tells apart the JSON, CBOR and Smile bodies of a resource, which {@link BinaryFormatConfiguration} lets clients
+ * choose with {@code Accept}.
+ * <p>
+ * Every body written by a Jackson converter is sent with {@code Vary: Accept}, and its entity tag, if the controller
+ * set one, becomes the tag of the representation chosen, so a JSON and a CBOR body never share one. Since the
+ * controller's tag is not that of the representation, Spring never finds it in {@code If-None-Match}; the 304 is
+ * answered here instead, once the representation is known, without writing the body.
+ */
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class RepresentationTagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response
+    ) {
+        HttpHeaders headers = response.getHeaders();
+        if (!headers.getVary().contains(HttpHeaders.ACCEPT)) {
+            headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        String eTag = headers.getETag();
+        if (eTag == null) {
+            return body;
+        }
+        String tag = ETags.representation(eTag, selectedContentType);
+        if (!(response instanceof ServletServerHttpResponse servletServerResponse)) {
+            headers.setETag(tag);
+            return body;
+        }
+        HttpServletResponse servletResponse = servletServerResponse.getServletResponse();
+        if (servletResponse.containsHeader(HttpHeaders.ETAG)) {
+            // Already written while Spring looked for the controller's tag in If-None-Match
+            servletResponse.setHeader(HttpHeaders.ETAG, tag);
+            headers.remove(HttpHeaders.ETAG);
+        } else {
+            headers.setETag(tag);
+        }
+        if ((request.getMethod() == HttpMethod.GET || request.getMethod() == HttpMethod.HEAD)
+                && servletResponse.getStatus() == HttpStatus.OK.value()
+                && ETags.notModified(String.join(",", request.getHeaders().getOrEmpty(HttpHeaders.IF_NONE_MATCH)), tag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return null;
+        }
+        return body;
+    }
+}
@@ -0,0 +1,112 @@
+package com.kvinltf.productionfindingbackend.core.web;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets of one rate, one per client, taken from without locks.
+ * <p>
+ * Each bucket is a single {@link AtomicLong}: the time at which it will be full again, as kept by the generic cell rate
+ * algorithm. Taking a token pushes that time one emission interval further, and is refused when it would then be more
+ * than a burst of intervals ahead of now, so a bucket is updated with one compare-and-set and never refilled by a
+ * timer. The buckets live in a {@link ConcurrentHashMap}, whose reads do not lock and whose writes only lock the bin of
+ * a new client.
+ * <p>
+ * A full bucket holds no information, so when the buckets reach their bound the full ones are dropped, at most once per
+ * emission interval or second. Clients that still find no room share one overflow bucket, which slows down a flood
+ * of new clients without letting it evict the ones already tracked. A token taken from a bucket being dropped at that
+ * very moment is lost, in the client's favour.
+ */
+public class TokenBuckets {
+    private static final long MIN_SWEEP_INTERVAL = Duration.ofSeconds(1).toNanos();
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final long interval;
+    private final long capacity;
+    private final int maxBuckets;
+    private final LongSupplier nanoTime;
+    private final AtomicLong overflow;
+    private final AtomicLong lastSweep;
+
+    /**
+     * @param rate       The tokens per second added to each bucket
+     * @param burst      The tokens each bucket holds when full
+     * @param maxBuckets The most clients to keep a bucket of their own for
+     */
+    public TokenBuckets(double rate, int burst, int maxBuckets) {
+        this(rate, burst, maxBuckets, System::nanoTime);
+    }
+
+    TokenBuckets(double rate, int burst, int maxBuckets, LongSupplier nanoTime) {
+        this.interval = Math.max(1, (long) (Duration.ofSeconds(1).toNanos() / rate));
+        this.capacity = interval * burst;
+        this.maxBuckets = maxBuckets;
+        this.nanoTime = nanoTime;
+        long now = nanoTime.getAsLong();
+        this.overflow = new AtomicLong(now);
+        this.lastSweep = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token from the client's bucket.
+     *
+     * @return 0 if a token was taken, otherwise how many nanoseconds until one is available
+     */
+    public long tryAcquire(String client) {
+        long now = nanoTime.getAsLong();
+        AtomicLong bucket = bucket(client, now);
+        while (true) {
+            long full = bucket.get();
+            long next = Math.max(full, now) + interval;
+            long wait = next - now - capacity;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(full, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Puts back a token taken by {@link #tryAcquire} for a request that was refused by another limit.
+     */
+    public void refund(String client) {
+        AtomicLong bucket = buckets.get(client);
+        (bucket != null ? bucket : overflow).addAndGet(-interval);
+    }
+
+    /**
+     * @return The number of clients with a bucket of their own
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucket(String client, long now) {
+        AtomicLong bucket = buckets.get(client);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxBuckets) {
+            sweep(now);
+            if (buckets.size() >= maxBuckets) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(client, key -> new AtomicLong(now));
+    }
+
+    /**
+     * Drops the full buckets, unless another thread did so recently.
+     */
+    private void sweep(long now) {
+        long last = lastSweep.get();
+        if (now - last < Math.max(interval, MIN_SWEEP_INTERVAL) || !lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.get() <= now);
+    }
+}
@@ -1,6 +1,7 @@
 package com.kvinltf.productionfindingbackend.currency;
 
 import com.kvinltf.productionfindingbackend.core.BaseEntity;
+import com.kvinltf.productionfindingbackend.core.audit.Audited;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -8,12 +9,19 @@ import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity representing a currency in the system.
  * Each currency has a name, code (ISO 4217), symbol, and number of decimal places.
+ * Currencies are read far more often than written, so they are kept in the second-level cache.
+ * Their writes are kept in the audit history.
  */
 @Entity
+@Audited
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "currencies")
 @Table(name = "currencies", uniqueConstraints = {
     @UniqueConstraint(name = "uk_currency_code", columnNames = "code")
 })
@@ -0,0 +1,21 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Request for resolving many currencies at once, by ID, by ISO 4217 code or both
+ *
+ * @param ids   The IDs to resolve
+ * @param codes The codes to resolve
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record CurrencyBatchRequest(List<Long> ids, List<String> codes) implements Serializable {
+
+    public CurrencyBatchRequest {
+        ids = ids != null ? ids : List.of();
+        codes = codes != null ? codes : List.of();
+    }
+}
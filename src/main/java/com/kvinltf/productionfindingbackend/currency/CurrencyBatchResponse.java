@@ -0,0 +1,13 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import java.util.List;
+
+/**
+ * Response of a batch currency lookup
+ *
+ * @param currencies   The currencies found, each once, in the order they were first requested: IDs before codes
+ * @param missingIds   The requested IDs that were not found, de-duplicated, in request order
+ * @param missingCodes The requested codes that were not found, de-duplicated, in request order
+ */
+public record CurrencyBatchResponse(List<CurrencyDto> currencies, List<Long> missingIds, List<String> missingCodes) {
+}
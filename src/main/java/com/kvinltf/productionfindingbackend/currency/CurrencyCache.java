@@ -0,0 +1,278 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.kvinltf.productionfindingbackend.core.cache.CacheInvalidation;
+import com.kvinltf.productionfindingbackend.core.cache.CacheInvalidationChannel;
+import com.kvinltf.productionfindingbackend.core.jdbc.ReadYourWrites;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Read-side cache of the whole {@code currencies} table.
+ * <p>
+ * The table is loaded once the application is ready and kept in an immutable {@link Snapshot} indexed by id
+ * and by ISO code. A published snapshot is never modified: committed writes are applied to a copy which is then
+ * swapped in, so lookups take no locks and never go to the database. Until the first load completes, lookups
+ * fall back to {@link CurrencyRepository}.
+ * <p>
+ * Writes made by this instance are applied from their {@link CurrencyChangedEvent}s. Writes made by other instances
+ * arrive as {@link CacheInvalidation}s over the {@link CacheInvalidationChannel}, and the currencies they name are
+ * read again. An invalidation can be lost, as can a write that sends none, such as one through the reactive stack, so
+ * the whole table is also reloaded every {@code app.currency-cache.refresh-interval}.
+ */
+@Component
+public class CurrencyCache {
+    /**
+     * The name under which Hibernate, and so the {@link CacheInvalidation}s, know the currency entity
+     */
+    private static final String ENTITY_NAME = Currency.class.getName();
+
+    private final CurrencyRepository currencyRepository;
+    private final Counter hits;
+    private final Counter misses;
+    private final Timer reloads;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    @Autowired
+    public CurrencyCache(CurrencyRepository currencyRepository, MeterRegistry meterRegistry,
+                         ObjectProvider<CacheInvalidationChannel> channel) {
+        this(currencyRepository, meterRegistry, channel.getIfAvailable());
+    }
+
+    /**
+     * @param channel The channel carrying the writes of other instances, or null to only apply local writes
+     */
+    CurrencyCache(CurrencyRepository currencyRepository, MeterRegistry meterRegistry, CacheInvalidationChannel channel) {
+        this.currencyRepository = currencyRepository;
+        this.hits = Counter.builder("currency.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("currency.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.reloads = Timer.builder("currency.cache.reloads").register(meterRegistry);
+        Gauge.builder("currency.cache.size", this, cache -> cache.snapshot.byId().size()).register(meterRegistry);
+        if (channel != null) {
+            channel.subscribe(this::onInvalidation);
+        }
+    }
+
+    /**
+     * Looks up a currency by its ID
+     *
+     * @param id The ID of the currency
+     * @return The currency, if found
+     */
+    public Optional<CurrencyDto> findById(Long id) {
+        Snapshot current = snapshot;
+        if (!current.loaded()) {
+            misses.increment();
+            return currencyRepository.findById(id).map(CurrencyDto::from);
+        }
+        return record(current.byId().get(id));
+    }
+
+    /**
+     * Looks up a currency by its ISO 4217 code
+     *
+     * @param code The code of the currency, e.g. "USD"
+     * @return The currency, if found
+     */
+    public Optional<CurrencyDto> findByCode(String code) {
+        Snapshot current = snapshot;
+        if (!current.loaded()) {
+            misses.increment();
+            return currencyRepository.findByCode(code).map(CurrencyDto::from);
+        }
+        return record(current.byCode().get(code));
+    }
+
+    /**
+     * Looks up many currencies by ID at once; before the first reload, with a single query
+     *
+     * @param ids The IDs of the currencies
+     * @return The currencies found, indexed by ID
+     */
+    public Map<Long, CurrencyDto> findAllById(Collection<Long> ids) {
+        Snapshot current = snapshot;
+        if (!current.loaded()) {
+            misses.increment(ids.size());
+            return index(currencyRepository.findAllAsDtoByIdIn(ids), CurrencyDto::getId);
+        }
+        return lookup(ids, current.byId());
+    }
+
+    /**
+     * Looks up many currencies by ISO 4217 code at once; before the first reload, with a single query
+     *
+     * @param codes The codes of the currencies
+     * @return The currencies found, indexed by code
+     */
+    public Map<String, CurrencyDto> findAllByCode(Collection<String> codes) {
+        Snapshot current = snapshot;
+        if (!current.loaded()) {
+            misses.increment(codes.size());
+            return index(currencyRepository.findAllAsDtoByCodeIn(codes), CurrencyDto::getCode);
+        }
+        return lookup(codes, current.byCode());
+    }
+
+    /**
+     * @return All cached currencies, or an empty collection if the cache has not been loaded yet
+     */
+    public Collection<CurrencyDto> findAll() {
+        return snapshot.byId().values();
+    }
+
+    /**
+     * @return The currently published snapshot
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Replaces the cached content with the current content of the {@code currencies} table.
+     * Writers are serialized so that a change committed while the table is being read is applied after the
+     * reload rather than being overwritten by it. The table is read from the primary, so that no write committed
+     * before the reload is missing from it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.currency-cache.refresh-interval:5m}",
+            initialDelayString = "${app.currency-cache.refresh-interval:5m}")
+    public synchronized void reload() {
+        snapshot = reloads.record(() -> Snapshot.of(ReadYourWrites.fromPrimary(currencyRepository::findAllAsDto)));
+    }
+
+    /**
+     * Applies a committed write to the cache.
+     *
+     * @param event The change, published by {@link CurrencyController}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCurrencyChanged(CurrencyChangedEvent event) {
+        if (!snapshot.loaded()) {
+            return;
+        }
+        CurrencyDto currency = CurrencyDto.from(event.currency());
+        snapshot = event.type() == CurrencyChangedEvent.Type.DELETED
+                ? snapshot.without(currency.getId())
+                : snapshot.with(currency);
+    }
+
+    /**
+     * Applies the writes of another instance, reading the written currencies again from the primary; a currency no
+     * longer found was deleted. An invalidation that does not name the written currencies reloads the whole table.
+     *
+     * @param invalidation The entities written by a transaction of another instance
+     */
+    synchronized void onInvalidation(CacheInvalidation invalidation) {
+        if (!snapshot.loaded()) {
+            return;
+        }
+        if (invalidation.entities() == null || (invalidation.entities().containsKey(ENTITY_NAME)
+                && invalidation.entities().get(ENTITY_NAME) == null)) {
+            reload();
+            return;
+        }
+        Set<Long> ids = invalidation.entities().get(ENTITY_NAME);
+        if (ids == null || ids.isEmpty()) {
+            return;
+        }
+        Map<Long, CurrencyDto> found = index(ReadYourWrites.fromPrimary(() -> currencyRepository.findAllAsDtoByIdIn(ids)),
+                CurrencyDto::getId);
+        Snapshot updated = snapshot;
+        for (Long id : ids) {
+            CurrencyDto currency = found.get(id);
+            updated = currency != null ? updated.with(currency) : updated.without(id);
+        }
+        snapshot = updated;
+    }
+
+    private <K> Map<K, CurrencyDto> lookup(Collection<K> keys, Map<K, CurrencyDto> cached) {
+        Map<K, CurrencyDto> found = new HashMap<>();
+        for (K key : keys) {
+            CurrencyDto currency = cached.get(key);
+            if (currency != null) {
+                found.put(key, currency);
+            }
+        }
+        hits.increment(found.size());
+        misses.increment(keys.size() - found.size());
+        return found;
+    }
+
+    private static <K> Map<K, CurrencyDto> index(List<CurrencyDto> currencies, Function<CurrencyDto, K> key) {
+        Map<K, CurrencyDto> found = new HashMap<>();
+        currencies.forEach(currency -> found.put(key.apply(currency), currency));
+        return found;
+    }
+
+    private Optional<CurrencyDto> record(CurrencyDto currency) {
+        (currency != null ? hits : misses).increment();
+        return Optional.ofNullable(currency);
+    }
+
+    /**
+     * Immutable view of the cached table.
+     * The cached {@link CurrencyDto} instances are shared between callers and must be treated as read-only.
+     *
+     * @param byId   Currencies indexed by ID
+     * @param byCode Currencies indexed by ISO 4217 code
+     * @param loaded Whether the snapshot reflects the database, as opposed to the initial empty placeholder
+     */
+    public record Snapshot(Map<Long, CurrencyDto> byId, Map<String, CurrencyDto> byCode, boolean loaded) {
+        static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), false);
+
+        static Snapshot of(List<CurrencyDto> currencies) {
+            Map<Long, CurrencyDto> byId = new HashMap<>();
+            Map<String, CurrencyDto> byCode = new HashMap<>();
+            for (CurrencyDto currency : currencies) {
+                byId.put(currency.getId(), currency);
+                byCode.put(currency.getCode(), currency);
+            }
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byCode), true);
+        }
+
+        Snapshot with(CurrencyDto currency) {
+            CurrencyDto existing = byId.get(currency.getId());
+            if (existing != null && existing.getVersion() != null && currency.getVersion() != null
+                    && existing.getVersion() > currency.getVersion()) {
+                return this;
+            }
+            Map<Long, CurrencyDto> newById = new HashMap<>(byId);
+            Map<String, CurrencyDto> newByCode = new HashMap<>(byCode);
+            if (existing != null) {
+                newByCode.remove(existing.getCode());
+            }
+            newById.put(currency.getId(), currency);
+            newByCode.put(currency.getCode(), currency);
+            return new Snapshot(Map.copyOf(newById), Map.copyOf(newByCode), true);
+        }
+
+        Snapshot without(Long id) {
+            CurrencyDto existing = byId.get(id);
+            if (existing == null) {
+                return this;
+            }
+            Map<Long, CurrencyDto> newById = new HashMap<>(byId);
+            Map<String, CurrencyDto> newByCode = new HashMap<>(byCode);
+            newById.remove(id);
+            newByCode.remove(existing.getCode());
+            return new Snapshot(Map.copyOf(newById), Map.copyOf(newByCode), true);
+        }
+    }
+}
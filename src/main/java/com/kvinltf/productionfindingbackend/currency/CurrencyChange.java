@@ -0,0 +1,75 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Outbox entry recording one committed write of a {@link Currency}, inserted in the transaction of the write.
+ * <p>
+ * Entries are ordered by the ID of the writing transaction and then by their own ID. An entry only becomes visible
+ * once its transaction commits, and a transaction may commit after a later one, so readers only consume entries of
+ * transactions older than every transaction still in progress (see {@link CurrencyChangeRepository#findAllAfter});
+ * past that point the order is final and no entry can appear behind a reader's position. Entries are deleted once
+ * older than the retention (see {@link CurrencyChangeRetention}).
+ */
+@Entity
+@Table(name = "currency_changes")
+@Getter
+@Setter
+@ToString
+public class CurrencyChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE)
+    @Column(nullable = false)
+    private Long id;
+
+    /**
+     * The ID of the writing transaction, assigned by the database
+     */
+    @Column(nullable = false, insertable = false, updatable = false)
+    private Long txid;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16, nullable = false)
+    private CurrencyChangedEvent.Type type;
+
+    @Column(name = "currency_id", nullable = false)
+    private Long currencyId;
+
+    /**
+     * The version of the currency after the write
+     */
+    @Column(name = "version")
+    private Integer version;
+
+    /**
+     * The modification date of the currency after the write
+     */
+    @Column(name = "last_modified_date")
+    private Instant lastModifiedDate;
+
+    /**
+     * When the change was recorded, which is when the writing transaction started, assigned by the database
+     */
+    @Column(name = "recorded_date", nullable = false, insertable = false, updatable = false)
+    private Instant recordedDate;
+
+    /**
+     * @param type     The kind of change
+     * @param currency The written currency, in its flushed state
+     * @return A new entry for the change
+     */
+    public static CurrencyChange of(CurrencyChangedEvent.Type type, Currency currency) {
+        CurrencyChange change = new CurrencyChange();
+        change.setType(type);
+        change.setCurrencyId(currency.getId());
+        change.setVersion(currency.getVersion());
+        change.setLastModifiedDate(currency.getLastModifiedDate());
+        return change;
+    }
+}
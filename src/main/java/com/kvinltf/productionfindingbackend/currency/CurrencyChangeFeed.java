@@ -0,0 +1,389 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the {@link CurrencyChange} outbox to subscribers as server-sent events, so that clients can keep a replica
+ * of the currencies instead of polling {@code GET /currencies}.
+ * <p>
+ * A single poller reads the settled changes after the feed's position and broadcasts them; it runs every
+ * {@code app.currency-changes.poll-interval}, which picks up writes made by other instances, and right after each
+ * local write. Every event carries its outbox position as its ID, so a client that reconnects with
+ * {@code Last-Event-ID} is first sent the changes it missed and then joins the live stream, without gaps or
+ * duplicates. A client without one should subscribe first and then load the currencies, applying changes by version.
+ * Changes are only kept for the {@link CurrencyChangeRetention}; a client whose {@code Last-Event-ID} is older than
+ * the first change kept is sent a {@code reset} event instead, and should load the currencies again as a new client.
+ * <p>
+ * The poller only queues events; each subscriber's events are written by a sender thread of its own, outside of the
+ * feed's lock, so a slow client cannot hold up the others. A subscriber whose queue of
+ * {@code app.currency-changes.subscriber-buffer} events is full has fallen behind and is closed; its client resumes
+ * from its last event when it reconnects, which replays the rest from the outbox.
+ * <p>
+ * Changes are only settled once no older transaction is in progress, so a long-running transaction elsewhere in the
+ * database delays the feed but cannot make it skip a change.
+ */
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CurrencyChangeFeed {
+    private final CurrencyChangeRepository currencyChangeRepository;
+    private final CurrencyRepository currencyRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration pollInterval;
+    private final Duration heartbeatInterval;
+    private final Duration timeout;
+    private final int batchSize;
+    private final int subscriberBuffer;
+    private final Executor sender;
+    private final Counter sent;
+    private final Counter lagging;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicBoolean pollRequested = new AtomicBoolean();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("currency-change-feed").daemon().factory());
+
+    /**
+     * The position up to which changes have been broadcast; null until the feed has started
+     */
+    private volatile CurrencyChangePosition position;
+
+    @Autowired
+    public CurrencyChangeFeed(
+            CurrencyChangeRepository currencyChangeRepository,
+            CurrencyRepository currencyRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.currency-changes.poll-interval:1s}") Duration pollInterval,
+            @Value("${app.currency-changes.heartbeat-interval:15s}") Duration heartbeatInterval,
+            @Value("${app.currency-changes.timeout:30m}") Duration timeout,
+            @Value("${app.currency-changes.batch-size:500}") int batchSize,
+            @Value("${app.currency-changes.subscriber-buffer:1000}") int subscriberBuffer
+    ) {
+        this(currencyChangeRepository, currencyRepository, objectMapper, meterRegistry, pollInterval, heartbeatInterval,
+                timeout, batchSize, subscriberBuffer, Executors.newCachedThreadPool(
+                        Thread.ofPlatform().name("currency-change-sender-", 0).daemon().factory()));
+    }
+
+    /**
+     * @param sender Runs the catch-up and the writes of each subscriber
+     */
+    CurrencyChangeFeed(
+            CurrencyChangeRepository currencyChangeRepository,
+            CurrencyRepository currencyRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            Duration pollInterval,
+            Duration heartbeatInterval,
+            Duration timeout,
+            int batchSize,
+            int subscriberBuffer,
+            Executor sender
+    ) {
+        this.currencyChangeRepository = currencyChangeRepository;
+        this.currencyRepository = currencyRepository;
+        this.objectMapper = objectMapper;
+        this.pollInterval = pollInterval;
+        this.heartbeatInterval = heartbeatInterval;
+        this.timeout = timeout;
+        this.batchSize = batchSize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.sender = sender;
+        this.sent = Counter.builder("currency.changes.sent").register(meterRegistry);
+        this.lagging = Counter.builder("currency.changes.lagging")
+                .description("Subscribers closed for falling behind")
+                .register(meterRegistry);
+        Gauge.builder("currency.changes.subscribers", subscribers, List::size).register(meterRegistry);
+    }
+
+    /**
+     * Starts broadcasting from the last settled change
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        position = currencyChangeRepository.findLast().map(CurrencyChangePosition::of).orElse(CurrencyChangePosition.START);
+        scheduler.scheduleWithFixedDelay(this::requestPoll,
+                pollInterval.toMillis(), pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        scheduler.scheduleWithFixedDelay(this::heartbeat,
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+        if (sender instanceof ExecutorService executor) {
+            executor.shutdownNow();
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Polls as soon as a local write commits rather than at the next interval
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        requestPoll();
+    }
+
+    /**
+     * Opens a stream of changes. The missed changes are replayed by the subscriber's sender thread, which then joins
+     * the stream to the live broadcast.
+     *
+     * @param from The position of the last change the client received, or null to only receive changes from now on
+     * @return The emitter of the stream, starting with a {@code ready} event without a position, or a {@code reset}
+     * event if the changes after the position are no longer kept
+     */
+    public SseEmitter subscribe(CurrencyChangePosition from) {
+        if (position == null) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "The change feed has not started yet");
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(e -> subscriber.close());
+        sender.execute(() -> catchUp(subscriber, from));
+        return emitter;
+    }
+
+    /**
+     * Writes the first event and the changes missed since {@code from} to a new subscriber, then adds it to the
+     * broadcast once it has caught up with the feed. Runs on the subscriber's sender thread, so nothing else writes to
+     * it in the meantime.
+     */
+    private void catchUp(Subscriber subscriber, CurrencyChangePosition from) {
+        try {
+            CurrencyChangePosition current = position;
+            boolean expired = from != null && currencyChangeRepository.findFirst()
+                    .map(first -> CurrencyChangePosition.of(first).isAfter(from))
+                    .orElse(false);
+            subscriber.position = from != null && !expired ? from : current;
+            if (from == null || expired) {
+                String name = expired ? "reset" : "ready";
+                subscriber.write(SseEmitter.event().id(current.toString()).name(name).data("").build());
+            }
+            while (subscriber.open) {
+                synchronized (this) {
+                    current = position;
+                    if (!current.isAfter(subscriber.position)) {
+                        subscribers.add(subscriber);
+                        // A stream closed while joining would otherwise stay in the broadcast
+                        if (!subscriber.open) {
+                            subscribers.remove(subscriber);
+                        }
+                        return;
+                    }
+                }
+                // Replays the missed changes up to the feed's position; later ones are broadcast by the poller
+                CurrencyChangePosition until = current;
+                List<CurrencyChange> changes = currencyChangeRepository.findAllAfter(
+                        subscriber.position.txid(), subscriber.position.id(), batchSize).stream()
+                        .filter(change -> !CurrencyChangePosition.of(change).isAfter(until))
+                        .toList();
+                if (changes.isEmpty()) {
+                    subscriber.position = until;
+                    continue;
+                }
+                List<Set<ResponseBodyEmitter.DataWithMediaType>> events = events(changes);
+                for (int i = 0; i < changes.size() && subscriber.write(events.get(i)); i++) {
+                    subscriber.position = CurrencyChangePosition.of(changes.get(i));
+                    sent.increment();
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Replaying currency changes failed", e);
+            subscriber.emitter.completeWithError(e);
+        }
+    }
+
+    private void requestPoll() {
+        if (pollRequested.compareAndSet(false, true)) {
+            scheduler.execute(this::poll);
+        }
+    }
+
+    /**
+     * Broadcasts the changes settled since the last poll
+     */
+    void poll() {
+        pollRequested.set(false);
+        try {
+            synchronized (this) {
+                List<CurrencyChange> changes;
+                do {
+                    changes = currencyChangeRepository.findAllAfter(position.txid(), position.id(), batchSize);
+                    if (!changes.isEmpty()) {
+                        broadcast(changes);
+                        position = CurrencyChangePosition.of(changes.getLast());
+                    }
+                } while (changes.size() == batchSize);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Polling currency changes failed", e);
+        }
+    }
+
+    /**
+     * Queues the changes each subscriber has not received yet, serializing each change once
+     */
+    private void broadcast(List<CurrencyChange> changes) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> events = events(changes);
+        for (Subscriber subscriber : subscribers) {
+            for (int i = 0; i < changes.size() && subscriber.open; i++) {
+                CurrencyChangePosition at = CurrencyChangePosition.of(changes.get(i));
+                if (at.isAfter(subscriber.position) && subscriber.offer(events.get(i))) {
+                    subscriber.position = at;
+                    sent.increment();
+                }
+            }
+        }
+    }
+
+    private List<Set<ResponseBodyEmitter.DataWithMediaType>> events(List<CurrencyChange> changes) {
+        List<Long> ids = changes.stream()
+                .filter(change -> change.getType() != CurrencyChangedEvent.Type.DELETED)
+                .map(CurrencyChange::getCurrencyId)
+                .distinct()
+                .toList();
+        Map<Long, CurrencyDto> currencies = ids.isEmpty() ? Map.of() : currencyRepository.findAllAsDtoByIdIn(ids).stream()
+                .collect(Collectors.toMap(CurrencyDto::getId, Function.identity()));
+        List<Set<ResponseBodyEmitter.DataWithMediaType>> events = new ArrayList<>(changes.size());
+        for (CurrencyChange change : changes) {
+            CurrencyDto currency = change.getType() == CurrencyChangedEvent.Type.DELETED ? null : currencies.get(change.getCurrencyId());
+            events.add(SseEmitter.event()
+                    .id(CurrencyChangePosition.of(change).toString())
+                    .data(json(new CurrencyChangeMessage(change.getType(), change.getCurrencyId(), change.getVersion(),
+                            change.getLastModifiedDate(), currency)))
+                    .build());
+        }
+        return events;
+    }
+
+    private void heartbeat() {
+        Set<ResponseBodyEmitter.DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        subscribers.forEach(subscriber -> subscriber.offer(heartbeat));
+    }
+
+    private String json(CurrencyChangeMessage message) {
+        try {
+            return objectMapper.writeValueAsString(message);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * A stream, the position of the last change queued on it, and the events queued for its sender thread.
+     * A stream whose connection fails or whose queue overflows is closed and dropped; its client resumes from its last
+     * event when it reconnects.
+     */
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<ResponseBodyEmitter.DataWithMediaType>> queue =
+                new ArrayBlockingQueue<>(subscriberBuffer);
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile CurrencyChangePosition position;
+        private volatile boolean open = true;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * Queues an event for the sender thread, closing the stream if it has fallen too far behind
+         *
+         * @return Whether the event was queued
+         */
+        private boolean offer(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            if (!open) {
+                return false;
+            }
+            boolean queued = queue.offer(event);
+            if (!queued) {
+                lagging.increment();
+                close();
+            }
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+            return queued;
+        }
+
+        /**
+         * Writes the queued events, and completes the stream once it has been closed
+         */
+        private void drain() {
+            do {
+                Set<ResponseBodyEmitter.DataWithMediaType> event;
+                while (open && (event = queue.poll()) != null) {
+                    write(event);
+                }
+                if (!open) {
+                    queue.clear();
+                    emitter.complete();
+                    return;
+                }
+                draining.set(false);
+            } while (!queue.isEmpty() && draining.compareAndSet(false, true));
+        }
+
+        /**
+         * Writes an event on the calling thread, which must be the subscriber's sender thread
+         *
+         * @return Whether the event was written
+         */
+        private boolean write(Set<ResponseBodyEmitter.DataWithMediaType> event) {
+            try {
+                emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                close();
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+
+        private void close() {
+            open = false;
+            subscribers.remove(this);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import java.time.Instant;
+
+/**
+ * A committed change of a currency as sent to subscribers of {@link CurrencyChangeFeed}.
+ * A replica applies it when {@code version} is newer than the version it holds, and removes the currency on
+ * {@code DELETED}.
+ *
+ * @param type             The kind of change
+ * @param id               The ID of the currency
+ * @param version          The version of the currency after the change
+ * @param lastModifiedDate The modification date of the currency after the change
+ * @param currency         The current state of the currency, which may be newer than the change; null once it has
+ *                         been deleted
+ */
+public record CurrencyChangeMessage(
+        CurrencyChangedEvent.Type type,
+        Long id,
+        Integer version,
+        Instant lastModifiedDate,
+        CurrencyDto currency
+) {
+}
@@ -0,0 +1,51 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+/**
+ * Position in the {@link CurrencyChange} outbox, written as {@code <txid>-<id>}; used as the ID of server-sent events
+ * so that a client can resume from the last change it received
+ *
+ * @param txid The transaction ID of the last change consumed
+ * @param id   The ID of the last change consumed
+ */
+public record CurrencyChangePosition(long txid, long id) {
+    public static final CurrencyChangePosition START = new CurrencyChangePosition(0, 0);
+
+    /**
+     * @param change A change
+     * @return The position just after the change
+     */
+    public static CurrencyChangePosition of(CurrencyChange change) {
+        return new CurrencyChangePosition(change.getTxid(), change.getId());
+    }
+
+    /**
+     * @param value A position as written by {@link #toString()}
+     * @return The position
+     * @throws IllegalArgumentException If the value is not a position
+     */
+    public static CurrencyChangePosition parse(String value) {
+        int separator = value.indexOf('-');
+        try {
+            if (separator > 0) {
+                return new CurrencyChangePosition(Long.parseLong(value.substring(0, separator).trim()),
+                        Long.parseLong(value.substring(separator + 1).trim()));
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("Invalid change position: " + value);
+    }
+
+    /**
+     * @param other Another position
+     * @return Whether this position is strictly after the other one
+     */
+    public boolean isAfter(CurrencyChangePosition other) {
+        return txid != other.txid ? txid > other.txid : id > other.id;
+    }
+
+    @Override
+    public String toString() {
+        return txid + "-" + id;
+    }
+}
@@ -0,0 +1,39 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Writes a {@link CurrencyChange} to the outbox for every {@link CurrencyChangedEvent}, just before the transaction
+ * that published it commits, so the entry is committed if and only if the write is.
+ * <p>
+ * Events published outside a transaction are not recorded here: {@link ReactiveCurrencyRepository} records its
+ * changes in the same statement as the write.
+ */
+@Component
+public class CurrencyChangeRecorder {
+    private final CurrencyChangeRepository currencyChangeRepository;
+    private final EntityManager entityManager;
+
+    public CurrencyChangeRecorder(CurrencyChangeRepository currencyChangeRepository, EntityManager entityManager) {
+        this.currencyChangeRepository = currencyChangeRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Records a change. A currency still managed by the persistence context is flushed first, so that the recorded
+     * version and modification date are the ones being committed; detached currencies, such as those of
+     * {@link CurrencyImporter}, were flushed before their events were published.
+     *
+     * @param event The change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        if (event.type() != CurrencyChangedEvent.Type.DELETED && entityManager.contains(event.currency())) {
+            entityManager.flush();
+        }
+        currencyChangeRepository.save(CurrencyChange.of(event.type(), event.currency()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface CurrencyChangeRepository extends JpaRepository<CurrencyChange, Long> {
+    /**
+     * Excludes entries of transactions that may still be in progress, and therefore every entry that could still
+     * commit behind them
+     */
+    String SETTLED = "txid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint";
+
+    /**
+     * Reads the settled changes after a position, in order
+     *
+     * @param txid  The transaction ID of the position
+     * @param id    The change ID of the position
+     * @param limit The maximum number of changes to read
+     * @return The changes
+     */
+    @Query(nativeQuery = true, value = "select * from currency_changes where (txid, id) > (:txid, :id) and " + SETTLED
+            + " order by txid, id limit :limit")
+    List<CurrencyChange> findAllAfter(long txid, long id, int limit);
+
+    /**
+     * @return The last settled change, if any
+     */
+    @Query(nativeQuery = true, value = "select * from currency_changes where " + SETTLED
+            + " order by txid desc, id desc limit 1")
+    Optional<CurrencyChange> findLast();
+
+    /**
+     * @return The first settled change, if any; the changes before it were deleted by the {@link CurrencyChangeRetention}
+     */
+    @Query(nativeQuery = true, value = "select * from currency_changes where " + SETTLED
+            + " order by txid, id limit 1")
+    Optional<CurrencyChange> findFirst();
+
+    /**
+     * Deletes the settled changes recorded before a date, except the last of them, which is kept as the first change so
+     * that a reader positioned on it is known to have missed nothing
+     *
+     * @param before The date before which changes are deleted
+     * @return The number of changes deleted
+     */
+    @Modifying
+    @Transactional
+    @Query(nativeQuery = true, value = "delete from currency_changes where (txid, id) < (select txid, id from currency_changes"
+            + " where recorded_date < :before and " + SETTLED + " order by txid desc, id desc limit 1)")
+    int deleteAllRecordedBefore(Instant before);
+}
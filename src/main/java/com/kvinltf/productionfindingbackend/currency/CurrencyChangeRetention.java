@@ -0,0 +1,92 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes the {@link CurrencyChange} outbox entries recorded longer than {@code app.currency-changes.retention} ago,
+ * every {@code app.currency-changes.prune-interval}.
+ * <p>
+ * The retention is the replay horizon: a client resuming the {@link CurrencyChangeFeed} or the
+ * {@link CurrencyDeltaSync} from a position older than the first change kept may have missed deleted changes, so it is
+ * told to load all currencies again instead. The last expired change is kept to mark the horizon, so that a client
+ * positioned exactly on it is not reset. Every instance prunes; deleting the same changes twice is harmless.
+ */
+@Slf4j
+@Component
+public class CurrencyChangeRetention {
+    private final CurrencyChangeRepository currencyChangeRepository;
+    private final Duration retention;
+    private final Duration pruneInterval;
+    private final Clock clock;
+    private final Counter pruned;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("currency-change-retention").daemon().factory());
+
+    @Autowired
+    public CurrencyChangeRetention(
+            CurrencyChangeRepository currencyChangeRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.currency-changes.retention:7d}") Duration retention,
+            @Value("${app.currency-changes.prune-interval:1h}") Duration pruneInterval
+    ) {
+        this(currencyChangeRepository, meterRegistry, retention, pruneInterval, Clock.systemUTC());
+    }
+
+    CurrencyChangeRetention(
+            CurrencyChangeRepository currencyChangeRepository,
+            MeterRegistry meterRegistry,
+            Duration retention,
+            Duration pruneInterval,
+            Clock clock
+    ) {
+        this.currencyChangeRepository = currencyChangeRepository;
+        this.retention = retention;
+        this.pruneInterval = pruneInterval;
+        this.clock = clock;
+        this.pruned = Counter.builder("currency.changes.pruned").register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::prune,
+                pruneInterval.toMillis(), pruneInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Deletes the changes older than the retention
+     *
+     * @return The number of changes deleted
+     */
+    public int prune() {
+        try {
+            int count = currencyChangeRepository.deleteAllRecordedBefore(clock.instant().minus(retention));
+            pruned.increment(count);
+            if (count > 0) {
+                log.info("Deleted {} currency changes older than {}", count, retention);
+            }
+            return count;
+        } catch (RuntimeException e) {
+            log.warn("Pruning currency changes failed", e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+/**
+ * Application event published by {@link CurrencyController} whenever a {@link Currency} is written.
+ * Listeners interested only in committed data should use
+ * {@link org.springframework.transaction.event.TransactionalEventListener}; by the time such a listener
+ * runs, the carried entity reflects the flushed state (including the incremented version).
+ *
+ * @param type     The kind of change
+ * @param currency The written currency
+ */
+public record CurrencyChangedEvent(Type type, Currency currency) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -1,24 +1,77 @@
 package com.kvinltf.productionfindingbackend.currency;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kvinltf.productionfindingbackend.core.CursorPage;
+import com.kvinltf.productionfindingbackend.core.ETags;
+import com.kvinltf.productionfindingbackend.core.KeysetCursor;
+import com.kvinltf.productionfindingbackend.core.jdbc.ReadYourWrites;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.data.web.PagedModel;
+import org.springframework.data.web.SortDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.Optional;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
- * REST controller for managing currencies
+ * REST controller for managing currencies on the servlet stack; {@link ReactiveCurrencyController} replaces it on the
+ * reactive stack
  */
 @RestController
 @RequestMapping("/currencies")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @AllArgsConstructor
 public class CurrencyController {
+    /**
+     * Attributes that cursor pagination can sort on; each is backed by an index together with the ID
+     */
+    private static final Map<String, Class<?>> KEYSET_ATTRIBUTES = Map.of(
+            "id", Long.class,
+            "code", String.class,
+            "name", String.class
+    );
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+    private static final int MAX_BATCH_KEYS = 1000;
+
     private final CurrencyRepository currencyRepository;
+    private final CurrencyCache currencyCache;
+    private final CurrencyImporter currencyImporter;
+    private final CurrencyExporter currencyExporter;
+    private final CurrencySuggester currencySuggester;
+    private final CurrencyChangeFeed currencyChangeFeed;
+    private final CurrencyDeltaSync currencyDeltaSync;
+    private final CurrencyPatcher currencyPatcher;
+    private final CurrencyPageCache currencyPageCache;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
 
     /**
      * Creates a new currency
@@ -27,56 +80,302 @@ public class CurrencyController {
      * @return The created currency
      */
     @PostMapping
+    @Transactional
     public Currency createCurrency(@Valid @RequestBody CurrencyCreateRequest request) {
         Currency currency = new Currency();
         currency.setName(request.name());
         currency.setCode(request.code());
         currency.setSymbol(request.symbol());
         currency.setDecimalPlaces(request.decimalPlaces());
-        return currencyRepository.save(currency);
+        Currency saved = currencyRepository.save(currency);
+        eventPublisher.publishEvent(new CurrencyChangedEvent(CurrencyChangedEvent.Type.CREATED, saved));
+        return saved;
     }
 
     /**
-     * Retrieves all currencies with pagination
-     * 
+     * Creates or updates currencies in bulk, matching existing currencies by code.
+     * All rows are imported in a single transaction; invalid rows are reported and skipped.
+     *
+     * @param requests The currencies to import
+     * @return The result of each row, in request order
+     */
+    @PostMapping(value = "/_bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CurrencyImportResponse importCurrencies(@RequestBody List<CurrencyCreateRequest> requests) {
+        return CurrencyImportResponse.of(currencyImporter.importAll(requests.iterator()));
+    }
+
+    /**
+     * Creates or updates currencies in bulk from a newline-delimited JSON body, one currency per line.
+     * Rows are read from the request as they are imported rather than being buffered up front.
+     *
+     * @param body The request body
+     * @return The result of each row, in request order
+     */
+    @PostMapping(value = "/_bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public CurrencyImportResponse importCurrencies(InputStream body) throws IOException {
+        return CurrencyImportResponse.of(currencyImporter.importAll(
+                objectMapper.readerFor(CurrencyCreateRequest.class).readValues(body)));
+    }
+
+    /**
+     * Retrieves all currencies with pagination.
+     * Currencies are read as {@link CurrencyDto} projections in a read-only transaction, so no entities are
+     * hydrated or tracked for dirty checking. The query fills the query cache, so it is read from the primary.
+     * The page carries a weak ETag; a matching {@code If-None-Match} is answered with 304 without a body.
+     * When the client takes JSON, the page is written straight from the {@link CurrencyPageCache}, gzipped if the
+     * client accepts it, and nothing is returned; only a page missing from the cache opens a transaction.
+     *
      * @param pageable Pagination information
-     * @return A page of currencies
+     * @param accept The media types the client accepts
+     * @return A page of currencies, or {@code null} once it has been written to the response
      */
     @GetMapping
-    public PagedModel<Currency> getAllCurrencies(
+    public ResponseEntity<PagedModel<CurrencyDto>> getAllCurrencies(
             @PageableDefault(size = 20, direction = Sort.Direction.DESC)
-            Pageable pageable
+            Pageable pageable,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.ALL_VALUE) String accept,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        if (currencyPageCache.enabled() && prefersJson(accept)) {
+            currencyPageCache.page(pageable).writeTo(request, response);
+            return null;
+        }
+        Page<CurrencyDto> all = ReadYourWrites.fromPrimary(() -> currencyRepository.findAllAsDto(pageable));
+        return ResponseEntity.ok()
+                .eTag(ETags.weak(all.getTotalElements(), all.getContent()))
+                .body(new PagedModel<>(all));
+    }
+
+    /**
+     * Retrieves currencies using keyset pagination.
+     * Each slice seeks past the last row of the previous one on an indexed (sort key, ID) tuple,
+     * so it costs the same however deep it is and no count query is run.
+     *
+     * @param after The cursor returned as {@code next} by the previous slice, or empty for the first slice
+     * @param size The maximum number of currencies to return
+     * @param sort The sort of the first slice, on one of id, code or name; later slices keep the sort of their cursor
+     * @return A slice of currencies and the cursor of the next slice, with a weak ETag
+     */
+    @GetMapping(params = "after")
+    @Transactional(readOnly = true)
+    public ResponseEntity<CursorPage<CurrencyDto>> getCurrenciesAfter(
+            @RequestParam String after,
+            @RequestParam(defaultValue = "20") int size,
+            @SortDefault(sort = "id", direction = Sort.Direction.DESC)
+            Sort sort
     ) {
-        Page<Currency> all = currencyRepository.findAll(pageable);
-        return new PagedModel<>(all);
+        KeysetCursor cursor = KeysetCursor.resolve(after, sort, KEYSET_ATTRIBUTES, objectMapper);
+        int limit = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        Window<CurrencyDto> window = currencyRepository.findAllAsDto(cursor.position(), cursor.sort(), limit);
+        String next = window.hasNext() ? cursor.encode(window.positionAt(window.size() - 1), objectMapper) : null;
+        return ResponseEntity.ok()
+                .eTag(ETags.weak(window.size(), window.getContent()))
+                .body(new CursorPage<>(window.getContent(), window.size(), next));
     }
 
     /**
-     * Retrieves a currency by its ID
+     * Exports all currencies in ID order as newline-delimited JSON, or as CSV when the client prefers {@code text/csv}.
+     * Rows are streamed from a database cursor to the response as they are read, so neither side holds the whole
+     * table; the response is gzip-compressed when the client accepts it.
+     *
+     * @param accept The media types the client accepts
+     * @param response The response to write the rows to
+     */
+    @GetMapping(value = "/export", produces = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
+    public void exportCurrencies(
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.ALL_VALUE) String accept,
+            HttpServletResponse response
+    ) throws IOException {
+        CurrencyExporter.Format format = exportFormat(accept);
+        response.setContentType(format.getMediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("currencies." + format.name().toLowerCase())
+                .build()
+                .toString());
+        currencyExporter.exportAll(format, response.getOutputStream());
+    }
+
+    /**
+     * Streams committed changes of currencies as server-sent events, each carrying the change and the current state
+     * of the currency, so that a client can keep a local replica up to date instead of polling.
+     * A client that reconnects with the ID of the last event it received first gets the changes it missed, or a
+     * {@code reset} event if that is further back than {@code app.currency-changes.retention}.
+     *
+     * @param lastEventId The ID of the last event received, sent by the client when it reconnects
+     * @return The stream of changes
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        CurrencyChangePosition from;
+        try {
+            from = lastEventId != null ? CurrencyChangePosition.parse(lastEventId) : null;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return currencyChangeFeed.subscribe(from);
+    }
+
+    /**
+     * Retrieves the currencies changed since a watermark, for a client that keeps a copy of the table and polls for
+     * changes. Only rows created, updated or deleted after the watermark are returned, found through the outbox of
+     * changes from the watermark's position on. A watermark further back than {@code app.currency-changes.retention}
+     * gets all currencies, marked as a reset.
+     *
+     * @param since The watermark returned by the previous call, or empty to retrieve all currencies
+     * @return The changed currencies, the IDs of the deleted ones, and the watermark for the next call
+     */
+    @GetMapping("/changes")
+    public CurrencyDelta getChanges(@RequestParam(required = false) String since) {
+        CurrencyChangePosition position;
+        try {
+            position = since != null && !since.isBlank() ? CurrencyChangePosition.parse(since) : null;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        return currencyDeltaSync.changesSince(position);
+    }
+
+    /**
+     * Suggests currencies whose code, symbol, name or a word of the name starts with a prefix.
+     * Served from memory by the {@link CurrencySuggester}; the database is not queried.
+     *
+     * @param prefix What the user has typed so far
+     * @param limit The most suggestions to return
+     * @return The best matching currencies, best first
+     */
+    @GetMapping("/suggest")
+    public List<CurrencyDto> suggestCurrencies(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return currencySuggester.suggest(prefix, Math.max(1, limit));
+    }
+
+    /**
+     * Resolves many currencies by ID and code in one request, replacing one {@code GET /currencies/{id}} per key.
+     * Keys are de-duplicated and served from the {@link CurrencyCache}; before it has loaded, all IDs and all codes
+     * are each resolved with a single query.
+     *
+     * @param request The IDs and codes to resolve, at most {@value #MAX_BATCH_KEYS} in total
+     * @return The currencies found in request order, and the keys that were not found
+     */
+    @PostMapping("/_batch")
+    public CurrencyBatchResponse getCurrencies(@RequestBody CurrencyBatchRequest request) {
+        Set<Long> ids = new LinkedHashSet<>(request.ids());
+        Set<String> codes = new LinkedHashSet<>(request.codes());
+        ids.remove(null);
+        codes.remove(null);
+        if (ids.size() + codes.size() > MAX_BATCH_KEYS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_KEYS + " keys per batch");
+        }
+        Map<Long, CurrencyDto> byId = ids.isEmpty() ? Map.of() : currencyCache.findAllById(ids);
+        Map<String, CurrencyDto> byCode = codes.isEmpty() ? Map.of() : currencyCache.findAllByCode(codes);
+
+        Set<CurrencyDto> currencies = new LinkedHashSet<>();
+        List<Long> missingIds = new ArrayList<>();
+        List<String> missingCodes = new ArrayList<>();
+        for (Long id : ids) {
+            CurrencyDto currency = byId.get(id);
+            if (currency != null) {
+                currencies.add(currency);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        for (String code : codes) {
+            CurrencyDto currency = byCode.get(code);
+            if (currency != null) {
+                currencies.add(currency);
+            } else {
+                missingCodes.add(code);
+            }
+        }
+        return new CurrencyBatchResponse(List.copyOf(currencies), missingIds, missingCodes);
+    }
+
+    /**
+     * Retrieves a currency by its ID from the {@link CurrencyCache}.
+     * The currency carries a strong ETag built from its ID and version; a matching {@code If-None-Match}
+     * is answered with 304 without serializing the currency.
      * 
      * @param id The ID of the currency
-     * @return The currency, if found
+     * @return The currency, or 404 if not found
      */
     @GetMapping("/{id}")
-    public Optional<Currency> getCurrencyById(@PathVariable Long id) {
-        return currencyRepository.findById(id);
+    public ResponseEntity<CurrencyDto> getCurrencyById(@PathVariable Long id) {
+        return currencyCache.findById(id)
+                .map(currency -> ResponseEntity.ok().eTag(ETags.strong(currency)).body(currency))
+                .orElseGet(() -> ResponseEntity.notFound().build());
     }
 
     /**
-     * Updates an existing currency
+     * Updates an existing currency.
+     * When an {@code If-Match} header is given, its ETag is checked against the stored version before the
+     * currency is loaded, and a stale write is rejected with 412. A write that loses a race with a concurrent one is
+     * rejected with 412 as well, or with 409 when no {@code If-Match} header was given.
      * 
      * @param id The ID of the currency to update
+     * @param ifMatch The ETag the client last saw, if any
      * @param request The request containing the updated currency details
-     * @return The updated currency
+     * @return The updated currency with its new ETag, or 404 if not found
      */
     @PutMapping("/{id}")
-    public Currency updateCurrency(@PathVariable Long id, @Valid @RequestBody CurrencyUpdateRequest request) {
-        Currency currency = currencyRepository.findById(id).orElseThrow();
+    @Transactional
+    public ResponseEntity<Currency> updateCurrency(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody CurrencyUpdateRequest request
+    ) {
+        if (ifMatch != null) {
+            Integer version = currencyRepository.findVersionById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            checkPrecondition(ifMatch, id, version);
+        }
+        Currency currency = currencyRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        if (ifMatch != null) {
+            checkPrecondition(ifMatch, id, currency.getVersion());
+        }
         currency.setName(request.name());
         currency.setCode(request.code());
         currency.setSymbol(request.symbol());
         currency.setDecimalPlaces(request.decimalPlaces());
-        return currencyRepository.save(currency);
+        Currency saved;
+        try {
+            saved = currencyRepository.saveAndFlush(currency);
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw new ResponseStatusException(ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT, null, e);
+        }
+        eventPublisher.publishEvent(new CurrencyChangedEvent(CurrencyChangedEvent.Type.UPDATED, saved));
+        return ResponseEntity.ok().eTag(ETags.strong(saved)).body(saved);
+    }
+
+    /**
+     * Updates only the fields of a currency given in a JSON Merge Patch (RFC 7386), with a single conditional update
+     * that does not load the currency (see {@link CurrencyPatcher}); a field set to null is cleared.
+     * The update only applies to the versions named by the {@code If-Match} header, rejecting others with 412, and to
+     * the {@code version} given in the patch, rejecting others with 409; with neither, it applies to any version.
+     *
+     * @param id The ID of the currency to update
+     * @param ifMatch The ETags the client accepts, if any
+     * @param body The merge patch
+     * @return The updated currency with its new ETag, or 404 if not found
+     */
+    @PatchMapping(value = "/{id}", consumes = "application/merge-patch+json")
+    public ResponseEntity<Currency> patchCurrency(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody JsonNode body
+    ) {
+        CurrencyPatch patch;
+        try {
+            patch = CurrencyPatch.parse(body, validator);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Currency patched = currencyPatcher.patch(id, ifMatch, patch);
+        return ResponseEntity.ok().eTag(ETags.strong(patched)).body(patched);
     }
 
     /**
@@ -85,7 +384,44 @@ public class CurrencyController {
      * @param id The ID of the currency to delete
      */
     @DeleteMapping("/{id}")
+    @Transactional
     public void deleteCurrency(@PathVariable Long id) {
-        currencyRepository.deleteById(id);
+        currencyRepository.findById(id).ifPresent(currency -> {
+            currencyRepository.delete(currency);
+            eventPublisher.publishEvent(new CurrencyChangedEvent(CurrencyChangedEvent.Type.DELETED, currency));
+        });
+    }
+
+    private static CurrencyExporter.Format exportFormat(String accept) {
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            for (CurrencyExporter.Format format : CurrencyExporter.Format.values()) {
+                if (mediaType.isCompatibleWith(format.getMediaType())) {
+                    return format;
+                }
+            }
+        }
+        return CurrencyExporter.Format.NDJSON;
+    }
+
+    /**
+     * @return Whether the media type the client prefers is JSON, which is what Jackson would answer
+     */
+    private static boolean prefersJson(String accept) {
+        List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+        MimeTypeUtils.sortBySpecificity(mediaTypes);
+        for (MediaType mediaType : mediaTypes) {
+            if (mediaType.getQualityValue() > 0) {
+                return mediaType.isCompatibleWith(MediaType.APPLICATION_JSON);
+            }
+        }
+        return false;
+    }
+
+    private static void checkPrecondition(String ifMatch, Long id, Integer version) {
+        if (!ETags.matches(ifMatch, ETags.strong(id, version))) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+        }
     }
 }
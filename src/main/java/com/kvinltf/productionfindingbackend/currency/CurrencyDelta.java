@@ -0,0 +1,22 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import java.util.List;
+
+/**
+ * The currencies changed since a watermark
+ *
+ * @param currencies The currencies created or updated since the watermark, in the order of their last change
+ * @param deletedIds The IDs of the currencies deleted since the watermark, in the order of their deletion
+ * @param watermark  The watermark to send as {@code since} in the next request, a {@link CurrencyChangePosition}
+ * @param more       Whether more changes follow the watermark already, so that the next request should be made at once
+ * @param reset      Whether the changes since the watermark are no longer kept, so that the currencies are all of them
+ *                   and replace the client's copy
+ */
+public record CurrencyDelta(
+        List<CurrencyDto> currencies,
+        List<Long> deletedIds,
+        String watermark,
+        boolean more,
+        boolean reset
+) {
+}
@@ -0,0 +1,91 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes what changed in the currency table since a client last synchronized, so that a client holding a copy of
+ * the table can fetch only the changed rows instead of the whole table.
+ * <p>
+ * Changes are found in the {@link CurrencyChange} outbox, and the watermark is the {@link CurrencyChangePosition} of
+ * the last change read. Only settled changes are read, those of transactions older than every transaction still in
+ * progress, so no change can later appear behind a watermark however long its transaction took to commit. The rows
+ * sent are read after the changes and may be newer than the watermark; the later changes then send them again.
+ * A watermark older than the first change kept by the {@link CurrencyChangeRetention} gets a full synchronization
+ * marked as a reset.
+ */
+@Component
+public class CurrencyDeltaSync {
+    private final CurrencyRepository currencyRepository;
+    private final CurrencyChangeRepository currencyChangeRepository;
+    private final int limit;
+
+    public CurrencyDeltaSync(
+            CurrencyRepository currencyRepository,
+            CurrencyChangeRepository currencyChangeRepository,
+            @Value("${app.currency-changes.sync-limit:10000}") int limit
+    ) {
+        this.currencyRepository = currencyRepository;
+        this.currencyChangeRepository = currencyChangeRepository;
+        this.limit = limit;
+    }
+
+    /**
+     * Reads the changes since a watermark, in one read-only transaction.
+     * A full synchronization reads the watermark before the currencies, so that a change it misses is after it.
+     *
+     * @param since The watermark returned by the previous synchronization, or null for a full synchronization
+     * @return The currencies created or updated and the IDs of those deleted after the watermark, each once and in the
+     * order of its last change, with the next watermark; without a watermark, or with one past the replay horizon, all
+     * currencies and no deletions
+     */
+    @Transactional(readOnly = true)
+    public CurrencyDelta changesSince(CurrencyChangePosition since) {
+        boolean expired = since != null && currencyChangeRepository.findFirst()
+                .map(first -> CurrencyChangePosition.of(first).isAfter(since))
+                .orElse(false);
+        if (since == null || expired) {
+            CurrencyChangePosition watermark = currencyChangeRepository.findLast()
+                    .map(CurrencyChangePosition::of)
+                    .orElse(CurrencyChangePosition.START);
+            return new CurrencyDelta(currencyRepository.findAllAsDto(), List.of(), watermark.toString(), false, expired);
+        }
+        List<CurrencyChange> changes = currencyChangeRepository.findAllAfter(since.txid(), since.id(), limit);
+        if (changes.isEmpty()) {
+            return new CurrencyDelta(List.of(), List.of(), since.toString(), false, false);
+        }
+        Map<Long, CurrencyChange> lastChanges = new LinkedHashMap<>();
+        for (CurrencyChange change : changes) {
+            lastChanges.remove(change.getCurrencyId());
+            lastChanges.put(change.getCurrencyId(), change);
+        }
+        List<Long> writtenIds = lastChanges.values().stream()
+                .filter(change -> change.getType() != CurrencyChangedEvent.Type.DELETED)
+                .map(CurrencyChange::getCurrencyId)
+                .toList();
+        Map<Long, CurrencyDto> written = new HashMap<>();
+        if (!writtenIds.isEmpty()) {
+            currencyRepository.findAllAsDtoByIdIn(writtenIds).forEach(currency -> written.put(currency.getId(), currency));
+        }
+        List<CurrencyDto> currencies = new ArrayList<>();
+        List<Long> deletedIds = new ArrayList<>();
+        for (Long id : lastChanges.keySet()) {
+            CurrencyDto currency = written.get(id);
+            if (currency != null) {
+                currencies.add(currency);
+            } else {
+                // deleted, possibly by a change not settled yet
+                deletedIds.add(id);
+            }
+        }
+        return new CurrencyDelta(currencies, deletedIds, CurrencyChangePosition.of(changes.getLast()).toString(),
+                changes.size() == limit, false);
+    }
+}
@@ -1,6 +1,7 @@
 package com.kvinltf.productionfindingbackend.currency;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.kvinltf.productionfindingbackend.core.Versioned;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,7 +19,7 @@ import java.time.Instant;
 @NoArgsConstructor
 @Accessors(chain = true)
 @JsonIgnoreProperties(ignoreUnknown = true)
-public class CurrencyDto implements Serializable {
+public class CurrencyDto implements Serializable, Versioned {
     private Long id;
     private Integer version;
     private Instant createdDate;
@@ -29,4 +30,25 @@ public class CurrencyDto implements Serializable {
     private String code;
     private String symbol;
     private Integer decimalPlaces;
+
+    /**
+     * Copies the current state of a {@link Currency} entity
+     *
+     * @param currency The entity to copy
+     * @return A detached copy of the entity's fields
+     */
+    public static CurrencyDto from(Currency currency) {
+        return new CurrencyDto(
+                currency.getId(),
+                currency.getVersion(),
+                currency.getCreatedDate(),
+                currency.getLastModifiedDate(),
+                currency.getCreatedBy(),
+                currency.getLastModifiedBy(),
+                currency.getName(),
+                currency.getCode(),
+                currency.getSymbol(),
+                currency.getDecimalPlaces()
+        );
+    }
 }
@@ -0,0 +1,111 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Writes the whole currency table to an output stream, one row at a time as it is read from the database cursor.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrencyExporter {
+    private static final String CSV_HEADER =
+            "id,version,code,name,symbol,decimalPlaces,createdDate,lastModifiedDate,createdBy,lastModifiedBy";
+
+    private final CurrencyRepository currencyRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * The formats currencies can be exported in
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Format {
+        NDJSON(MediaType.APPLICATION_NDJSON),
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8));
+
+        private final MediaType mediaType;
+    }
+
+    /**
+     * Exports all currencies in ID order.
+     * The read-only transaction, and with it the database connection, is held until the last row is written.
+     *
+     * @param format The format to write
+     * @param out The stream to write to; it is flushed but not closed
+     * @return The number of currencies written
+     */
+    @Transactional(readOnly = true)
+    public long exportAll(Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long count = 0;
+        try (Stream<CurrencyDto> currencies = currencyRepository.streamAllAsDto()) {
+            Iterator<CurrencyDto> iterator = currencies.iterator();
+            if (format == Format.CSV) {
+                writer.write(CSV_HEADER);
+                writer.write('\n');
+                while (iterator.hasNext()) {
+                    writeCsv(writer, iterator.next());
+                    writer.write('\n');
+                    count++;
+                }
+                writer.flush();
+            } else {
+                ObjectWriter json = objectMapper.writerFor(CurrencyDto.class)
+                        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+                try (JsonGenerator generator = objectMapper.createGenerator(writer)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                        .setRootValueSeparator(null)) {
+                    while (iterator.hasNext()) {
+                        json.writeValue(generator, iterator.next());
+                        generator.writeRaw('\n');
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    private static void writeCsv(Writer writer, CurrencyDto currency) throws IOException {
+        Object[] values = {
+                currency.getId(), currency.getVersion(), currency.getCode(), currency.getName(), currency.getSymbol(),
+                currency.getDecimalPlaces(), currency.getCreatedDate(), currency.getLastModifiedDate(),
+                currency.getCreatedBy(), currency.getLastModifiedBy()
+        };
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+    }
+
+    /**
+     * Quotes a field as RFC 4180 requires when it contains a separator, quote or line break
+     */
+    static String csvField(Object value) {
+        String field = Objects.toString(value, "");
+        if (field.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+            return field;
+        }
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+}
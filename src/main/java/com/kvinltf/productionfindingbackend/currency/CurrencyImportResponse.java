@@ -0,0 +1,21 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import java.util.List;
+
+/**
+ * Response of a bulk currency import, with a summary and the per-row results in request order
+ */
+public record CurrencyImportResponse(int created, int updated, int unchanged, int invalid, List<CurrencyImportResult> results) {
+
+    static CurrencyImportResponse of(List<CurrencyImportResult> results) {
+        int[] counts = new int[CurrencyImportResult.Status.values().length];
+        results.forEach(result -> counts[result.status().ordinal()]++);
+        return new CurrencyImportResponse(
+                counts[CurrencyImportResult.Status.CREATED.ordinal()],
+                counts[CurrencyImportResult.Status.UPDATED.ordinal()],
+                counts[CurrencyImportResult.Status.UNCHANGED.ordinal()],
+                counts[CurrencyImportResult.Status.INVALID.ordinal()],
+                results
+        );
+    }
+}
@@ -0,0 +1,22 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import java.util.List;
+
+/**
+ * Outcome of importing a single row of a bulk currency import
+ *
+ * @param index  The position of the row in the request, starting at 0
+ * @param code   The currency code of the row
+ * @param status What happened to the row
+ * @param id     The ID of the created or updated currency, {@code null} for invalid rows
+ * @param errors Validation messages for invalid rows
+ */
+public record CurrencyImportResult(int index, String code, Status status, Long id, List<String> errors) {
+
+    public enum Status {
+        CREATED,
+        UPDATED,
+        UNCHANGED,
+        INVALID
+    }
+}
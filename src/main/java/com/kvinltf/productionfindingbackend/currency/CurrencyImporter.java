@@ -0,0 +1,136 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Upserts currencies by code in bulk.
+ * <p>
+ * Rows are processed in chunks within a single transaction: each chunk resolves the existing currencies with one
+ * query, persists new ones (ids come from a pooled sequence, so the inserts are batched by Hibernate), flushes and
+ * then clears the persistence context to keep memory use independent of the import size.
+ */
+@Component
+public class CurrencyImporter {
+    private final CurrencyRepository currencyRepository;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public CurrencyImporter(
+            CurrencyRepository currencyRepository,
+            EntityManager entityManager,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.currency-import.chunk-size:500}") int chunkSize
+    ) {
+        this.currencyRepository = currencyRepository;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates or updates a currency for each request, matching existing currencies by code.
+     * When the same code appears more than once, the later row updates the currency written by the earlier one.
+     *
+     * @param requests The rows to import
+     * @return The result of each row, in request order
+     */
+    @Transactional
+    public List<CurrencyImportResult> importAll(Iterator<CurrencyCreateRequest> requests) {
+        List<CurrencyImportResult> results = new ArrayList<>();
+        List<CurrencyCreateRequest> chunk = new ArrayList<>(chunkSize);
+        while (requests.hasNext()) {
+            chunk.add(requests.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, results);
+        }
+        return results;
+    }
+
+    private void importChunk(List<CurrencyCreateRequest> chunk, List<CurrencyImportResult> results) {
+        int offset = results.size();
+        List<List<String>> errors = chunk.stream().map(this::validate).toList();
+
+        Set<String> codes = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (errors.get(i).isEmpty()) {
+                codes.add(chunk.get(i).code());
+            }
+        }
+        Map<String, Currency> currencies = currencyRepository.findAllByCodeIn(codes).stream()
+                .collect(Collectors.toMap(Currency::getCode, Function.identity()));
+
+        List<CurrencyChangedEvent> events = new ArrayList<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            CurrencyCreateRequest request = chunk.get(i);
+            if (!errors.get(i).isEmpty()) {
+                results.add(new CurrencyImportResult(offset + i, request.code(), CurrencyImportResult.Status.INVALID, null, errors.get(i)));
+                continue;
+            }
+            Currency currency = currencies.get(request.code());
+            CurrencyImportResult.Status status;
+            if (currency == null) {
+                currency = new Currency();
+                apply(currency, request);
+                entityManager.persist(currency);
+                currencies.put(currency.getCode(), currency);
+                status = CurrencyImportResult.Status.CREATED;
+            } else if (matches(currency, request)) {
+                status = CurrencyImportResult.Status.UNCHANGED;
+            } else {
+                apply(currency, request);
+                status = CurrencyImportResult.Status.UPDATED;
+            }
+            results.add(new CurrencyImportResult(offset + i, request.code(), status, currency.getId(), List.of()));
+            if (status != CurrencyImportResult.Status.UNCHANGED) {
+                events.add(new CurrencyChangedEvent(status == CurrencyImportResult.Status.CREATED
+                        ? CurrencyChangedEvent.Type.CREATED
+                        : CurrencyChangedEvent.Type.UPDATED, currency));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        events.forEach(eventPublisher::publishEvent);
+    }
+
+    private List<String> validate(CurrencyCreateRequest request) {
+        Currency candidate = new Currency();
+        apply(candidate, request);
+        return Stream.concat(validator.validate(request).stream(), validator.validate(candidate).stream())
+                .map(ConstraintViolation::getMessage)
+                .distinct()
+                .toList();
+    }
+
+    private static boolean matches(Currency currency, CurrencyCreateRequest request) {
+        return Objects.equals(currency.getName(), request.name())
+                && Objects.equals(currency.getSymbol(), request.symbol())
+                && Objects.equals(currency.getDecimalPlaces(), request.decimalPlaces());
+    }
+
+    private static void apply(Currency currency, CurrencyCreateRequest request) {
+        currency.setName(request.name());
+        currency.setCode(request.code());
+        currency.setSymbol(request.symbol());
+        currency.setDecimalPlaces(request.decimalPlaces());
+    }
+}
@@ -0,0 +1,25 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+/**
+ * Keyset pagination of currencies read as {@link CurrencyDto} projections.
+ * <p>
+ * Spring Data's own keyset scrolling reads the keys of the last result through the entity metadata, so it cannot
+ * return projections; this fragment issues the seek query itself.
+ */
+public interface CurrencyKeysetRepository {
+
+    /**
+     * Reads a slice of currencies past a keyset position, sorted on one attribute with the ID as a tie-breaker in the
+     * same direction, so that an index on (attribute, ID) serves the query in either direction
+     *
+     * @param position The keys of the last currency of the previous slice, or no keys for the first slice
+     * @param sort     The single-attribute sort of the slice
+     * @param limit    The most currencies to read
+     * @return The slice, whose positions carry the sort attribute and the ID
+     */
+    Window<CurrencyDto> findAllAsDto(KeysetScrollPosition position, Sort sort, int limit);
+}
@@ -0,0 +1,69 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.BeanWrapperImpl;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class CurrencyKeysetRepositoryImpl implements CurrencyKeysetRepository {
+    private static final String ID = "id";
+
+    private final EntityManager entityManager;
+
+    CurrencyKeysetRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Window<CurrencyDto> findAllAsDto(KeysetScrollPosition position, Sort sort, int limit) {
+        Sort.Order order = sort.iterator().next();
+        boolean ascending = order.isAscending();
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<CurrencyDto> query = builder.createQuery(CurrencyDto.class);
+        Root<Currency> currency = query.from(Currency.class);
+        query.select(builder.construct(CurrencyDto.class,
+                currency.get("id"), currency.get("version"), currency.get("createdDate"),
+                currency.get("lastModifiedDate"), currency.get("createdBy"), currency.get("lastModifiedBy"),
+                currency.get("name"), currency.get("code"), currency.get("symbol"), currency.get("decimalPlaces")));
+        Path<Comparable<Object>> key = currency.get(order.getProperty());
+        Path<Comparable<Object>> id = currency.get(ID);
+        if (!position.isInitial()) {
+            Object lastId = position.getKeys().get(ID);
+            Predicate pastId = past(builder, id, lastId, ascending);
+            query.where(order.getProperty().equals(ID) ? pastId : builder.or(
+                    past(builder, key, position.getKeys().get(order.getProperty()), ascending),
+                    builder.and(builder.equal(key, position.getKeys().get(order.getProperty())), pastId)));
+        }
+        query.orderBy(ascending
+                ? List.of(builder.asc(key), builder.asc(id))
+                : List.of(builder.desc(key), builder.desc(id)));
+        List<CurrencyDto> results = entityManager.createQuery(query).setMaxResults(limit + 1).getResultList();
+        List<CurrencyDto> content = results.size() > limit ? results.subList(0, limit) : results;
+        return Window.from(content, index -> position(content.get(index), order.getProperty()), results.size() > limit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate past(CriteriaBuilder builder, Expression<Comparable<Object>> path, Object value, boolean ascending) {
+        Comparable<Object> key = (Comparable<Object>) value;
+        return ascending ? builder.greaterThan(path, key) : builder.lessThan(path, key);
+    }
+
+    private static ScrollPosition position(CurrencyDto currency, String property) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put(property, new BeanWrapperImpl(currency).getPropertyValue(property));
+        keys.put(ID, currency.getId());
+        return ScrollPosition.forward(keys);
+    }
+}
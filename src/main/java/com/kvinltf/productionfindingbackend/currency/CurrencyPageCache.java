@@ -0,0 +1,106 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kvinltf.productionfindingbackend.core.ETags;
+import com.kvinltf.productionfindingbackend.core.cache.CacheInvalidation;
+import com.kvinltf.productionfindingbackend.core.cache.CacheInvalidationChannel;
+import com.kvinltf.productionfindingbackend.core.cache.CachedResponse;
+import com.kvinltf.productionfindingbackend.core.cache.ResponseCache;
+import com.kvinltf.productionfindingbackend.core.jdbc.ReadYourWrites;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Serialized and compressed pages of {@code GET /currencies}, keyed by the resolved page, size and sort, so that the
+ * hot first pages are sent without a query, a serialization or a compression.
+ * <p>
+ * Every committed write of a currency drops all pages, as an insert or a delete shifts every page after it. Writes
+ * made by other instances arrive through the {@link CacheInvalidationChannel} of the second-level cache; without one,
+ * only local writes are seen. Pages are read from the primary, since a replica may not have replayed the write that
+ * just dropped them, and are kept for a bounded time in any case.
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class CurrencyPageCache {
+    private final CurrencyRepository currencyRepository;
+    private final ObjectMapper objectMapper;
+    private final ResponseCache<PageKey> cache;
+    private final boolean enabled;
+
+    public CurrencyPageCache(
+            CurrencyRepository currencyRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            ObjectProvider<CacheInvalidationChannel> channel,
+            @Value("${app.response-cache.enabled:true}") boolean enabled,
+            @Value("${app.response-cache.max-entries:256}") int maxEntries,
+            @Value("${app.response-cache.max-size:8MB}") DataSize maxSize,
+            @Value("${app.response-cache.time-to-live:30s}") Duration timeToLive
+    ) {
+        this.currencyRepository = currencyRepository;
+        this.objectMapper = objectMapper;
+        this.cache = new ResponseCache<>("currency-pages", maxEntries, maxSize.toBytes(), timeToLive, meterRegistry);
+        this.enabled = enabled;
+        channel.ifAvailable(available -> available.subscribe(this::onInvalidation));
+    }
+
+    /**
+     * @return Whether pages are served from the cache
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Returns a page of currencies as JSON, from the cache or else read and serialized as a {@link PagedModel} of
+     * {@link CurrencyDto}s with the weak ETag of its JSON representation, like an uncached response.
+     *
+     * @param pageable The resolved page request
+     * @return The page
+     */
+    public CachedResponse page(Pageable pageable) throws JsonProcessingException {
+        PageKey key = new PageKey(pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+        CachedResponse cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cache.generation();
+        Page<CurrencyDto> page = ReadYourWrites.fromPrimary(() -> currencyRepository.findAllAsDto(pageable));
+        CachedResponse response = CachedResponse.of(MediaType.APPLICATION_JSON_VALUE,
+                ETags.representation(ETags.weak(page.getTotalElements(), page.getContent()), MediaType.APPLICATION_JSON),
+                objectMapper.writeValueAsBytes(new PagedModel<>(page)));
+        cache.put(key, generation, response);
+        return response;
+    }
+
+    /**
+     * Drops all pages once a write of a currency has committed.
+     *
+     * @param event The change, published by {@link CurrencyController}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCurrencyChanged(CurrencyChangedEvent event) {
+        cache.invalidate();
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (invalidation.entities() == null || invalidation.entities().containsKey(Currency.class.getName())) {
+            cache.invalidate();
+        }
+    }
+
+    private record PageKey(int page, int size, String sort) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A JSON Merge Patch (RFC 7386) of a {@link Currency}: the fields to overwrite, each validated with the constraints of
+ * the entity, and optionally the version the client expects the currency to have.
+ * <p>
+ * A field set to null is cleared, which only the symbol allows. Fields that cannot be written, such as the ID and the
+ * auditing fields, are ignored, as are unknown fields, so a client may send back a currency it has read with some of
+ * its fields changed.
+ *
+ * @param version The version the currency must have for the patch to apply, or null for any version
+ * @param fields  The new values by attribute of {@link Currency}, in patch order; a value may be null
+ */
+public record CurrencyPatch(Integer version, Map<String, Object> fields) {
+    /**
+     * Attributes of {@link Currency} that a patch may write, and their types
+     */
+    private static final Map<String, Class<?>> WRITABLE = Map.of(
+            "name", String.class,
+            "code", String.class,
+            "symbol", String.class,
+            "decimalPlaces", Integer.class
+    );
+
+    /**
+     * Reads and validates a patch
+     *
+     * @param patch     The request body
+     * @param validator Validates each field against the constraints of {@link Currency}
+     * @return The patch
+     * @throws IllegalArgumentException If the body is not an object, or a field has the wrong type or breaks a constraint
+     */
+    public static CurrencyPatch parse(JsonNode patch, Validator validator) {
+        if (!patch.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object");
+        }
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonNode> field : patch.properties()) {
+            Class<?> type = WRITABLE.get(field.getKey());
+            if (type != null) {
+                Object value = value(field.getKey(), field.getValue(), type);
+                Set<ConstraintViolation<Currency>> violations = validator.validateValue(Currency.class, field.getKey(), value);
+                if (!violations.isEmpty()) {
+                    throw new IllegalArgumentException(violations.iterator().next().getMessage());
+                }
+                fields.put(field.getKey(), value);
+            }
+        }
+        JsonNode version = patch.get("version");
+        return new CurrencyPatch(version == null || version.isNull() ? null : (Integer) value("version", version, Integer.class),
+                Collections.unmodifiableMap(fields));
+    }
+
+    private static Object value(String name, JsonNode node, Class<?> type) {
+        if (node.isNull()) {
+            return null;
+        }
+        if (type == String.class && node.isTextual()) {
+            return node.textValue();
+        }
+        if (type == Integer.class && node.isIntegralNumber() && node.canConvertToInt()) {
+            return node.intValue();
+        }
+        throw new IllegalArgumentException(name + " must be " + (type == String.class ? "a string" : "an integer"));
+    }
+}
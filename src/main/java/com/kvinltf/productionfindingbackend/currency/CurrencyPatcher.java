@@ -0,0 +1,162 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.kvinltf.productionfindingbackend.core.ETags;
+import com.kvinltf.productionfindingbackend.core.audit.AuditTrail;
+import com.kvinltf.productionfindingbackend.core.cache.CacheInvalidations;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies {@link CurrencyPatch}es with a single conditional update, without loading the currency first.
+ * <p>
+ * Only the patched columns are set, together with the version, the modification date and the modifying user from the
+ * application's {@link AuditorAware}, as JPA auditing would set them. The statement only matches the expected
+ * versions, so a lost update cannot happen and no read-modify-write round trip is needed. Only when the update matches
+ * no row is the current version read, to tell a missing currency from a stale one.
+ * The update fires no entity events, so it is reported to the second-level cache and the audit history explicitly.
+ */
+@Component
+public class CurrencyPatcher {
+    private final CurrencyRepository currencyRepository;
+    private final EntityManager entityManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectProvider<AuditTrail> auditTrail;
+    private final AuditorAware<?> auditorAware;
+
+    public CurrencyPatcher(
+            CurrencyRepository currencyRepository,
+            EntityManager entityManager,
+            ApplicationEventPublisher eventPublisher,
+            ObjectProvider<AuditTrail> auditTrail,
+            ObjectProvider<AuditorAware<?>> auditorAware
+    ) {
+        this.currencyRepository = currencyRepository;
+        this.entityManager = entityManager;
+        this.eventPublisher = eventPublisher;
+        this.auditTrail = auditTrail;
+        this.auditorAware = auditorAware.getIfAvailable();
+    }
+
+    /**
+     * Patches a currency.
+     * The versions accepted are those named by the {@code If-Match} header and the version in the patch, if any; a
+     * patch with neither applies to any version. A patch without fields writes nothing and returns the currency as is.
+     *
+     * @param id      The ID of the currency
+     * @param ifMatch The ETags the client accepts, if any
+     * @param patch   The fields to overwrite
+     * @return The patched currency
+     * @throws ResponseStatusException 404 if there is no such currency, 412 if it does not match {@code If-Match},
+     *                                 409 if it does not have the version in the patch or the code is taken
+     */
+    @Transactional
+    public Currency patch(Long id, String ifMatch, CurrencyPatch patch) {
+        Set<Integer> versions = ifMatch != null ? ETags.versions(ifMatch, id) : null;
+        if (versions != null && patch.version() != null) {
+            versions = versions.contains(patch.version()) ? Set.of(patch.version()) : Set.of();
+        } else if (patch.version() != null) {
+            versions = Set.of(patch.version());
+        }
+        if (patch.fields().isEmpty()) {
+            CurrencyDto current = currencyRepository.findDtoById(id)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            if (versions != null && !versions.contains(current.getVersion())) {
+                throw mismatch(id, ifMatch, current.getVersion());
+            }
+            return toEntity(current);
+        }
+        if ((versions == null || !versions.isEmpty()) && update(id, versions, patch) == 1) {
+            CacheInvalidations.bulkWritten(entityManager, Currency.class, id);
+            Currency patched = toEntity(currencyRepository.findDtoById(id).orElseThrow());
+            auditTrail.ifAvailable(trail -> trail.recordBulkUpdate(Currency.class, id, patched.getVersion(), patch.fields()));
+            eventPublisher.publishEvent(new CurrencyChangedEvent(CurrencyChangedEvent.Type.UPDATED, patched));
+            return patched;
+        }
+        Integer current = currencyRepository.findVersionById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        throw mismatch(id, ifMatch, current);
+    }
+
+    /**
+     * @return 412 if the current version does not match {@code If-Match}, otherwise 409 since it does not match the
+     * version in the patch
+     */
+    private static ResponseStatusException mismatch(Long id, String ifMatch, Integer current) {
+        return new ResponseStatusException(ifMatch != null && !ETags.matches(ifMatch, ETags.strong(id, current))
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT);
+    }
+
+    /**
+     * @return The number of rows updated, 0 or 1
+     */
+    private int update(Long id, Set<Integer> versions, CurrencyPatch patch) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Currency> update = builder.createCriteriaUpdate(Currency.class);
+        Root<Currency> currency = update.from(Currency.class);
+        for (Map.Entry<String, Object> field : patch.fields().entrySet()) {
+            if (field.getValue() == null) {
+                setNull(update, currency.get(field.getKey()), builder);
+            } else {
+                update.set(field.getKey(), field.getValue());
+            }
+        }
+        update.set(currency.<Integer>get("version"), builder.sum(currency.get("version"), 1));
+        update.set(currency.<Instant>get("lastModifiedDate"), Instant.now());
+        if (auditorAware != null) {
+            String auditor = auditorAware.getCurrentAuditor().map(String::valueOf).orElse(null);
+            if (auditor == null) {
+                setNull(update, currency.get("lastModifiedBy"), builder);
+            } else {
+                update.set(currency.<String>get("lastModifiedBy"), auditor);
+            }
+        }
+        List<Predicate> where = new ArrayList<>(List.of(builder.equal(currency.get("id"), id)));
+        if (versions != null) {
+            where.add(currency.get("version").in(versions));
+        }
+        update.where(where.toArray(Predicate[]::new));
+        try {
+            return entityManager.createQuery(update).executeUpdate();
+        } catch (ConstraintViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Currency code already exists", e);
+        }
+    }
+
+    private static <T> void setNull(CriteriaUpdate<?> update, Path<T> path, CriteriaBuilder builder) {
+        update.set(path, builder.nullLiteral(path.getJavaType()));
+    }
+
+    private static Currency toEntity(CurrencyDto dto) {
+        Currency currency = new Currency();
+        currency.setId(dto.getId());
+        currency.setVersion(dto.getVersion());
+        currency.setCreatedDate(dto.getCreatedDate());
+        currency.setLastModifiedDate(dto.getLastModifiedDate());
+        currency.setCreatedBy(dto.getCreatedBy());
+        currency.setLastModifiedBy(dto.getLastModifiedBy());
+        currency.setName(dto.getName());
+        currency.setCode(dto.getCode());
+        currency.setSymbol(dto.getSymbol());
+        currency.setDecimalPlaces(dto.getDecimalPlaces());
+        return currency;
+    }
+}
@@ -1,6 +1,69 @@
 package com.kvinltf.productionfindingbackend.currency;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface CurrencyRepository extends JpaRepository<Currency, Long> {
-}
\ No newline at end of file
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface CurrencyRepository extends JpaRepository<Currency, Long>, CurrencyKeysetRepository {
+    String SELECT_DTO = "select new com.kvinltf.productionfindingbackend.currency.CurrencyDto("
+            + "c.id, c.version, c.createdDate, c.lastModifiedDate, c.createdBy, c.lastModifiedBy, "
+            + "c.name, c.code, c.symbol, c.decimalPlaces) from Currency c";
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Reads a page of currencies straight into {@link CurrencyDto}s, bypassing entity hydration and the persistence context.
+     * Pages and totals are kept in the {@code currency-pages} query cache region until a currency is written.
+     * The page and its count run in one read-only transaction, also when called outside of one.
+     */
+    @Query(value = SELECT_DTO, countQuery = "select count(c) from Currency c")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "currency-pages")
+    })
+    @Transactional(readOnly = true)
+    Page<CurrencyDto> findAllAsDto(Pageable pageable);
+
+    /**
+     * Reads all currencies straight into {@link CurrencyDto}s, bypassing entity hydration and the persistence context
+     */
+    @Query(SELECT_DTO)
+    List<CurrencyDto> findAllAsDto();
+
+    /**
+     * Streams all currencies in ID order as {@link CurrencyDto}s from a forward-only cursor.
+     * Rows are fetched {@value #STREAM_FETCH_SIZE} at a time and nothing is kept in the persistence context,
+     * so memory use does not grow with the table. Must be called in a transaction and the stream closed after use.
+     */
+    @Query(SELECT_DTO + " order by c.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<CurrencyDto> streamAllAsDto();
+
+    @Query(SELECT_DTO + " where c.id = :id")
+    Optional<CurrencyDto> findDtoById(Long id);
+
+    @Query(SELECT_DTO + " where c.id in :ids")
+    List<CurrencyDto> findAllAsDtoByIdIn(Collection<Long> ids);
+
+    @Query(SELECT_DTO + " where c.code in :codes")
+    List<CurrencyDto> findAllAsDtoByCodeIn(Collection<String> codes);
+
+    Optional<Currency> findByCode(String code);
+
+    List<Currency> findAllByCodeIn(Collection<String> codes);
+
+    @Query("select c.version from Currency c where c.id = :id")
+    Optional<Integer> findVersionById(Long id);
+}
@@ -0,0 +1,81 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.kvinltf.productionfindingbackend.core.search.RadixTrie;
+import com.kvinltf.productionfindingbackend.core.search.Tokenizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Typeahead over the currencies of the {@link CurrencyCache}, matching prefixes of the code, the symbol, the whole
+ * name and each word of the name.
+ * <p>
+ * Suggestions come from a {@link RadixTrie} built from a cache snapshot. Since the cache publishes a new snapshot for
+ * every committed write, the trie is rebuilt on the first lookup after a snapshot change and never goes stale.
+ * Code matches rank above name matches, which rank above symbol matches.
+ */
+@Component
+public class CurrencySuggester {
+    public static final int MAX_SUGGESTIONS = 20;
+    private static final int CODE_WEIGHT = 3;
+    private static final int NAME_WEIGHT = 2;
+    private static final int WORD_WEIGHT = 1;
+    private static final int SYMBOL_WEIGHT = 1;
+
+    private final CurrencyCache currencyCache;
+
+    private volatile Built built = new Built(null, RadixTrie.<CurrencyDto>builder(0, Comparator.comparing(CurrencyDto::getCode)).build());
+
+    public CurrencySuggester(CurrencyCache currencyCache) {
+        this.currencyCache = currencyCache;
+    }
+
+    /**
+     * @param prefix What the user has typed so far; case and accents are ignored
+     * @param limit  The most suggestions to return, at most {@value #MAX_SUGGESTIONS}
+     * @return The best matching currencies, best first
+     */
+    public List<CurrencyDto> suggest(String prefix, int limit) {
+        String normalized = Tokenizer.normalize(prefix.strip());
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return trie().prefixSearch(normalized, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    private RadixTrie<CurrencyDto> trie() {
+        CurrencyCache.Snapshot snapshot = currencyCache.snapshot();
+        Built current = built;
+        if (current.snapshot == snapshot) {
+            return current.trie;
+        }
+        synchronized (this) {
+            if (built.snapshot != snapshot) {
+                built = new Built(snapshot, build(snapshot));
+            }
+            return built.trie;
+        }
+    }
+
+    private static RadixTrie<CurrencyDto> build(CurrencyCache.Snapshot snapshot) {
+        RadixTrie.Builder<CurrencyDto> builder = RadixTrie.builder(MAX_SUGGESTIONS,
+                Comparator.comparing(CurrencyDto::getCode));
+        for (CurrencyDto currency : snapshot.byId().values()) {
+            builder.add(Tokenizer.normalize(currency.getCode()), currency, CODE_WEIGHT);
+            if (currency.getName() != null) {
+                builder.add(Tokenizer.normalize(currency.getName()), currency, NAME_WEIGHT);
+                for (String word : Tokenizer.tokenize(currency.getName())) {
+                    builder.add(word, currency, WORD_WEIGHT);
+                }
+            }
+            if (currency.getSymbol() != null && !currency.getSymbol().isBlank()) {
+                builder.add(Tokenizer.normalize(currency.getSymbol().strip()), currency, SYMBOL_WEIGHT);
+            }
+        }
+        return builder.build();
+    }
+
+    private record Built(CurrencyCache.Snapshot snapshot, RadixTrie<CurrencyDto> trie) {
+    }
+}
@@ -0,0 +1,256 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * An amount of a currency, held as a {@code long} number of minor units at the currency's
+ * {@link Currency#getDecimalPlaces() decimal places} (e.g. 1234 with 2 decimal places for USD 12.34).
+ * <p>
+ * Instances are immutable. Arithmetic is exact or rounded half-even and throws {@link ArithmeticException} on
+ * overflow; amounts of different currencies cannot be combined. Loops that must not allocate at all can work on
+ * {@link #minorUnits()} with {@link MoneyMath} directly.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+    private final long minorUnits;
+    private final String currency;
+    private final int decimalPlaces;
+
+    private Money(long minorUnits, String currency, int decimalPlaces) {
+        this.minorUnits = minorUnits;
+        this.currency = Objects.requireNonNull(currency, "currency");
+        this.decimalPlaces = MoneyMath.checkDecimalPlaces(decimalPlaces);
+    }
+
+    /**
+     * @param minorUnits    The amount in minor units
+     * @param currency      The ISO 4217 code of the currency
+     * @param decimalPlaces The decimal places of the currency
+     */
+    public static Money ofMinor(long minorUnits, String currency, int decimalPlaces) {
+        return new Money(minorUnits, currency, decimalPlaces);
+    }
+
+    public static Money ofMinor(long minorUnits, CurrencyDto currency) {
+        return new Money(minorUnits, currency.getCode(), currency.getDecimalPlaces());
+    }
+
+    /**
+     * @param amount   The amount in major units, rounded half-even to the decimal places of the currency
+     * @param currency The currency of the amount
+     */
+    public static Money of(BigDecimal amount, CurrencyDto currency) {
+        return of(amount, currency.getCode(), currency.getDecimalPlaces());
+    }
+
+    public static Money of(BigDecimal amount, String currency, int decimalPlaces) {
+        MoneyMath.checkDecimalPlaces(decimalPlaces);
+        long minorUnits = amount.setScale(decimalPlaces, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+        return new Money(minorUnits, currency, decimalPlaces);
+    }
+
+    public static Money zero(CurrencyDto currency) {
+        return ofMinor(0, currency);
+    }
+
+    /**
+     * Parses the {@link #toString()} form, e.g. {@code "USD 12.34"}; the decimal places are those of the amount
+     */
+    public static Money parse(String text) {
+        int space = text.indexOf(' ');
+        if (space < 0) {
+            throw new IllegalArgumentException("Expected \"<currency> <amount>\": " + text);
+        }
+        BigDecimal amount = new BigDecimal(text.substring(space + 1));
+        return of(amount, text.substring(0, space), Math.max(amount.scale(), 0));
+    }
+
+    public long minorUnits() {
+        return minorUnits;
+    }
+
+    public String currency() {
+        return currency;
+    }
+
+    public int decimalPlaces() {
+        return decimalPlaces;
+    }
+
+    public Money plus(Money other) {
+        checkSameCurrency(other);
+        return withMinorUnits(Math.addExact(minorUnits, other.minorUnits));
+    }
+
+    public Money minus(Money other) {
+        checkSameCurrency(other);
+        return withMinorUnits(Math.subtractExact(minorUnits, other.minorUnits));
+    }
+
+    public Money negate() {
+        return withMinorUnits(Math.negateExact(minorUnits));
+    }
+
+    /**
+     * @return This amount times a whole quantity
+     */
+    public Money times(long quantity) {
+        return withMinorUnits(Math.multiplyExact(minorUnits, quantity));
+    }
+
+    /**
+     * @return This amount times {@code numerator / denominator}, rounded half-even; e.g. {@code times(825, 10_000)}
+     * for 8.25%
+     */
+    public Money times(long numerator, long denominator) {
+        return withMinorUnits(MoneyMath.multiplyHalfEven(minorUnits, numerator, denominator));
+    }
+
+    /**
+     * @return This amount times a decimal factor, rounded half-even
+     */
+    public Money times(BigDecimal factor) {
+        BigDecimal unscaled = factor.stripTrailingZeros();
+        if (unscaled.scale() <= 0) {
+            return times(unscaled.longValueExact());
+        }
+        if (unscaled.scale() <= MoneyMath.MAX_DECIMAL_PLACES && unscaled.precision() <= 18) {
+            return times(unscaled.unscaledValue().longValue(), MoneyMath.pow10(unscaled.scale()));
+        }
+        return of(toBigDecimal().multiply(factor), currency, decimalPlaces);
+    }
+
+    /**
+     * Converts this amount to another currency, rounding half-even to the decimal places of the target currency
+     *
+     * @param rate     Units of the target currency per unit of this currency
+     * @param currency The target currency
+     * @see MoneyMath#convertHalfEven(long, double, int, int)
+     */
+    public Money convert(double rate, CurrencyDto currency) {
+        return convert(rate, currency.getCode(), currency.getDecimalPlaces());
+    }
+
+    public Money convert(double rate, String currency, int decimalPlaces) {
+        return new Money(MoneyMath.convertHalfEven(minorUnits, rate, this.decimalPlaces, decimalPlaces),
+                currency, decimalPlaces);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, decimalPlaces);
+    }
+
+    /**
+     * @return The amount in major units as a plain decimal string, e.g. {@code "12.34"} or {@code "-0.05"}
+     */
+    public String amount() {
+        if (decimalPlaces == 0) {
+            return Long.toString(minorUnits);
+        }
+        long pow = MoneyMath.pow10(decimalPlaces);
+        long major = minorUnits / pow;
+        long minor = Math.abs(minorUnits % pow);
+        StringBuilder amount = new StringBuilder(24);
+        if (minorUnits < 0 && major == 0) {
+            amount.append('-');
+        }
+        amount.append(major).append('.');
+        String fraction = Long.toString(minor);
+        amount.repeat('0', decimalPlaces - fraction.length()).append(fraction);
+        return amount.toString();
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkSameCurrency(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Money other
+                && minorUnits == other.minorUnits
+                && decimalPlaces == other.decimalPlaces
+                && currency.equals(other.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(minorUnits) * 31 + currency.hashCode();
+    }
+
+    /**
+     * @return The currency code and amount, e.g. {@code "USD 12.34"}
+     */
+    @Override
+    public String toString() {
+        return currency + ' ' + amount();
+    }
+
+    /**
+     * @return An empty running total in the currency of this amount
+     */
+    public Accumulator accumulator() {
+        return new Accumulator(currency, decimalPlaces);
+    }
+
+    private Money withMinorUnits(long minorUnits) {
+        return minorUnits == this.minorUnits ? this : new Money(minorUnits, currency, decimalPlaces);
+    }
+
+    private void checkSameCurrency(Money other) {
+        if (!currency.equals(other.currency) || decimalPlaces != other.decimalPlaces) {
+            throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+        }
+    }
+
+    /**
+     * Mutable running total for summing many amounts of one currency, e.g. the lines of an order, without creating an
+     * intermediate {@link Money} per step. Not thread-safe.
+     */
+    public static final class Accumulator {
+        private final String currency;
+        private final int decimalPlaces;
+        private long minorUnits;
+
+        private Accumulator(String currency, int decimalPlaces) {
+            this.currency = currency;
+            this.decimalPlaces = decimalPlaces;
+        }
+
+        public Accumulator add(Money money) {
+            checkCurrency(money);
+            minorUnits = Math.addExact(minorUnits, money.minorUnits);
+            return this;
+        }
+
+        /**
+         * Adds {@code money * quantity}
+         */
+        public Accumulator add(Money money, long quantity) {
+            checkCurrency(money);
+            minorUnits = Math.addExact(minorUnits, Math.multiplyExact(money.minorUnits, quantity));
+            return this;
+        }
+
+        public Money total() {
+            return new Money(minorUnits, currency, decimalPlaces);
+        }
+
+        private void checkCurrency(Money money) {
+            if (!currency.equals(money.currency) || decimalPlaces != money.decimalPlaces) {
+                throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + money.currency);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads {@link Money} from {@code {"amount": 12.34, "currency": "USD"}}, where the amount may also be a string.
+ * The decimal places come from the currency, looked up in the {@link CurrencyCache}; extra digits are rounded
+ * half-even. An unknown currency, or an amount that is not a number or does not fit in minor units, is reported as
+ * an invalid format, so that it is answered with 400.
+ */
+@JsonComponent
+public class MoneyDeserializer extends JsonDeserializer<Money> {
+    private final ObjectProvider<CurrencyCache> currencyCache;
+
+    public MoneyDeserializer(ObjectProvider<CurrencyCache> currencyCache) {
+        this.currencyCache = currencyCache;
+    }
+
+    @Override
+    public Money deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartObjectToken()) {
+            return (Money) context.handleUnexpectedToken(Money.class, parser);
+        }
+        BigDecimal amount = null;
+        String code = null;
+        for (String field = parser.nextFieldName(); field != null; field = parser.nextFieldName()) {
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "amount" -> amount = token == JsonToken.VALUE_STRING
+                        ? decimal(parser.getText(), context)
+                        : parser.getDecimalValue();
+                case "currency" -> code = parser.getValueAsString();
+                default -> parser.skipChildren();
+            }
+        }
+        if (amount == null || code == null) {
+            throw context.weirdStringException(String.valueOf(amount), Money.class,
+                    "Money requires both an amount and a currency");
+        }
+        String currency = code;
+        CurrencyDto found = currencyCache.getObject().findByCode(currency)
+                .orElseThrow(() -> context.weirdStringException(currency, Money.class, "Unknown currency"));
+        try {
+            return Money.of(amount, found);
+        } catch (ArithmeticException e) {
+            throw context.weirdNumberException(amount, Money.class, "Amount out of range for " + currency);
+        }
+    }
+
+    private static BigDecimal decimal(String text, DeserializationContext context) throws IOException {
+        try {
+            return new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            throw context.weirdStringException(text, Money.class, "Amount is not a number");
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Arithmetic on amounts held as {@code long} minor units, for loops that must not allocate.
+ * <p>
+ * Every operation either returns the exact result rounded half-even (banker's rounding) or throws
+ * {@link ArithmeticException} on overflow; none of them silently wraps. {@link Money} is built on these.
+ */
+public final class MoneyMath {
+    /**
+     * The most decimal places an amount may have; 10^18 is the largest power of ten a {@code long} holds
+     */
+    public static final int MAX_DECIMAL_PLACES = 18;
+
+    private static final long[] POWERS_OF_TEN = new long[MAX_DECIMAL_PLACES + 1];
+    private static final double[] DOUBLE_POWERS_OF_TEN = new double[2 * MAX_DECIMAL_PLACES + 1];
+    /**
+     * Below this magnitude a {@code long} converts to {@code double} exactly
+     */
+    private static final long EXACT_DOUBLE = 1L << 53;
+    /**
+     * Bound on the error of a conversion computed in {@code double}, in ulps of the result: each of the two products
+     * is rounded, and a negative power of ten is itself inexact
+     */
+    private static final int CONVERSION_ERROR_ULPS = 4;
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+        for (int i = 0; i < DOUBLE_POWERS_OF_TEN.length; i++) {
+            DOUBLE_POWERS_OF_TEN[i] = Double.parseDouble("1e" + (i - MAX_DECIMAL_PLACES));
+        }
+    }
+
+    private MoneyMath() {
+    }
+
+    /**
+     * @return 10 to the power of {@code decimalPlaces}
+     */
+    public static long pow10(int decimalPlaces) {
+        return POWERS_OF_TEN[checkDecimalPlaces(decimalPlaces)];
+    }
+
+    public static int checkDecimalPlaces(int decimalPlaces) {
+        if (decimalPlaces < 0 || decimalPlaces > MAX_DECIMAL_PLACES) {
+            throw new IllegalArgumentException("Decimal places must be between 0 and " + MAX_DECIMAL_PLACES
+                    + ": " + decimalPlaces);
+        }
+        return decimalPlaces;
+    }
+
+    /**
+     * @return {@code minor * numerator / denominator}, rounded half-even
+     */
+    public static long multiplyHalfEven(long minor, long numerator, long denominator) {
+        if (denominator == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long high = Math.multiplyHigh(minor, numerator);
+        long low = minor * numerator;
+        if (high != (low >> 63)) {
+            return multiplyHalfEvenSlow(minor, numerator, denominator);
+        }
+        return divideHalfEven(low, denominator);
+    }
+
+    /**
+     * @return {@code dividend / divisor}, rounded half-even
+     */
+    public static long divideHalfEven(long dividend, long divisor) {
+        if (dividend == Long.MIN_VALUE || divisor == Long.MIN_VALUE) {
+            return multiplyHalfEvenSlow(dividend, 1, divisor);
+        }
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        long absRemainder = Math.abs(remainder);
+        long rest = Math.abs(divisor) - absRemainder;
+        boolean negative = (dividend < 0) != (divisor < 0);
+        if (absRemainder > rest || absRemainder == rest && (quotient & 1) != 0) {
+            return negative ? quotient - 1 : quotient + 1;
+        }
+        return quotient;
+    }
+
+    /**
+     * Changes the number of decimal places of an amount, rounding half-even when decimal places are dropped
+     */
+    public static long rescale(long minor, int fromDecimalPlaces, int toDecimalPlaces) {
+        if (toDecimalPlaces >= fromDecimalPlaces) {
+            return Math.multiplyExact(minor, pow10(toDecimalPlaces - fromDecimalPlaces));
+        }
+        return divideHalfEven(minor, pow10(fromDecimalPlaces - toDecimalPlaces));
+    }
+
+    /**
+     * Applies an exchange rate to an amount, moving it from one currency's decimal places to another's.
+     * The result is that of the exact product of the amount and the rate, rounded half-even. The product is computed in
+     * {@code double} for amounts below 2^53 minor units; when it lies within its error of halfway between two minor
+     * units, where the error could decide the rounding, and for larger amounts, it is computed with {@link BigDecimal}.
+     *
+     * @param minor             The amount in minor units of the source currency
+     * @param rate              Units of the target currency per unit of the source currency
+     * @param fromDecimalPlaces The decimal places of the source currency
+     * @param toDecimalPlaces   The decimal places of the target currency
+     * @return The amount in minor units of the target currency
+     */
+    public static long convertHalfEven(long minor, double rate, int fromDecimalPlaces, int toDecimalPlaces) {
+        if (Double.isNaN(rate) || Double.isInfinite(rate)) {
+            throw new ArithmeticException("Invalid exchange rate: " + rate);
+        }
+        int shift = checkDecimalPlaces(toDecimalPlaces) - checkDecimalPlaces(fromDecimalPlaces);
+        if (Math.abs(minor) < EXACT_DOUBLE) {
+            double converted = minor * rate * DOUBLE_POWERS_OF_TEN[shift + MAX_DECIMAL_PLACES];
+            double fromHalf = Math.abs(converted - Math.floor(converted) - 0.5);
+            if (Math.abs(converted) < EXACT_DOUBLE && fromHalf > CONVERSION_ERROR_ULPS * Math.ulp(converted)) {
+                return (long) Math.rint(converted);
+            }
+        }
+        return new BigDecimal(minor)
+                .multiply(new BigDecimal(rate))
+                .movePointRight(shift)
+                .setScale(0, RoundingMode.HALF_EVEN)
+                .longValueExact();
+    }
+
+    private static long multiplyHalfEvenSlow(long minor, long numerator, long denominator) {
+        return new BigDecimal(BigInteger.valueOf(minor).multiply(BigInteger.valueOf(numerator)))
+                .divide(BigDecimal.valueOf(denominator), 0, RoundingMode.HALF_EVEN)
+                .longValueExact();
+    }
+}
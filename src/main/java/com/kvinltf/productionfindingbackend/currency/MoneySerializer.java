@@ -0,0 +1,24 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Money} as {@code {"amount": 12.34, "currency": "USD"}}, the amount as an exact decimal number
+ */
+@JsonComponent
+public class MoneySerializer extends JsonSerializer<Money> {
+
+    @Override
+    public void serialize(Money money, JsonGenerator generator, SerializerProvider serializers) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName("amount");
+        generator.writeNumber(money.amount());
+        generator.writeStringField("currency", money.currency());
+        generator.writeEndObject();
+    }
+}
@@ -0,0 +1,165 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.kvinltf.productionfindingbackend.core.ETags;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Non-blocking counterpart of {@link CurrencyController}, registered instead of it when the application runs as a
+ * reactive web application (the {@code reactive} profile).
+ * <p>
+ * It serves the same contract for creating, listing, reading, updating and deleting currencies: the same request
+ * validation, response bodies, ETags and status codes. The database is reached through
+ * {@link ReactiveCurrencyRepository}, so no thread waits on a query, and single currencies and suggestions are served
+ * from the {@link CurrencyCache} as on the servlet stack. Writes publish the same {@link CurrencyChangedEvent}s.
+ * Cursor pagination, bulk import, export and batch lookups are only served by the servlet stack.
+ */
+@RestController
+@RequestMapping("/currencies")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@AllArgsConstructor
+public class ReactiveCurrencyController {
+    private final ReactiveCurrencyRepository currencyRepository;
+    private final CurrencyCache currencyCache;
+    private final CurrencySuggester currencySuggester;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates a new currency
+     *
+     * @param request The request containing the currency details
+     * @return The created currency
+     */
+    @PostMapping
+    public Mono<Currency> createCurrency(@Valid @RequestBody CurrencyCreateRequest request) {
+        Currency currency = new Currency();
+        currency.setName(request.name());
+        currency.setCode(request.code());
+        currency.setSymbol(request.symbol());
+        currency.setDecimalPlaces(request.decimalPlaces());
+        return currencyRepository.insert(currency)
+                .doOnNext(saved -> eventPublisher.publishEvent(
+                        new CurrencyChangedEvent(CurrencyChangedEvent.Type.CREATED, saved)));
+    }
+
+    /**
+     * Retrieves all currencies with pagination.
+     * The page carries a weak ETag; a matching {@code If-None-Match} is answered with 304 without a body.
+     *
+     * @param pageable Pagination information
+     * @return A page of currencies
+     */
+    @GetMapping
+    public Mono<ResponseEntity<PagedModel<CurrencyDto>>> getAllCurrencies(
+            @PageableDefault(size = 20, direction = Sort.Direction.DESC)
+            Pageable pageable
+    ) {
+        return currencyRepository.findAllAsDto(pageable)
+                .map(all -> ResponseEntity.ok()
+                        .eTag(ETags.weak(all.getTotalElements(), all.getContent()))
+                        .body(new PagedModel<>(all)));
+    }
+
+    /**
+     * Suggests currencies whose code, symbol, name or a word of the name starts with a prefix.
+     * Served from memory by the {@link CurrencySuggester}; the database is not queried.
+     *
+     * @param prefix What the user has typed so far
+     * @param limit The most suggestions to return
+     * @return The best matching currencies, best first
+     */
+    @GetMapping("/suggest")
+    public List<CurrencyDto> suggestCurrencies(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return currencySuggester.suggest(prefix, Math.max(1, limit));
+    }
+
+    /**
+     * Retrieves a currency by its ID from the {@link CurrencyCache}, or from the database until the cache has loaded.
+     * The currency carries a strong ETag built from its ID and version; a matching {@code If-None-Match}
+     * is answered with 304 without serializing the currency.
+     *
+     * @param id The ID of the currency
+     * @return The currency, or 404 if not found
+     */
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<CurrencyDto>> getCurrencyById(@PathVariable Long id) {
+        Mono<CurrencyDto> currency = currencyCache.snapshot().loaded()
+                ? Mono.justOrEmpty(currencyCache.findById(id))
+                : currencyRepository.findDtoById(id);
+        return currency
+                .map(found -> ResponseEntity.ok().eTag(ETags.strong(found)).body(found))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Updates an existing currency.
+     * When an {@code If-Match} header is given, its ETag is checked against the stored version and the update only
+     * applies to that version, so a stale or concurrent write is rejected with 412.
+     *
+     * @param id The ID of the currency to update
+     * @param ifMatch The ETag the client last saw, if any
+     * @param request The request containing the updated currency details
+     * @return The updated currency with its new ETag, or 404 if not found
+     */
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Currency>> updateCurrency(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody CurrencyUpdateRequest request
+    ) {
+        Currency currency = new Currency();
+        currency.setName(request.name());
+        currency.setCode(request.code());
+        currency.setSymbol(request.symbol());
+        currency.setDecimalPlaces(request.decimalPlaces());
+        Mono<Currency> updated = ifMatch == null
+                ? currencyRepository.update(id, null, currency)
+                : currencyRepository.findVersionById(id)
+                        .flatMap(version -> {
+                            checkPrecondition(ifMatch, id, version);
+                            return currencyRepository.update(id, version, currency)
+                                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.PRECONDITION_FAILED)));
+                        });
+        return updated
+                .doOnNext(saved -> eventPublisher.publishEvent(
+                        new CurrencyChangedEvent(CurrencyChangedEvent.Type.UPDATED, saved)))
+                .map(saved -> ResponseEntity.ok().eTag(ETags.strong(saved)).body(saved))
+                .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)));
+    }
+
+    /**
+     * Deletes a currency
+     *
+     * @param id The ID of the currency to delete
+     */
+    @DeleteMapping("/{id}")
+    public Mono<Void> deleteCurrency(@PathVariable Long id) {
+        return currencyRepository.deleteById(id)
+                .doOnNext(currency -> eventPublisher.publishEvent(
+                        new CurrencyChangedEvent(CurrencyChangedEvent.Type.DELETED, currency)))
+                .then();
+    }
+
+    private static void checkPrecondition(String ifMatch, Long id, Integer version) {
+        if (!ETags.matches(ifMatch, ETags.strong(id, version))) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED);
+        }
+    }
+}
@@ -0,0 +1,261 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Non-blocking access to the {@code currencies} table through R2DBC, used by {@link ReactiveCurrencyController}.
+ * <p>
+ * Every write is a single statement returning the written row, so no transaction has to be held open across
+ * round-trips; the statement also records the write in the {@link CurrencyChange} outbox, as
+ * {@link CurrencyChangeRecorder} does for JPA writes. Auditing columns are filled in the same way {@link CurrencyRepository} fills them through JPA:
+ * dates are stored as UTC, users are those of the application's {@link AuditorAware}, and the version starts at 0 and
+ * is incremented on update.
+ */
+@Repository
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveCurrencyRepository {
+    private static final String COLUMNS =
+            "id, version, created_date, last_modified_date, created_by, last_modified_by, name, code, symbol, decimal_places";
+    /**
+     * Sortable properties of {@link CurrencyDto} and their columns
+     */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "id",
+            "version", "version",
+            "createdDate", "created_date",
+            "lastModifiedDate", "last_modified_date",
+            "createdBy", "created_by",
+            "lastModifiedBy", "last_modified_by",
+            "name", "name",
+            "code", "code",
+            "symbol", "symbol",
+            "decimalPlaces", "decimal_places"
+    );
+
+    private final DatabaseClient databaseClient;
+    private final AuditorAware<?> auditorAware;
+
+    public ReactiveCurrencyRepository(DatabaseClient databaseClient, ObjectProvider<AuditorAware<?>> auditorAware) {
+        this.databaseClient = databaseClient;
+        this.auditorAware = auditorAware.getIfAvailable();
+    }
+
+    /**
+     * Reads a page together with the total in one statement, so a request holds a single connection; holding one for
+     * the page and another for the count would let concurrent requests exhaust the pool while each waits for its
+     * second connection. Only a page past the end, which has no row to carry the total, takes a separate count.
+     *
+     * @param pageable The page to read and its sort, on properties of {@link CurrencyDto}
+     * @return The page of currencies together with the total number of currencies
+     */
+    public Mono<Page<CurrencyDto>> findAllAsDto(Pageable pageable) {
+        String sql = "select " + COLUMNS + ", count(*) over () as total from currencies" + orderBy(pageable.getSort());
+        DatabaseClient.GenericExecuteSpec statement = pageable.isPaged()
+                ? databaseClient.sql(sql + " limit :limit offset :offset")
+                        .bind("limit", pageable.getPageSize())
+                        .bind("offset", pageable.getOffset())
+                : databaseClient.sql(sql);
+        return statement.map(row -> Map.entry(toDto(row), row.get("total", Long.class)))
+                .all()
+                .collectList()
+                .flatMap(rows -> rows.isEmpty() && pageable.getOffset() > 0
+                        ? count().map(total -> new PageImpl<>(List.<CurrencyDto>of(), pageable, total))
+                        : Mono.just(new PageImpl<>(rows.stream().map(Map.Entry::getKey).toList(), pageable,
+                                rows.isEmpty() ? 0 : rows.getFirst().getValue())));
+    }
+
+    /**
+     * @return The number of currencies
+     */
+    public Mono<Long> count() {
+        return databaseClient.sql("select count(*) from currencies")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    /**
+     * @param id The ID of the currency
+     * @return The currency, or empty if there is none
+     */
+    public Mono<CurrencyDto> findDtoById(Long id) {
+        return databaseClient.sql("select " + COLUMNS + " from currencies where id = :id")
+                .bind("id", id)
+                .map(ReactiveCurrencyRepository::toDto)
+                .one();
+    }
+
+    /**
+     * @param id The ID of the currency
+     * @return The current version of the currency, or empty if there is none
+     */
+    public Mono<Integer> findVersionById(Long id) {
+        return databaseClient.sql("select version from currencies where id = :id")
+                .bind("id", id)
+                .map(row -> row.get(0, Integer.class))
+                .one();
+    }
+
+    /**
+     * Inserts a currency.
+     * The ID is the first value of a fresh block of the {@code currencies_seq} sequence. Hibernate allocates IDs from
+     * the same sequence in blocks of 50 (pooled-lo), so it never hands out the rest of a block drawn here.
+     *
+     * @param currency The currency to insert; its ID, version and auditing fields are ignored
+     * @return The inserted row
+     */
+    public Mono<Currency> insert(Currency currency) {
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(recording(CurrencyChangedEvent.Type.CREATED,
+                        "insert into currencies (id, version, created_date, last_modified_date, created_by, last_modified_by,"
+                                + " name, code, symbol, decimal_places) values (nextval('currencies_seq'), 0, :now, :now,"
+                                + " :auditor, :auditor, :name, :code, :symbol, :decimalPlaces)"))
+                .bind("now", now())
+                .bind("name", currency.getName())
+                .bind("code", currency.getCode())
+                .bind("decimalPlaces", currency.getDecimalPlaces());
+        statement = bindNullable(statement, "auditor", auditor());
+        statement = bindNullable(statement, "symbol", currency.getSymbol());
+        return statement.map(ReactiveCurrencyRepository::toEntity).one();
+    }
+
+    /**
+     * Overwrites the fields of a currency and increments its version, in one statement.
+     *
+     * @param id       The ID of the currency
+     * @param version  The version the currency must still have for the update to apply, or null to update any version
+     * @param currency The new fields of the currency
+     * @return The updated row, or empty if there is no currency with the ID (and version)
+     */
+    public Mono<Currency> update(Long id, Integer version, Currency currency) {
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(recording(CurrencyChangedEvent.Type.UPDATED,
+                        "update currencies set name = :name, code = :code, symbol = :symbol, decimal_places = :decimalPlaces,"
+                                + " version = version + 1, last_modified_date = :now, last_modified_by = :auditor"
+                                + " where id = :id" + (version != null ? " and version = :version" : "")))
+                .bind("id", id)
+                .bind("now", now())
+                .bind("name", currency.getName())
+                .bind("code", currency.getCode())
+                .bind("decimalPlaces", currency.getDecimalPlaces());
+        statement = bindNullable(statement, "auditor", auditor());
+        statement = bindNullable(statement, "symbol", currency.getSymbol());
+        if (version != null) {
+            statement = statement.bind("version", version);
+        }
+        return statement.map(ReactiveCurrencyRepository::toEntity).one();
+    }
+
+    /**
+     * @param id The ID of the currency
+     * @return The deleted row, or empty if there was no currency with the ID
+     */
+    public Mono<Currency> deleteById(Long id) {
+        return databaseClient.sql(recording(CurrencyChangedEvent.Type.DELETED, "delete from currencies where id = :id"))
+                .bind("id", id)
+                .map(ReactiveCurrencyRepository::toEntity)
+                .one();
+    }
+
+    /**
+     * @param type  The kind of write
+     * @param write An insert, update or delete of currencies, without a returning clause
+     * @return A statement performing the write, recording an outbox entry for each written row and returning the rows
+     */
+    private static String recording(CurrencyChangedEvent.Type type, String write) {
+        return "with c as (" + write + " returning " + COLUMNS + "),"
+                + " o as (insert into currency_changes (id, type, currency_id, version, last_modified_date)"
+                + " select nextval('currency_changes_seq'), '" + type.name() + "', id, version, last_modified_date from c)"
+                + " select " + COLUMNS + " from c";
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return "";
+        }
+        StringJoiner orderBy = new StringJoiner(", ", " order by ", "");
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                throw new IllegalArgumentException("Cannot sort currencies by " + order.getProperty());
+            }
+            orderBy.add(column + (order.isAscending() ? " asc" : " desc"));
+        }
+        return orderBy.toString();
+    }
+
+    private static LocalDateTime now() {
+        return LocalDateTime.ofInstant(Instant.now(), ZoneOffset.UTC);
+    }
+
+    /**
+     * @return The user making the write, as JPA auditing records it, or null without an {@link AuditorAware}
+     */
+    private String auditor() {
+        return auditorAware == null ? null : auditorAware.getCurrentAuditor().map(String::valueOf).orElse(null);
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(
+            DatabaseClient.GenericExecuteSpec statement, String name, String value) {
+        return value != null ? statement.bind(name, value) : statement.bindNull(name, String.class);
+    }
+
+    /**
+     * Reads a date column, which is a UTC {@code timestamp} in the Liquibase schema but may carry a zone in a schema
+     * generated by Hibernate
+     */
+    private static Instant instant(Readable row, String column) {
+        return switch (row.get(column)) {
+            case null -> null;
+            case LocalDateTime date -> date.toInstant(ZoneOffset.UTC);
+            case OffsetDateTime date -> date.toInstant();
+            case Instant date -> date;
+            case Object date -> throw new IllegalStateException("Unexpected " + date.getClass() + " in " + column);
+        };
+    }
+
+    private static CurrencyDto toDto(Readable row) {
+        return new CurrencyDto(
+                row.get("id", Long.class),
+                row.get("version", Integer.class),
+                instant(row, "created_date"),
+                instant(row, "last_modified_date"),
+                row.get("created_by", String.class),
+                row.get("last_modified_by", String.class),
+                row.get("name", String.class),
+                row.get("code", String.class),
+                row.get("symbol", String.class),
+                row.get("decimal_places", Integer.class)
+        );
+    }
+
+    private static Currency toEntity(Readable row) {
+        Currency currency = new Currency();
+        currency.setId(row.get("id", Long.class));
+        currency.setVersion(row.get("version", Integer.class));
+        currency.setCreatedDate(instant(row, "created_date"));
+        currency.setLastModifiedDate(instant(row, "last_modified_date"));
+        currency.setCreatedBy(row.get("created_by", String.class));
+        currency.setLastModifiedBy(row.get("last_modified_by", String.class));
+        currency.setName(row.get("name", String.class));
+        currency.setCode(row.get("code", String.class));
+        currency.setSymbol(row.get("symbol", String.class));
+        currency.setDecimalPlaces(row.get("decimal_places", Integer.class));
+        return currency;
+    }
+}
@@ -0,0 +1,32 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A request to convert an amount between two currencies
+ *
+ * @param from   The ISO 4217 code of the currency of the amount
+ * @param to     The ISO 4217 code of the currency to convert to
+ * @param amount The amount to convert
+ * @param at     The instant whose rate applies; the current time if omitted
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ConversionRequest(
+    @NotBlank(message = "Source currency code is required")
+    String from,
+
+    @NotBlank(message = "Target currency code is required")
+    String to,
+
+    @NotNull(message = "Amount is required")
+    BigDecimal amount,
+
+    Instant at
+) implements Serializable {
+}
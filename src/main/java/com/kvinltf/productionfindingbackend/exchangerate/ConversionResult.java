@@ -0,0 +1,31 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * The outcome of a {@link ConversionRequest}
+ *
+ * @param from      The ISO 4217 code of the source currency
+ * @param to        The ISO 4217 code of the target currency
+ * @param amount    The amount converted
+ * @param at        The instant whose rate was applied
+ * @param rate      The rate applied, or {@code null} if the conversion failed
+ * @param converted The converted amount rounded half-even to the decimal places of the target currency,
+ *                  or {@code null} if the conversion failed
+ * @param error     Why the conversion failed, {@code null} on success
+ */
+public record ConversionResult(
+        String from,
+        String to,
+        BigDecimal amount,
+        Instant at,
+        Double rate,
+        BigDecimal converted,
+        String error
+) {
+
+    boolean failed() {
+        return error != null;
+    }
+}
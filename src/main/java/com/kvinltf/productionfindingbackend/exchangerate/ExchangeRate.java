@@ -0,0 +1,62 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import com.kvinltf.productionfindingbackend.core.BaseEntity;
+import com.kvinltf.productionfindingbackend.currency.Currency;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Entity representing the exchange rate between two currencies from a point in time onwards.
+ * One unit of the base currency is worth {@link #rate} units of the quote currency until the next rate of the pair
+ * becomes effective.
+ */
+@Entity
+@Table(name = "exchange_rates", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_exchange_rates_pair_effective_at",
+            columnNames = {"base_currency_id", "quote_currency_id", "effective_at"})
+})
+@Getter
+@Setter
+@ToString
+public class ExchangeRate extends BaseEntity {
+
+    /**
+     * The currency being priced
+     */
+    @NotNull(message = "Base currency is required")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "base_currency_id", nullable = false)
+    @ToString.Exclude
+    private Currency baseCurrency;
+
+    /**
+     * The currency the price is expressed in
+     */
+    @NotNull(message = "Quote currency is required")
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "quote_currency_id", nullable = false)
+    @ToString.Exclude
+    private Currency quoteCurrency;
+
+    /**
+     * The instant from which the rate applies
+     */
+    @NotNull(message = "Effective time is required")
+    @Column(name = "effective_at", nullable = false)
+    private Instant effectiveAt;
+
+    /**
+     * Units of the quote currency per unit of the base currency
+     */
+    @NotNull(message = "Rate is required")
+    @Positive(message = "Rate must be positive")
+    @Column(nullable = false, precision = 24, scale = 12)
+    private BigDecimal rate;
+}
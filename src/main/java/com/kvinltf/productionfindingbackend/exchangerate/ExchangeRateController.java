@@ -0,0 +1,92 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * REST controller for importing exchange rates and converting amounts between currencies
+ */
+@RestController
+@RequestMapping("/exchange-rates")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@AllArgsConstructor
+public class ExchangeRateController {
+    private static final int MAX_BATCH_SIZE = 10_000;
+
+    private final ExchangeRateImporter exchangeRateImporter;
+    private final ExchangeRateConverter exchangeRateConverter;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates or updates exchange rates in bulk, matching stored rates by currency pair and effective time.
+     * All rows are imported in a single transaction; invalid rows are reported and skipped.
+     *
+     * @param requests The rates to import
+     * @return A summary of the import with the rejected rows
+     */
+    @PostMapping(value = "/_bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ExchangeRateImportResponse importRates(@RequestBody List<ExchangeRateRequest> requests) {
+        return exchangeRateImporter.importAll(requests.iterator());
+    }
+
+    /**
+     * Creates or updates exchange rates in bulk from a newline-delimited JSON body, one rate per line
+     *
+     * @param body The request body
+     * @return A summary of the import with the rejected rows
+     */
+    @PostMapping(value = "/_bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ExchangeRateImportResponse importRates(InputStream body) throws IOException {
+        return exchangeRateImporter.importAll(objectMapper.readerFor(ExchangeRateRequest.class).readValues(body));
+    }
+
+    /**
+     * Converts an amount with the rate in effect at an instant
+     *
+     * @param from   The ISO 4217 code of the currency of the amount
+     * @param to     The ISO 4217 code of the currency to convert to
+     * @param amount The amount to convert
+     * @param at     The instant whose rate applies; the current time if omitted
+     * @return The converted amount, or 404 if a currency or rate is not found
+     */
+    @GetMapping("/convert")
+    public ConversionResult convert(
+            @RequestParam String from,
+            @RequestParam String to,
+            @RequestParam BigDecimal amount,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant at
+    ) {
+        ConversionResult result = exchangeRateConverter.convert(new ConversionRequest(from, to, amount, at));
+        if (result.failed()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, result.error());
+        }
+        return result;
+    }
+
+    /**
+     * Converts a batch of amounts; conversions that fail are reported in place rather than failing the batch
+     *
+     * @param requests The conversions to perform, at most {@value #MAX_BATCH_SIZE}
+     * @return The result of each conversion, in request order
+     */
+    @PostMapping("/convert")
+    public List<ConversionResult> convert(@RequestBody List<@Valid ConversionRequest> requests) {
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_SIZE + " conversions per batch");
+        }
+        return requests.stream().map(exchangeRateConverter::convert).toList();
+    }
+}
@@ -0,0 +1,48 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import com.kvinltf.productionfindingbackend.currency.CurrencyCache;
+import com.kvinltf.productionfindingbackend.currency.CurrencyDto;
+import com.kvinltf.productionfindingbackend.currency.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+
+/**
+ * Converts amounts between currencies with the rates of the {@link ExchangeRateStore}, resolving currency codes
+ * through the {@link CurrencyCache}; neither touches the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExchangeRateConverter {
+    private final CurrencyCache currencyCache;
+    private final ExchangeRateStore exchangeRateStore;
+    private final Clock clock = Clock.systemUTC();
+
+    /**
+     * The amount is first rounded half-even to the decimal places of its currency, then converted with {@link Money}.
+     *
+     * @param request The conversion to perform
+     * @return The converted amount, or the reason it could not be converted
+     */
+    public ConversionResult convert(ConversionRequest request) {
+        Instant at = request.at() != null ? request.at() : clock.instant();
+        CurrencyDto from = currencyCache.findByCode(request.from()).orElse(null);
+        CurrencyDto to = currencyCache.findByCode(request.to()).orElse(null);
+        if (from == null || to == null) {
+            return failure(request, at, "Unknown currency " + (from == null ? request.from() : request.to()));
+        }
+        double rate = exchangeRateStore.rateAt(from.getId(), to.getId(), at);
+        if (Double.isNaN(rate)) {
+            return failure(request, at, "No rate from " + request.from() + " to " + request.to() + " at " + at);
+        }
+        BigDecimal converted = Money.of(request.amount(), from).convert(rate, to).toBigDecimal();
+        return new ConversionResult(request.from(), request.to(), request.amount(), at, rate, converted, null);
+    }
+
+    private static ConversionResult failure(ConversionRequest request, Instant at, String error) {
+        return new ConversionResult(request.from(), request.to(), request.amount(), at, null, null, error);
+    }
+}
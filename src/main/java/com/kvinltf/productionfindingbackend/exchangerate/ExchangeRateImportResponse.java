@@ -0,0 +1,23 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import java.util.List;
+
+/**
+ * Response of a bulk exchange rate import.
+ * Only invalid rows are listed individually, as rate imports are typically large.
+ *
+ * @param created The number of rates created
+ * @param updated The number of existing rates whose value changed
+ * @param unchanged The number of rows that matched a stored rate
+ * @param invalid The number of rows rejected
+ * @param errors The rejected rows, in request order
+ */
+public record ExchangeRateImportResponse(int created, int updated, int unchanged, int invalid, List<Error> errors) {
+
+    /**
+     * @param index  The position of the row in the request, starting at 0
+     * @param errors Validation messages of the row
+     */
+    public record Error(int index, List<String> errors) {
+    }
+}
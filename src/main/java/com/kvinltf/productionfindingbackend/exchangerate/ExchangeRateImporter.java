@@ -0,0 +1,175 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import com.kvinltf.productionfindingbackend.currency.Currency;
+import com.kvinltf.productionfindingbackend.currency.CurrencyCache;
+import com.kvinltf.productionfindingbackend.currency.CurrencyDto;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Upserts exchange rates by currency pair and effective time in bulk.
+ * <p>
+ * Like the currency import, rows are processed in chunks within a single transaction: each chunk resolves its
+ * currencies from the {@link CurrencyCache}, matches the stored rates with one query, persists new ones in JDBC
+ * batches, flushes and clears the persistence context.
+ */
+@Component
+public class ExchangeRateImporter {
+    /**
+     * The scale of the {@code rate} column
+     */
+    static final int RATE_SCALE = 12;
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final CurrencyCache currencyCache;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+
+    public ExchangeRateImporter(
+            ExchangeRateRepository exchangeRateRepository,
+            CurrencyCache currencyCache,
+            EntityManager entityManager,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.exchange-rate-import.chunk-size:1000}") int chunkSize
+    ) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.currencyCache = currencyCache;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Creates or updates a rate for each request, matching stored rates by pair and effective time.
+     * Effective times are truncated to microseconds, the precision of the database.
+     *
+     * @param requests The rows to import
+     * @return A summary of the import with the rejected rows
+     */
+    @Transactional
+    public ExchangeRateImportResponse importAll(Iterator<ExchangeRateRequest> requests) {
+        Counts counts = new Counts();
+        List<ExchangeRateRequest> chunk = new ArrayList<>(chunkSize);
+        while (requests.hasNext()) {
+            chunk.add(requests.next());
+            if (chunk.size() == chunkSize) {
+                importChunk(chunk, counts);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, counts);
+        }
+        return new ExchangeRateImportResponse(counts.created, counts.updated, counts.unchanged, counts.errors.size(),
+                counts.errors);
+    }
+
+    private void importChunk(List<ExchangeRateRequest> chunk, Counts counts) {
+        List<Key> keys = new ArrayList<>(chunk.size());
+        Set<Long> baseIds = new HashSet<>();
+        Set<Long> quoteIds = new HashSet<>();
+        Instant from = Instant.MAX;
+        Instant to = Instant.MIN;
+        for (int i = 0; i < chunk.size(); i++) {
+            ExchangeRateRequest request = chunk.get(i);
+            List<String> errors = new ArrayList<>(validator.validate(request).stream()
+                    .map(ConstraintViolation::getMessage)
+                    .toList());
+            Optional<CurrencyDto> base = resolve(request.base(), "base", errors);
+            Optional<CurrencyDto> quote = resolve(request.quote(), "quote", errors);
+            if (base.isPresent() && quote.isPresent() && base.get().getId().equals(quote.get().getId())) {
+                errors.add("Base and quote currencies must differ");
+            }
+            if (!errors.isEmpty()) {
+                counts.errors.add(new ExchangeRateImportResponse.Error(counts.offset + i, errors));
+                keys.add(null);
+                continue;
+            }
+            Key key = new Key(base.get().getId(), quote.get().getId(), request.effectiveAt().truncatedTo(ChronoUnit.MICROS));
+            keys.add(key);
+            baseIds.add(key.baseId());
+            quoteIds.add(key.quoteId());
+            from = key.effectiveAt().isBefore(from) ? key.effectiveAt() : from;
+            to = key.effectiveAt().isAfter(to) ? key.effectiveAt() : to;
+        }
+        counts.offset += chunk.size();
+        if (baseIds.isEmpty()) {
+            return;
+        }
+
+        Map<Key, ExchangeRate> rates = new HashMap<>();
+        for (ExchangeRate rate : exchangeRateRepository.findAllCandidates(baseIds, quoteIds, from, to)) {
+            rates.put(new Key(rate.getBaseCurrency().getId(), rate.getQuoteCurrency().getId(), rate.getEffectiveAt()), rate);
+        }
+
+        Map<Key, ExchangeRate> changed = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            Key key = keys.get(i);
+            if (key == null) {
+                continue;
+            }
+            BigDecimal value = chunk.get(i).rate().setScale(RATE_SCALE, RoundingMode.HALF_EVEN);
+            ExchangeRate rate = rates.get(key);
+            if (rate == null) {
+                rate = new ExchangeRate();
+                rate.setBaseCurrency(entityManager.getReference(Currency.class, key.baseId()));
+                rate.setQuoteCurrency(entityManager.getReference(Currency.class, key.quoteId()));
+                rate.setEffectiveAt(key.effectiveAt());
+                rate.setRate(value);
+                entityManager.persist(rate);
+                rates.put(key, rate);
+                counts.created++;
+            } else if (rate.getRate().compareTo(value) == 0) {
+                counts.unchanged++;
+                continue;
+            } else {
+                rate.setRate(value);
+                counts.updated++;
+            }
+            changed.put(key, rate);
+        }
+        entityManager.flush();
+        List<ExchangeRatePoint> points = changed.values().stream().map(ExchangeRatePoint::from).toList();
+        entityManager.clear();
+        if (!points.isEmpty()) {
+            eventPublisher.publishEvent(new ExchangeRatesChangedEvent(points));
+        }
+    }
+
+    private Optional<CurrencyDto> resolve(String code, String role, List<String> errors) {
+        if (code == null || code.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<CurrencyDto> currency = currencyCache.findByCode(code);
+        if (currency.isEmpty()) {
+            errors.add("Unknown " + role + " currency " + code);
+        }
+        return currency;
+    }
+
+    private record Key(long baseId, long quoteId, Instant effectiveAt) {
+    }
+
+    private static final class Counts {
+        private final List<ExchangeRateImportResponse.Error> errors = new ArrayList<>();
+        private int offset;
+        private int created;
+        private int updated;
+        private int unchanged;
+    }
+}
@@ -0,0 +1,24 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * A single rate of a currency pair, as read from or written to the {@code exchange_rates} table
+ *
+ * @param baseCurrencyId  The ID of the base currency
+ * @param quoteCurrencyId The ID of the quote currency
+ * @param effectiveAt     The instant from which the rate applies
+ * @param rate            Units of the quote currency per unit of the base currency
+ */
+public record ExchangeRatePoint(long baseCurrencyId, long quoteCurrencyId, Instant effectiveAt, BigDecimal rate) {
+
+    static ExchangeRatePoint from(ExchangeRate exchangeRate) {
+        return new ExchangeRatePoint(
+                exchangeRate.getBaseCurrency().getId(),
+                exchangeRate.getQuoteCurrency().getId(),
+                exchangeRate.getEffectiveAt(),
+                exchangeRate.getRate()
+        );
+    }
+}
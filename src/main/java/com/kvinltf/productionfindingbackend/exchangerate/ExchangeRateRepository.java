@@ -0,0 +1,36 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface ExchangeRateRepository extends JpaRepository<ExchangeRate, Long> {
+
+    /**
+     * Finds the rates of the given base and quote currencies that became effective in a time range.
+     * Used to match a chunk of imported rates against the stored ones with a single query; the result is a
+     * superset that the caller narrows down to exact pairs.
+     */
+    @Query("select r from ExchangeRate r where r.baseCurrency.id in :baseIds and r.quoteCurrency.id in :quoteIds "
+            + "and r.effectiveAt between :from and :to")
+    List<ExchangeRate> findAllCandidates(Collection<Long> baseIds, Collection<Long> quoteIds, Instant from, Instant to);
+
+    /**
+     * Streams all rates as {@link ExchangeRatePoint}s, ordered by pair and effective time, from a forward-only cursor
+     */
+    @Query("select new com.kvinltf.productionfindingbackend.exchangerate.ExchangeRatePoint("
+            + "r.baseCurrency.id, r.quoteCurrency.id, r.effectiveAt, r.rate) from ExchangeRate r "
+            + "order by r.baseCurrency.id, r.quoteCurrency.id, r.effectiveAt")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ExchangeRatePoint> streamAllPoints();
+}
@@ -0,0 +1,30 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * DTO for importing an {@link ExchangeRate}, with the currencies given by ISO 4217 code
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ExchangeRateRequest(
+    @NotBlank(message = "Base currency code is required")
+    String base,
+
+    @NotBlank(message = "Quote currency code is required")
+    String quote,
+
+    @NotNull(message = "Effective time is required")
+    Instant effectiveAt,
+
+    @NotNull(message = "Rate is required")
+    @Positive(message = "Rate must be positive")
+    BigDecimal rate
+) implements Serializable {
+}
@@ -0,0 +1,205 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import com.kvinltf.productionfindingbackend.core.jdbc.ReadYourWrites;
+import com.kvinltf.productionfindingbackend.currency.CurrencyChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Read-side store of all exchange rates, answering "rate of a pair as of an instant" lookups from memory.
+ * <p>
+ * Each pair's rates are held as a {@link RateSeries} of primitive arrays sorted by time, reached through a
+ * {@link PairIndex}, so a lookup is a hash probe and a binary search that allocate nothing. As with the
+ * {@code CurrencyCache}, the published index is immutable: committed imports are merged into copies of the affected
+ * series and a new index is swapped in, so readers take no locks. Until the first load completes, no rates are found.
+ * Imports committed by other instances publish no event here, so the whole table is also reloaded every
+ * {@code app.exchange-rates.refresh-interval}.
+ */
+@Component
+public class ExchangeRateStore {
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final ExchangeRateRepository exchangeRateRepository;
+    private final Timer reloads;
+
+    private volatile PairIndex index = PairIndex.EMPTY;
+
+    public ExchangeRateStore(ExchangeRateRepository exchangeRateRepository, MeterRegistry meterRegistry) {
+        this.exchangeRateRepository = exchangeRateRepository;
+        this.reloads = Timer.builder("exchange.rates.reloads").register(meterRegistry);
+        Gauge.builder("exchange.rates.pairs", this, store -> store.index.size()).register(meterRegistry);
+        Gauge.builder("exchange.rates.points", this, store -> store.index.points()).register(meterRegistry);
+    }
+
+    /**
+     * Looks up the rate of a pair in effect at an instant.
+     * When only the opposite pair is stored, the reciprocal of its rate is returned.
+     *
+     * @param baseId  The ID of the base currency
+     * @param quoteId The ID of the quote currency
+     * @param at      The instant of interest
+     * @return Units of the quote currency per unit of the base currency, or {@link Double#NaN} if no rate applies,
+     * as for IDs past {@link PairIndex#MAX_ID}, whose rates are never stored
+     */
+    public double rateAt(long baseId, long quoteId, Instant at) {
+        return rateAt(baseId, quoteId, toMicros(at));
+    }
+
+    /**
+     * @param time An instant in microseconds since the epoch
+     * @see #rateAt(long, long, Instant)
+     */
+    public double rateAt(long baseId, long quoteId, long time) {
+        if (baseId == quoteId) {
+            return 1.0;
+        }
+        if (!PairIndex.packable(baseId, quoteId)) {
+            return Double.NaN;
+        }
+        PairIndex current = index;
+        RateSeries direct = current.get(PairIndex.key(baseId, quoteId));
+        if (direct != null) {
+            int i = direct.indexAt(time);
+            if (i >= 0) {
+                return direct.rates[i];
+            }
+        }
+        RateSeries inverse = current.get(PairIndex.key(quoteId, baseId));
+        if (inverse != null) {
+            int i = inverse.indexAt(time);
+            if (i >= 0) {
+                return 1.0 / inverse.rates[i];
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Replaces the stored rates with the content of the {@code exchange_rates} table, read through a cursor on the
+     * primary, so that no write committed before the reload is missing from it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.exchange-rates.refresh-interval:1m}",
+            initialDelayString = "${app.exchange-rates.refresh-interval:1m}")
+    @Transactional(readOnly = true)
+    public synchronized void reload() {
+        index = reloads.record(() -> ReadYourWrites.fromPrimary(() -> {
+            Map<Long, RateSeries> series = new HashMap<>();
+            try (Stream<ExchangeRatePoint> points = exchangeRateRepository.streamAllPoints()) {
+                Iterator<ExchangeRatePoint> iterator = points.iterator();
+                SeriesBuilder builder = null;
+                while (iterator.hasNext()) {
+                    ExchangeRatePoint point = iterator.next();
+                    if (!PairIndex.packable(point.baseCurrencyId(), point.quoteCurrencyId())) {
+                        continue;
+                    }
+                    long key = PairIndex.key(point.baseCurrencyId(), point.quoteCurrencyId());
+                    if (builder == null || builder.key != key) {
+                        if (builder != null) {
+                            series.put(builder.key, builder.build());
+                        }
+                        builder = new SeriesBuilder(key);
+                    }
+                    builder.add(point);
+                }
+                if (builder != null) {
+                    series.put(builder.key, builder.build());
+                }
+            }
+            return PairIndex.EMPTY.with(series);
+        }));
+    }
+
+    /**
+     * Merges committed rates into the store
+     *
+     * @param event The rates written, published by {@link ExchangeRateImporter}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRatesChanged(ExchangeRatesChangedEvent event) {
+        Map<Long, List<ExchangeRatePoint>> byPair = new HashMap<>();
+        for (ExchangeRatePoint point : event.points()) {
+            if (!PairIndex.packable(point.baseCurrencyId(), point.quoteCurrencyId())) {
+                continue;
+            }
+            byPair.computeIfAbsent(PairIndex.key(point.baseCurrencyId(), point.quoteCurrencyId()), key -> new ArrayList<>())
+                    .add(point);
+        }
+        PairIndex current = index;
+        Map<Long, RateSeries> merged = new HashMap<>();
+        byPair.forEach((key, points) -> {
+            points.sort(Comparator.comparing(ExchangeRatePoint::effectiveAt));
+            SeriesBuilder builder = new SeriesBuilder(key);
+            points.forEach(builder::add);
+            RateSeries added = builder.build();
+            RateSeries existing = current.get(key);
+            merged.put(key, existing == null ? added : existing.merge(added.times, added.rates));
+        });
+        index = current.with(merged);
+    }
+
+    /**
+     * Drops the pairs of a deleted currency; their rows are removed by the database through cascading foreign keys
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCurrencyChanged(CurrencyChangedEvent event) {
+        if (event.type() != CurrencyChangedEvent.Type.DELETED) {
+            return;
+        }
+        long id = event.currency().getId();
+        index = index.without(key -> PairIndex.baseId(key) == id || PairIndex.quoteId(key) == id);
+    }
+
+    static long toMicros(Instant instant) {
+        return instant.getEpochSecond() * MICROS_PER_SECOND + instant.getNano() / 1_000;
+    }
+
+    /**
+     * Accumulates the points of one pair, given in ascending time order; a repeated time keeps the last point
+     */
+    private static final class SeriesBuilder {
+        private final long key;
+        private long[] times = new long[16];
+        private double[] rates = new double[16];
+        private int size;
+
+        private SeriesBuilder(long key) {
+            this.key = key;
+        }
+
+        private void add(ExchangeRatePoint point) {
+            long time = toMicros(point.effectiveAt());
+            if (size > 0 && times[size - 1] == time) {
+                rates[size - 1] = point.rate().doubleValue();
+                return;
+            }
+            if (size == times.length) {
+                times = Arrays.copyOf(times, size * 2);
+                rates = Arrays.copyOf(rates, size * 2);
+            }
+            times[size] = time;
+            rates[size++] = point.rate().doubleValue();
+        }
+
+        private RateSeries build() {
+            return new RateSeries(Arrays.copyOf(times, size), Arrays.copyOf(rates, size));
+        }
+    }
+}
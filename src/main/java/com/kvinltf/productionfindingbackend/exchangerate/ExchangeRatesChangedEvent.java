@@ -0,0 +1,11 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import java.util.List;
+
+/**
+ * Published when exchange rates have been created or updated
+ *
+ * @param points The rates as written
+ */
+public record ExchangeRatesChangedEvent(List<ExchangeRatePoint> points) {
+}
@@ -0,0 +1,137 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Immutable open-addressing hash map from a currency pair, packed into a {@code long}, to its {@link RateSeries}.
+ * <p>
+ * Lookups are a multiply, a shift and a linear probe over a primitive key array, so they neither box the key
+ * nor allocate. The table is kept at most half full.
+ */
+final class PairIndex {
+    static final PairIndex EMPTY = new PairIndex(new long[2], new RateSeries[2], 0);
+
+    private final long[] keys;
+    private final RateSeries[] values;
+    private final int size;
+
+    private PairIndex(long[] keys, RateSeries[] values, int size) {
+        this.keys = keys;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * The largest currency ID a key can hold, in 32 unsigned bits
+     */
+    static final long MAX_ID = 0xFFFFFFFFL;
+
+    /**
+     * @return Whether both IDs fit in a key; a pair that does not can have no rates in the index
+     */
+    static boolean packable(long baseId, long quoteId) {
+        return baseId > 0 && baseId <= MAX_ID && quoteId > 0 && quoteId <= MAX_ID;
+    }
+
+    /**
+     * Packs a pair of currency IDs into a key; 0 is never a valid key since IDs start at 1
+     *
+     * @throws IllegalArgumentException If the pair is not {@link #packable}
+     */
+    static long key(long baseId, long quoteId) {
+        if (!packable(baseId, quoteId)) {
+            throw new IllegalArgumentException("Currency IDs out of range: " + baseId + ", " + quoteId);
+        }
+        return (baseId << 32) | quoteId;
+    }
+
+    static long baseId(long key) {
+        return key >>> 32;
+    }
+
+    static long quoteId(long key) {
+        return key & 0xFFFFFFFFL;
+    }
+
+    RateSeries get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slot(key, mask); ; slot = (slot + 1) & mask) {
+            long candidate = keys[slot];
+            if (candidate == key) {
+                return values[slot];
+            }
+            if (candidate == 0) {
+                return null;
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long points() {
+        long points = 0;
+        for (RateSeries series : values) {
+            if (series != null) {
+                points += series.times.length;
+            }
+        }
+        return points;
+    }
+
+    /**
+     * @return A copy with the given series added or replaced
+     */
+    PairIndex with(Map<Long, RateSeries> series) {
+        int capacity = keys.length;
+        while (capacity < 2 * (size + series.size())) {
+            capacity <<= 1;
+        }
+        long[] newKeys = new long[capacity];
+        RateSeries[] newValues = new RateSeries[capacity];
+        int newSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0 && !series.containsKey(keys[i])) {
+                put(newKeys, newValues, keys[i], values[i]);
+                newSize++;
+            }
+        }
+        for (Map.Entry<Long, RateSeries> entry : series.entrySet()) {
+            put(newKeys, newValues, entry.getKey(), entry.getValue());
+            newSize++;
+        }
+        return new PairIndex(newKeys, newValues, newSize);
+    }
+
+    /**
+     * @return A copy without the pairs whose key matches
+     */
+    PairIndex without(LongPredicate filter) {
+        long[] newKeys = new long[keys.length];
+        RateSeries[] newValues = new RateSeries[keys.length];
+        int newSize = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0 && !filter.test(keys[i])) {
+                put(newKeys, newValues, keys[i], values[i]);
+                newSize++;
+            }
+        }
+        return newSize == size ? this : new PairIndex(newKeys, newValues, newSize);
+    }
+
+    private static void put(long[] keys, RateSeries[] values, long key, RateSeries value) {
+        int mask = keys.length - 1;
+        int slot = slot(key, mask);
+        while (keys[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+    }
+
+    private static int slot(long key, int mask) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+}
@@ -0,0 +1,59 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import java.util.Arrays;
+
+/**
+ * The rates of one currency pair as two parallel primitive arrays sorted by effective time.
+ * Instances are immutable once published; updates produce a merged copy.
+ */
+final class RateSeries {
+    final long[] times;
+    final double[] rates;
+
+    RateSeries(long[] times, double[] rates) {
+        this.times = times;
+        this.rates = rates;
+    }
+
+    /**
+     * @param time An instant in microseconds since the epoch
+     * @return The index of the last rate effective at or before {@code time}, or -1 if there is none
+     */
+    int indexAt(long time) {
+        int low = 0;
+        int high = times.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (times[mid] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Merges sorted, distinct points into a copy of this series; a point replaces an existing one at the same time
+     */
+    RateSeries merge(long[] newTimes, double[] newRates) {
+        long[] mergedTimes = new long[times.length + newTimes.length];
+        double[] mergedRates = new double[mergedTimes.length];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < times.length || j < newTimes.length) {
+            if (j == newTimes.length || (i < times.length && times[i] < newTimes[j])) {
+                mergedTimes[n] = times[i];
+                mergedRates[n++] = rates[i++];
+            } else {
+                if (i < times.length && times[i] == newTimes[j]) {
+                    i++;
+                }
+                mergedTimes[n] = newTimes[j];
+                mergedRates[n++] = newRates[j++];
+            }
+        }
+        return new RateSeries(Arrays.copyOf(mergedTimes, n), Arrays.copyOf(mergedRates, n));
+    }
+}
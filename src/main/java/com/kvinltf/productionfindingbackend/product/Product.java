@@ -0,0 +1,63 @@
+package com.kvinltf.productionfindingbackend.product;
+
+import com.kvinltf.productionfindingbackend.core.BaseEntity;
+import com.kvinltf.productionfindingbackend.currency.Currency;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Entity representing a product in the catalog.
+ * Its price, when known, is an amount of minor units of a {@link Currency}, scaled by the currency's decimal places.
+ */
+@Entity
+@Table(name = "products")
+@Getter
+@Setter
+@ToString
+public class Product extends BaseEntity {
+
+    /**
+     * The display name of the product
+     */
+    @NotBlank(message = "Product name is required")
+    @Size(max = 200, message = "Product name must be less than 200 characters")
+    @Column(length = 200, nullable = false)
+    private String name;
+
+    /**
+     * A free-text description of the product
+     */
+    @Size(max = 4000, message = "Product description must be less than 4000 characters")
+    @Column(length = 4000)
+    private String description;
+
+    /**
+     * Free-form attributes of the product (e.g. "color" to "red"), stored as JSON
+     */
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "attributes")
+    private Map<String, String> attributes = new HashMap<>();
+
+    /**
+     * The price in minor units of {@link #priceCurrency}
+     */
+    @Column(name = "price_minor")
+    private Long priceMinor;
+
+    /**
+     * The currency of the price
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "price_currency_id")
+    @ToString.Exclude
+    private Currency priceCurrency;
+}
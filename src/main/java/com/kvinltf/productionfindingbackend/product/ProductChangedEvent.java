@@ -0,0 +1,16 @@
+package com.kvinltf.productionfindingbackend.product;
+
+/**
+ * Published when a product has been created, updated or deleted
+ *
+ * @param type    What happened to the product
+ * @param product The state of the product after the change, or before it for deletions
+ */
+public record ProductChangedEvent(Type type, ProductDto product) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
@@ -0,0 +1,151 @@
+package com.kvinltf.productionfindingbackend.product;
+
+import com.kvinltf.productionfindingbackend.currency.CurrencyCache;
+import com.kvinltf.productionfindingbackend.currency.CurrencyDto;
+import com.kvinltf.productionfindingbackend.currency.CurrencyRepository;
+import com.kvinltf.productionfindingbackend.currency.Money;
+import jakarta.validation.Valid;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.PagedModel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+
+/**
+ * REST controller for managing and searching products
+ */
+@RestController
+@RequestMapping("/products")
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@AllArgsConstructor
+public class ProductController {
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    private final ProductRepository productRepository;
+    private final CurrencyRepository currencyRepository;
+    private final CurrencyCache currencyCache;
+    private final ProductSearchIndex productSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Creates a new product
+     *
+     * @param request The request containing the product details
+     * @return The created product
+     */
+    @PostMapping
+    @Transactional
+    public ProductDto createProduct(@Valid @RequestBody ProductRequest request) {
+        Product product = new Product();
+        apply(product, request);
+        ProductDto saved = ProductDto.from(productRepository.save(product));
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.CREATED, saved));
+        return saved;
+    }
+
+    /**
+     * Retrieves all products with pagination
+     *
+     * @param pageable Pagination information
+     * @return A page of products
+     */
+    @GetMapping
+    @Transactional(readOnly = true)
+    public PagedModel<ProductDto> getAllProducts(
+            @PageableDefault(size = 20, sort = "id", direction = Sort.Direction.DESC)
+            Pageable pageable
+    ) {
+        return new PagedModel<>(productRepository.findAllAsDto(pageable));
+    }
+
+    /**
+     * Searches products by name, description and attribute values.
+     * All words of the query must match, the last one also as a prefix; results are ranked by relevance.
+     *
+     * @param q    The query text
+     * @param page The zero-based page number
+     * @param size The page size, at most {@value #MAX_SEARCH_PAGE_SIZE}
+     * @return A page of hits with the total number of matches
+     */
+    @GetMapping("/search")
+    public ProductSearchResult searchProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (page < 0 || size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Page must not be negative and size must be between 1 and " + MAX_SEARCH_PAGE_SIZE);
+        }
+        return productSearchIndex.search(q, page, size);
+    }
+
+    /**
+     * Retrieves a product by its ID
+     *
+     * @param id The ID of the product
+     * @return The product, or 404 if not found
+     */
+    @GetMapping("/{id}")
+    @Transactional(readOnly = true)
+    public ResponseEntity<ProductDto> getProductById(@PathVariable Long id) {
+        return ResponseEntity.of(productRepository.findDtoById(id));
+    }
+
+    /**
+     * Updates an existing product
+     *
+     * @param id      The ID of the product to update
+     * @param request The request containing the updated product details
+     * @return The updated product
+     */
+    @PutMapping("/{id}")
+    @Transactional
+    public ProductDto updateProduct(@PathVariable Long id, @Valid @RequestBody ProductRequest request) {
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        apply(product, request);
+        ProductDto saved = ProductDto.from(productRepository.saveAndFlush(product));
+        eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED, saved));
+        return saved;
+    }
+
+    /**
+     * Deletes a product
+     *
+     * @param id The ID of the product to delete
+     */
+    @DeleteMapping("/{id}")
+    @Transactional
+    public void deleteProduct(@PathVariable Long id) {
+        productRepository.findById(id).ifPresent(product -> {
+            productRepository.delete(product);
+            eventPublisher.publishEvent(new ProductChangedEvent(ProductChangedEvent.Type.DELETED, ProductDto.from(product)));
+        });
+    }
+
+    private void apply(Product product, ProductRequest request) {
+        product.setName(request.name());
+        product.setDescription(request.description());
+        product.setAttributes(request.attributes() != null ? new HashMap<>(request.attributes()) : new HashMap<>());
+        Money price = request.price();
+        if (price == null) {
+            product.setPriceMinor(null);
+            product.setPriceCurrency(null);
+            return;
+        }
+        CurrencyDto currency = currencyCache.findByCode(price.currency())
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown currency " + price.currency()));
+        product.setPriceMinor(price.minorUnits());
+        product.setPriceCurrency(currencyRepository.getReferenceById(currency.getId()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.kvinltf.productionfindingbackend.product;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.kvinltf.productionfindingbackend.core.Versioned;
+import com.kvinltf.productionfindingbackend.currency.Currency;
+import com.kvinltf.productionfindingbackend.currency.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * DTO for {@link Product}
+ * Contains all the fields from the Product entity, with the price resolved to {@link Money}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Accessors(chain = true)
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ProductDto implements Serializable, Versioned {
+    private Long id;
+    private Integer version;
+    private Instant createdDate;
+    private Instant lastModifiedDate;
+    private String createdBy;
+    private String lastModifiedBy;
+    private String name;
+    private String description;
+    private Map<String, String> attributes;
+    private Money price;
+
+    /**
+     * Constructor expression target of {@link ProductRepository}, taking the price as its parts
+     */
+    public ProductDto(Long id, Integer version, Instant createdDate, Instant lastModifiedDate, String createdBy,
+                      String lastModifiedBy, String name, String description, Map<String, String> attributes,
+                      Long priceMinor, String priceCurrency, Integer priceDecimalPlaces) {
+        this(id, version, createdDate, lastModifiedDate, createdBy, lastModifiedBy, name, description,
+                attributes == null ? Map.of() : Map.copyOf(attributes),
+                priceMinor == null ? null : Money.ofMinor(priceMinor, priceCurrency, priceDecimalPlaces));
+    }
+
+    /**
+     * Copies the current state of a {@link Product} entity, loading its price currency if needed
+     *
+     * @param product The entity to copy
+     * @return A detached copy of the entity's fields
+     */
+    public static ProductDto from(Product product) {
+        Currency currency = product.getPriceCurrency();
+        return new ProductDto(
+                product.getId(),
+                product.getVersion(),
+                product.getCreatedDate(),
+                product.getLastModifiedDate(),
+                product.getCreatedBy(),
+                product.getLastModifiedBy(),
+                product.getName(),
+                product.getDescription(),
+                product.getAttributes(),
+                currency == null ? null : product.getPriceMinor(),
+                currency == null ? null : currency.getCode(),
+                currency == null ? null : currency.getDecimalPlaces()
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.kvinltf.productionfindingbackend.product;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+public interface ProductRepository extends JpaRepository<Product, Long> {
+    String SELECT_DTO = "select new com.kvinltf.productionfindingbackend.product.ProductDto("
+            + "p.id, p.version, p.createdDate, p.lastModifiedDate, p.createdBy, p.lastModifiedBy, "
+            + "p.name, p.description, p.attributes, p.priceMinor, c.code, c.decimalPlaces) "
+            + "from Product p left join p.priceCurrency c";
+
+    /**
+     * Reads a page of products straight into {@link ProductDto}s, with their price currency joined
+     */
+    @Query(value = SELECT_DTO, countQuery = "select count(p) from Product p")
+    Page<ProductDto> findAllAsDto(Pageable pageable);
+
+    @Query(SELECT_DTO + " where p.id = :id")
+    Optional<ProductDto> findDtoById(Long id);
+
+    /**
+     * Streams all products as {@link ProductDto}s from a forward-only cursor; must be called in a transaction
+     */
+    @Query(SELECT_DTO + " order by p.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<ProductDto> streamAllAsDto();
+}
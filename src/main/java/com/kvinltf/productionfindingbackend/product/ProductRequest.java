@@ -0,0 +1,28 @@
+package com.kvinltf.productionfindingbackend.product;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.kvinltf.productionfindingbackend.currency.Money;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * DTO for creating or updating a {@link Product}
+ * The price is given as {@code {"amount": 12.34, "currency": "USD"}} and may be omitted.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ProductRequest(
+    @NotBlank(message = "Product name is required")
+    @Size(max = 200, message = "Product name must be less than 200 characters")
+    String name,
+
+    @Size(max = 4000, message = "Product description must be less than 4000 characters")
+    String description,
+
+    Map<String, String> attributes,
+
+    Money price
+) implements Serializable {
+}
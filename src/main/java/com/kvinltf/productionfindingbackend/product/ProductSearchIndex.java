@@ -0,0 +1,293 @@
+package com.kvinltf.productionfindingbackend.product;
+
+import com.kvinltf.productionfindingbackend.core.jdbc.ReadYourWrites;
+import com.kvinltf.productionfindingbackend.core.search.Tokenizer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over the name, description and attribute values of all products, ranked with BM25.
+ * <p>
+ * Every query term must match. The last term also matches as a prefix, through a sorted term dictionary, so results
+ * follow the user while typing; prefix expansions score below exact matches. Name terms count double.
+ * <p>
+ * The index is built from the {@code products} table once the application is ready and kept current by applying
+ * each committed {@link ProductChangedEvent}. Searches share a read lock and updates take the write lock; a reload
+ * builds a new {@link Segment} off to the side and swaps it in. Writes committed by other instances publish no event
+ * here, so the index is also rebuilt every {@code app.product-search.refresh-interval}.
+ */
+@Component
+public class ProductSearchIndex {
+    static final int MAX_WINDOW = 1000;
+    private static final float NAME_BOOST = 2f;
+    private static final float PREFIX_WEIGHT = 0.5f;
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int MAX_QUERY_TERMS = 16;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+
+    private final ProductRepository productRepository;
+    private final Timer queries;
+    private final Timer reloads;
+
+    private volatile Segment segment = new Segment();
+
+    public ProductSearchIndex(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.queries = Timer.builder("product.search.queries").publishPercentileHistogram().register(meterRegistry);
+        this.reloads = Timer.builder("product.search.reloads").register(meterRegistry);
+        Gauge.builder("product.search.documents", this, index -> index.segment.count).register(meterRegistry);
+        Gauge.builder("product.search.terms", this, index -> index.segment.terms.size()).register(meterRegistry);
+    }
+
+    /**
+     * Finds the products matching all terms of a query, best first
+     *
+     * @param query The query text
+     * @param page  The zero-based page number
+     * @param size  The page size; pages end at the {@value #MAX_WINDOW}th hit
+     * @return A page of hits with the total number of matches
+     */
+    public ProductSearchResult search(String query, int page, int size) {
+        Segment current = segment;
+        return queries.record(() -> {
+            current.lock.readLock().lock();
+            try {
+                return current.search(query, page, size);
+            } finally {
+                current.lock.readLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Replaces the index with one built from the current content of the {@code products} table, read on the primary
+     * so that no write committed before the reload is missing from it
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.product-search.refresh-interval:5m}",
+            initialDelayString = "${app.product-search.refresh-interval:5m}")
+    @Transactional(readOnly = true)
+    public synchronized void reload() {
+        segment = reloads.record(() -> ReadYourWrites.fromPrimary(() -> {
+            Segment rebuilt = new Segment();
+            try (Stream<ProductDto> products = productRepository.streamAllAsDto()) {
+                products.forEach(rebuilt::put);
+            }
+            return rebuilt;
+        }));
+    }
+
+    /**
+     * Applies a committed write to the index
+     *
+     * @param event The change, published by {@link ProductController}
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onProductChanged(ProductChangedEvent event) {
+        Segment current = segment;
+        current.lock.writeLock().lock();
+        try {
+            if (event.type() == ProductChangedEvent.Type.DELETED) {
+                current.remove(event.product().getId());
+            } else {
+                current.put(event.product());
+            }
+        } finally {
+            current.lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * The mutable index structures, guarded by {@link #lock}. Documents are numbered densely so that per-query
+     * scores can live in plain arrays; numbers of removed documents are reused.
+     */
+    static final class Segment {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final NavigableMap<String, Postings> terms = new TreeMap<>();
+        private final Map<Long, Integer> docsById = new HashMap<>();
+        private final Deque<Integer> free = new ArrayDeque<>();
+        private ProductDto[] docs = new ProductDto[64];
+        private String[][] docTerms = new String[64][];
+        private float[] lengths = new float[64];
+        private int maxDoc;
+        private int count;
+        private double totalLength;
+
+        void put(ProductDto product) {
+            remove(product.getId());
+            Map<String, Float> frequencies = new HashMap<>();
+            float length = 0;
+            for (String term : Tokenizer.tokenize(product.getName())) {
+                frequencies.merge(term, NAME_BOOST, Float::sum);
+                length += NAME_BOOST;
+            }
+            List<String> text = new ArrayList<>(Tokenizer.tokenize(product.getDescription()));
+            if (product.getAttributes() != null) {
+                product.getAttributes().values().forEach(value -> text.addAll(Tokenizer.tokenize(value)));
+            }
+            for (String term : text) {
+                frequencies.merge(term, 1f, Float::sum);
+                length += 1;
+            }
+
+            int doc = free.isEmpty() ? maxDoc++ : free.pop();
+            if (doc == docs.length) {
+                docs = Arrays.copyOf(docs, doc * 2);
+                docTerms = Arrays.copyOf(docTerms, doc * 2);
+                lengths = Arrays.copyOf(lengths, doc * 2);
+            }
+            docs[doc] = product;
+            docTerms[doc] = frequencies.keySet().toArray(String[]::new);
+            lengths[doc] = length;
+            frequencies.forEach((term, frequency) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, frequency));
+            docsById.put(product.getId(), doc);
+            count++;
+            totalLength += length;
+        }
+
+        void remove(Long id) {
+            Integer doc = docsById.remove(id);
+            if (doc == null) {
+                return;
+            }
+            for (String term : docTerms[doc]) {
+                Postings postings = terms.get(term);
+                postings.remove(doc);
+                if (postings.size == 0) {
+                    terms.remove(term);
+                }
+            }
+            totalLength -= lengths[doc];
+            docs[doc] = null;
+            docTerms[doc] = null;
+            lengths[doc] = 0;
+            free.push(doc);
+            count--;
+        }
+
+        ProductSearchResult search(String query, int page, int size) {
+            List<String> queryTerms = Tokenizer.tokenize(query);
+            if (queryTerms.size() > MAX_QUERY_TERMS) {
+                queryTerms = queryTerms.subList(0, MAX_QUERY_TERMS);
+            }
+            if (queryTerms.isEmpty() || count == 0 || size <= 0) {
+                return new ProductSearchResult(List.of(), page, size, 0);
+            }
+            float[] scores = new float[maxDoc];
+            int[] matched = new int[maxDoc];
+            int[] candidates = new int[maxDoc];
+            int candidateCount = 0;
+            float averageLength = (float) (totalLength / count);
+            for (int i = 0; i < queryTerms.size(); i++) {
+                String term = queryTerms.get(i);
+                int bit = 1 << i;
+                Postings exact = terms.get(term);
+                if (exact != null) {
+                    candidateCount = score(exact, 1f, bit, averageLength, scores, matched, candidates, candidateCount);
+                }
+                if (i == queryTerms.size() - 1) {
+                    int expansions = 0;
+                    for (Map.Entry<String, Postings> entry : terms.tailMap(term, false).entrySet()) {
+                        if (!entry.getKey().startsWith(term) || expansions++ == MAX_PREFIX_EXPANSIONS) {
+                            break;
+                        }
+                        candidateCount = score(entry.getValue(), PREFIX_WEIGHT, bit, averageLength, scores, matched,
+                                candidates, candidateCount);
+                    }
+                }
+            }
+
+            int all = (1 << queryTerms.size()) - 1;
+            // In long, since a page far past the window would overflow
+            long offset = (long) page * size;
+            int window = (int) Math.min(offset + size, MAX_WINDOW);
+            PriorityQueue<Integer> top = new PriorityQueue<>(window + 1, (a, b) -> compare(scores, a, b));
+            int totalHits = 0;
+            for (int c = 0; c < candidateCount; c++) {
+                int doc = candidates[c];
+                if (matched[doc] != all) {
+                    continue;
+                }
+                totalHits++;
+                if (top.size() < window) {
+                    top.add(doc);
+                } else if (compare(scores, doc, top.peek()) > 0) {
+                    top.poll();
+                    top.add(doc);
+                }
+            }
+            Integer[] ranked = top.toArray(Integer[]::new);
+            Arrays.sort(ranked, (a, b) -> compare(scores, b, a));
+            List<ProductSearchResult.Hit> content = new ArrayList<>();
+            for (int r = (int) Math.min(offset, ranked.length); r < ranked.length; r++) {
+                content.add(new ProductSearchResult.Hit(docs[ranked[r]], scores[ranked[r]]));
+            }
+            return new ProductSearchResult(content, page, size, totalHits);
+        }
+
+        private int score(Postings postings, float weight, int bit, float averageLength,
+                          float[] scores, int[] matched, int[] candidates, int candidateCount) {
+            float idf = (float) Math.log(1 + (count - postings.size + 0.5) / (postings.size + 0.5));
+            for (int p = 0; p < postings.size; p++) {
+                int doc = postings.docs[p];
+                float tf = postings.frequencies[p];
+                float norm = K1 * (1 - B + B * lengths[doc] / averageLength);
+                if (matched[doc] == 0) {
+                    candidates[candidateCount++] = doc;
+                }
+                matched[doc] |= bit;
+                scores[doc] += weight * idf * tf * (K1 + 1) / (tf + norm);
+            }
+            return candidateCount;
+        }
+
+        /**
+         * Orders documents by score, then by ascending ID for a stable ranking
+         */
+        private int compare(float[] scores, int a, int b) {
+            int byScore = Float.compare(scores[a], scores[b]);
+            return byScore != 0 ? byScore : Long.compare(docs[b].getId(), docs[a].getId());
+        }
+    }
+
+    /**
+     * The documents containing a term with the term's weighted frequency in each; unordered
+     */
+    private static final class Postings {
+        private int[] docs = new int[4];
+        private float[] frequencies = new float[4];
+        private int size;
+
+        void add(int doc, float frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size++] = frequency;
+        }
+
+        void remove(int doc) {
+            for (int p = 0; p < size; p++) {
+                if (docs[p] == doc) {
+                    docs[p] = docs[--size];
+                    frequencies[p] = frequencies[size];
+                    return;
+                }
+            }
+        }
+    }
+}
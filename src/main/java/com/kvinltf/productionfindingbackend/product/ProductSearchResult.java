@@ -0,0 +1,21 @@
+package com.kvinltf.productionfindingbackend.product;
+
+import java.util.List;
+
+/**
+ * A page of product search hits, best first
+ *
+ * @param content   The hits of the page
+ * @param page      The zero-based page number
+ * @param size      The requested page size
+ * @param totalHits The number of products matching the query
+ */
+public record ProductSearchResult(List<Hit> content, int page, int size, int totalHits) {
+
+    /**
+     * @param product The matching product
+     * @param score   The relevance of the product to the query; only meaningful relative to other hits
+     */
+    public record Hit(ProductDto product, float score) {
+    }
+}
@@ -0,0 +1,104 @@
+package com.kvinltf.productionfindingbackend.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link ETags}.
+ */
+class ETagsTest {
+    private static final Instant MODIFIED = Instant.parse("2025-03-01T12:00:00Z");
+
+    @Test
+    @DisplayName("Should build a strong tag from the ID and version")
+    void shouldBuildAStrongTagFromTheIdAndVersion() {
+        // When / Then
+        assertThat(ETags.strong(12L, 3)).isEqualTo("\"12-3\"");
+        assertThat(ETags.strong(item(12L, 3, MODIFIED))).isEqualTo("\"12-3\"");
+    }
+
+    @Test
+    @DisplayName("Should change the list tag when an item, the membership or the total changes")
+    void shouldChangeTheListTagWhenTheListChanges() {
+        // Given
+        List<Versioned> items = List.of(item(1L, 1, MODIFIED), item(2L, 4, MODIFIED));
+        String tag = ETags.weak(2, items);
+
+        // When / Then
+        assertThat(tag).startsWith("W/\"");
+        assertThat(ETags.weak(2, List.of(item(1L, 1, MODIFIED), item(2L, 4, MODIFIED)))).isEqualTo(tag);
+        assertThat(ETags.weak(2, List.of(item(1L, 1, MODIFIED), item(2L, 5, MODIFIED.plusSeconds(1))))).isNotEqualTo(tag);
+        assertThat(ETags.weak(2, List.of(item(1L, 1, MODIFIED), item(3L, 4, MODIFIED)))).isNotEqualTo(tag);
+        assertThat(ETags.weak(3, items)).isNotEqualTo(tag);
+    }
+
+    @Test
+    @DisplayName("Should match If-Match by strong comparison, or any tag for a wildcard")
+    void shouldMatchIfMatchByStrongComparison() {
+        // When / Then
+        assertThat(ETags.matches("\"12-3\"", "\"12-3\"")).isTrue();
+        assertThat(ETags.matches("\"12-2\", \"12-3\"", "\"12-3\"")).isTrue();
+        assertThat(ETags.matches("*", "\"12-3\"")).isTrue();
+        assertThat(ETags.matches("\"12-2\"", "\"12-3\"")).isFalse();
+        assertThat(ETags.matches("W/\"12-3\"", "\"12-3\"")).isFalse();
+        assertThat(ETags.matches("\"12-3+cbor\"", "\"12-3\"")).isTrue();
+        assertThat(ETags.matches("W/\"12-3+cbor\"", "\"12-3\"")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should give each representation a tag of its own")
+    void shouldTagEachRepresentation() {
+        // When / Then
+        assertThat(ETags.representation("\"12-3\"", MediaType.APPLICATION_JSON)).isEqualTo("\"12-3+json\"");
+        assertThat(ETags.representation("\"12-3\"", MediaType.APPLICATION_CBOR)).isEqualTo("\"12-3+cbor\"");
+        assertThat(ETags.representation("W/\"ab-cd\"", new MediaType("application", "x-jackson-smile")))
+                .isEqualTo("W/\"ab-cd+smile\"");
+    }
+
+    @Test
+    @DisplayName("Should match If-None-Match by weak comparison, but only with the tag of the same representation")
+    void shouldMatchIfNoneMatchByWeakComparison() {
+        // When / Then
+        assertThat(ETags.notModified("\"12-3+json\"", "\"12-3+json\"")).isTrue();
+        assertThat(ETags.notModified("W/\"12-3+json\"", "\"12-3+json\"")).isTrue();
+        assertThat(ETags.notModified("\"ab-cd+json\", \"ef-01+json\"", "W/\"ef-01+json\"")).isTrue();
+        assertThat(ETags.notModified("*", "\"12-3+json\"")).isTrue();
+        assertThat(ETags.notModified("\"12-3+json\"", "\"12-3+cbor\"")).isFalse();
+        assertThat(ETags.notModified("\"12-3\"", "\"12-3+json\"")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should read the versions of a resource named by If-Match, ignoring tags of other resources")
+    void shouldReadTheVersionsNamedByIfMatch() {
+        // When / Then
+        assertThat(ETags.versions("\"12-2\", \"12-3\", \"13-4\", \"12-x\", W/\"12-5\"", 12L)).containsExactlyInAnyOrder(2, 3);
+        assertThat(ETags.versions("\"13-4\"", 12L)).isEmpty();
+        assertThat(ETags.versions("\"12-3\", *", 12L)).isNull();
+        assertThat(ETags.versions("\"12-3+smile\"", 12L)).containsExactly(3);
+    }
+
+    private static Versioned item(Long id, Integer version, Instant lastModifiedDate) {
+        return new Versioned() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getVersion() {
+                return version;
+            }
+
+            @Override
+            public Instant getLastModifiedDate() {
+                return lastModifiedDate;
+            }
+        };
+    }
+}
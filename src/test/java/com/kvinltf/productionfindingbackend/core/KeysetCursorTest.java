@@ -0,0 +1,89 @@
+package com.kvinltf.productionfindingbackend.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link KeysetCursor}.
+ */
+class KeysetCursorTest {
+
+    private static final Map<String, Class<?>> ATTRIBUTES = Map.of("id", Long.class, "name", String.class);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should start from the initial position with the requested sort")
+    void shouldStartFromTheInitialPositionWithTheRequestedSort() {
+        // When
+        KeysetCursor cursor = KeysetCursor.resolve("", Sort.by(Sort.Direction.ASC, "name"), ATTRIBUTES, objectMapper);
+
+        // Then
+        assertThat(cursor.position().isInitial()).isTrue();
+        assertThat(cursor.sort()).isEqualTo(Sort.by(Sort.Direction.ASC, "name"));
+    }
+
+    @Test
+    @DisplayName("Should round-trip the position and sort with typed keys")
+    void shouldRoundTripThePositionAndSortWithTypedKeys() {
+        // Given
+        KeysetCursor first = KeysetCursor.resolve("", Sort.by(Sort.Direction.DESC, "name"), ATTRIBUTES, objectMapper);
+        String encoded = first.encode(ScrollPosition.forward(Map.of("name", "Euro", "id", 7L)), objectMapper);
+
+        // When
+        KeysetCursor next = KeysetCursor.resolve(encoded, Sort.by("id"), ATTRIBUTES, objectMapper);
+
+        // Then
+        assertThat(next.sort()).isEqualTo(Sort.by(Sort.Direction.DESC, "name"));
+        assertThat(next.position().getKeys()).containsEntry("name", "Euro").containsEntry("id", 7L);
+    }
+
+    @Test
+    @DisplayName("Should reject sorts on attributes that are not indexed")
+    void shouldRejectSortsOnAttributesThatAreNotIndexed() {
+        assertThatThrownBy(() -> KeysetCursor.resolve("", Sort.by("symbol"), ATTRIBUTES, objectMapper))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject malformed cursors")
+    void shouldRejectMalformedCursors() {
+        assertThatThrownBy(() -> KeysetCursor.resolve("not-a-cursor", Sort.by("id"), ATTRIBUTES, objectMapper))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid cursor");
+    }
+
+    @Test
+    @DisplayName("Should reject cursors not keyed on exactly the sort property and the ID, with values")
+    void shouldRejectCursorsWithMissingExtraOrNullKeys() {
+        // Given
+        KeysetCursor first = KeysetCursor.resolve("", Sort.by(Sort.Direction.ASC, "name"), ATTRIBUTES, objectMapper);
+        Map<String, Object> nullId = new HashMap<>(Map.of("name", "Euro"));
+        nullId.put("id", null);
+        List<String> invalid = List.of(
+                first.encode(ScrollPosition.forward(Map.of()), objectMapper),
+                first.encode(ScrollPosition.forward(Map.of("name", "Euro")), objectMapper),
+                first.encode(ScrollPosition.forward(Map.of("id", 7L)), objectMapper),
+                first.encode(ScrollPosition.forward(nullId), objectMapper),
+                KeysetCursor.resolve("", Sort.by("id"), ATTRIBUTES, objectMapper)
+                        .encode(ScrollPosition.forward(Map.of("name", "Euro", "id", 7L)), objectMapper)
+        );
+
+        // When/Then
+        assertThat(invalid).allSatisfy(cursor -> assertThatThrownBy(
+                () -> KeysetCursor.resolve(cursor, Sort.by("id"), ATTRIBUTES, objectMapper))
+                .isInstanceOf(ResponseStatusException.class)
+                .hasMessageContaining("Invalid cursor"));
+    }
+}
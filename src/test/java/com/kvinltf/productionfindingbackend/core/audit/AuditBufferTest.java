@@ -0,0 +1,103 @@
+package com.kvinltf.productionfindingbackend.core.audit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link AuditBuffer}.
+ */
+class AuditBufferTest {
+
+    private Counter dropped;
+
+    @BeforeEach
+    void setUp() {
+        dropped = new SimpleMeterRegistry().counter("audit.entries.dropped");
+    }
+
+    @Test
+    @DisplayName("Should drop the oldest entries to make room with DROP_OLDEST")
+    void shouldDropTheOldestEntries() {
+        // Given
+        AuditBuffer<Integer> buffer = new AuditBuffer<>(3, AuditProperties.Overflow.DROP_OLDEST, Duration.ZERO, dropped);
+
+        // When
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i);
+        }
+
+        // Then
+        assertThat(drain(buffer)).containsExactly(3, 4, 5);
+        assertThat(dropped.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should drop the new entries with DROP_NEWEST")
+    void shouldDropTheNewEntries() {
+        // Given
+        AuditBuffer<Integer> buffer = new AuditBuffer<>(3, AuditProperties.Overflow.DROP_NEWEST, Duration.ZERO, dropped);
+
+        // When
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i);
+        }
+
+        // Then
+        assertThat(drain(buffer)).containsExactly(1, 2, 3);
+        assertThat(dropped.count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should wait for room with BLOCK and add the entry once the writer takes one")
+    void shouldWaitForRoom() throws InterruptedException {
+        // Given
+        AuditBuffer<Integer> buffer = new AuditBuffer<>(1, AuditProperties.Overflow.BLOCK, Duration.ofSeconds(10), dropped);
+        buffer.add(1);
+        Thread writer = Thread.ofPlatform().start(() -> {
+            try {
+                Thread.sleep(100);
+                buffer.poll(Duration.ZERO);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        // When
+        buffer.add(2);
+        writer.join();
+
+        // Then
+        assertThat(drain(buffer)).containsExactly(2);
+        assertThat(dropped.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop the entry with BLOCK when no room is made in time")
+    void shouldDropAfterTheBlockTimeout() {
+        // Given
+        AuditBuffer<Integer> buffer = new AuditBuffer<>(1, AuditProperties.Overflow.BLOCK, Duration.ofMillis(50), dropped);
+        buffer.add(1);
+
+        // When
+        buffer.add(2);
+
+        // Then
+        assertThat(drain(buffer)).containsExactly(1);
+        assertThat(dropped.count()).isEqualTo(1);
+    }
+
+    private static List<Integer> drain(AuditBuffer<Integer> buffer) {
+        List<Integer> entries = new ArrayList<>();
+        buffer.drainTo(entries, Integer.MAX_VALUE);
+        return entries;
+    }
+}
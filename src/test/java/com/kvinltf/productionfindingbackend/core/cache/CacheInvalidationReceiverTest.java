@@ -0,0 +1,81 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CacheInvalidationReceiver}, fed through a {@link LocalCacheInvalidationBroker}.
+ */
+class CacheInvalidationReceiverTest {
+    private static final String CURRENCY = "com.kvinltf.productionfindingbackend.currency.Currency";
+    private static final String PRODUCT = "com.kvinltf.productionfindingbackend.product.Product";
+
+    private LocalCacheInvalidationChannel sender;
+    private Cache cache;
+
+    @BeforeEach
+    void setUp() {
+        LocalCacheInvalidationBroker broker = new LocalCacheInvalidationBroker();
+        sender = new LocalCacheInvalidationChannel(broker);
+        cache = mock(Cache.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(sessionFactory.getCache()).thenReturn(cache);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        new CacheInvalidationReceiver(new LocalCacheInvalidationChannel(broker), entityManagerFactory,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should evict the changed entities and the cached query results")
+    void shouldEvictTheChangedEntitiesAndQueryResults() {
+        // Given
+        Map<String, Set<Long>> entities = new HashMap<>();
+        entities.put(CURRENCY, Set.of(1L, 2L));
+        entities.put(PRODUCT, null);
+
+        // When
+        sender.publishAfterCommit(new CacheInvalidation(sender.nodeId(), entities));
+
+        // Then
+        verify(cache).evictEntityData(CURRENCY, 1L);
+        verify(cache).evictEntityData(CURRENCY, 2L);
+        verify(cache).evictEntityData(PRODUCT);
+        verify(cache).evictQueryRegions();
+        verify(cache, never()).evictAllRegions();
+    }
+
+    @Test
+    @DisplayName("Should only evict query results for inserts")
+    void shouldOnlyEvictQueryResultsForInserts() {
+        // When
+        sender.publishAfterCommit(new CacheInvalidation(sender.nodeId(), Map.of(CURRENCY, Set.of())));
+
+        // Then
+        verify(cache).evictQueryRegions();
+        verify(cache, never()).evictEntityData(anyString(), any());
+        verify(cache, never()).evictEntityData(anyString());
+    }
+
+    @Test
+    @DisplayName("Should evict everything when the sender lost track of its changes")
+    void shouldEvictEverything() {
+        // When
+        sender.publishAfterCommit(CacheInvalidation.everything(sender.nodeId()));
+
+        // Then
+        verify(cache).evictAllRegions();
+        verify(cache, never()).evictQueryRegions();
+    }
+}
@@ -0,0 +1,78 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for the {@link LocalCacheInvalidationChannel} and its {@link LocalCacheInvalidationBroker}.
+ */
+class LocalCacheInvalidationChannelTest {
+
+    private LocalCacheInvalidationChannel first;
+    private LocalCacheInvalidationChannel second;
+    private List<CacheInvalidation> receivedByFirst;
+    private List<CacheInvalidation> receivedBySecond;
+
+    @BeforeEach
+    void setUp() {
+        LocalCacheInvalidationBroker broker = new LocalCacheInvalidationBroker();
+        first = new LocalCacheInvalidationChannel(broker);
+        second = new LocalCacheInvalidationChannel(broker);
+        receivedByFirst = new CopyOnWriteArrayList<>();
+        receivedBySecond = new CopyOnWriteArrayList<>();
+        first.subscribe(receivedByFirst::add);
+        second.subscribe(receivedBySecond::add);
+    }
+
+    @Test
+    @DisplayName("Should deliver a committed invalidation to the other nodes only")
+    void shouldDeliverToTheOtherNodesOnly() {
+        // Given
+        CacheInvalidation invalidation = new CacheInvalidation(first.nodeId(), Map.of("Currency", Set.of(1L)));
+
+        // When
+        first.publishAfterCommit(invalidation);
+
+        // Then
+        assertThat(receivedBySecond).containsExactly(invalidation);
+        assertThat(receivedByFirst).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should not deliver anything before the commit")
+    void shouldNotDeliverBeforeTheCommit() throws Exception {
+        // Given
+        Connection connection = mock(Connection.class);
+
+        // When
+        first.publishInTransaction(new CacheInvalidation(first.nodeId(), Map.of("Currency", Set.of(1L))), connection);
+
+        // Then
+        assertThat(receivedBySecond).isEmpty();
+        verifyNoInteractions(connection);
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to a closed channel")
+    void shouldStopDeliveringToAClosedChannel() {
+        // Given
+        second.close();
+
+        // When
+        first.publishAfterCommit(CacheInvalidation.everything(first.nodeId()));
+
+        // Then
+        assertThat(receivedBySecond).isEmpty();
+    }
+}
@@ -0,0 +1,151 @@
+package com.kvinltf.productionfindingbackend.core.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link ResponseCache} and its {@link CachedResponse}s.
+ */
+class ResponseCacheTest {
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+
+    private final AtomicLong now = new AtomicLong();
+    private SimpleMeterRegistry meterRegistry;
+    private ResponseCache<String> cache;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new ResponseCache<>("test", 2, 10_000, TIME_TO_LIVE, meterRegistry, now::get);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used response beyond the entry bound")
+    void shouldEvictTheLeastRecentlyUsedResponse() {
+        // Given
+        cache.put("a", cache.generation(), response("a"));
+        cache.put("b", cache.generation(), response("b"));
+        cache.get("a");
+
+        // When
+        cache.put("c", cache.generation(), response("c"));
+
+        // Then
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(meterRegistry.get("response.cache.evictions").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stop serving a response once its time to live has passed")
+    void shouldExpireResponses() {
+        // Given
+        cache.put("a", cache.generation(), response("a"));
+        now.addAndGet(TIME_TO_LIVE.toNanos() - 1);
+        CachedResponse beforeExpiry = cache.get("a");
+
+        // When
+        now.incrementAndGet();
+
+        // Then
+        assertThat(beforeExpiry).isNotNull();
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.bytes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should evict responses beyond the size bound")
+    void shouldEvictResponsesBeyondTheSizeBound() {
+        // Given
+        cache = new ResponseCache<>("test", 100, 300, TIME_TO_LIVE, meterRegistry, now::get);
+        CachedResponse response = CachedResponse.of("text/plain", "\"1\"", new byte[200]);
+        cache.put("a", cache.generation(), CachedResponse.of("text/plain", "\"1\"", new byte[100]));
+
+        // When
+        cache.put("b", cache.generation(), response);
+
+        // Then
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.get("b")).isSameAs(response);
+        assertThat(cache.bytes()).isEqualTo(response.size());
+    }
+
+    @Test
+    @DisplayName("Should not store a response computed before an invalidation")
+    void shouldNotStoreAResponseComputedBeforeAnInvalidation() {
+        // Given
+        long generation = cache.generation();
+        cache.invalidate();
+
+        // When
+        boolean stored = cache.put("a", generation, response("a"));
+
+        // Then
+        assertThat(stored).isFalse();
+        assertThat(cache.get("a")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should send the gzipped body to a client accepting gzip")
+    void shouldSendTheGzippedBody() throws Exception {
+        // Given
+        String body = "{\"content\":\"" + "x".repeat(1000) + "\"}";
+        CachedResponse response = CachedResponse.of("application/json", "W/\"1\"", body.getBytes(StandardCharsets.UTF_8));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Accept-Encoding", "br;q=1, gzip;q=0.8");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // When
+        response.writeTo(request, servletResponse);
+
+        // Then
+        assertThat(servletResponse.getHeader("Content-Encoding")).isEqualTo("gzip");
+        assertThat(servletResponse.getHeader("ETag")).isEqualTo("W/\"1\"");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(servletResponse.getContentAsByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(body);
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer a matching If-None-Match with 304 and no body")
+    void shouldAnswerAMatchingIfNoneMatchWith304() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", "W/\"a\"");
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // When
+        response("a").writeTo(request, servletResponse);
+
+        // Then
+        assertThat(servletResponse.getStatus()).isEqualTo(304);
+        assertThat(servletResponse.getContentAsByteArray()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should honour a refused encoding over a wildcard")
+    void shouldHonourARefusedEncoding() {
+        // When / Then
+        assertThat(CachedResponse.accepts("*, gzip;q=0", "gzip")).isFalse();
+        assertThat(CachedResponse.accepts("*", "gzip")).isTrue();
+        assertThat(CachedResponse.accepts("identity", "gzip")).isFalse();
+    }
+
+    private static CachedResponse response(String content) {
+        return CachedResponse.of("text/plain", "W/\"" + content + "\"", content.getBytes(StandardCharsets.UTF_8));
+    }
+}
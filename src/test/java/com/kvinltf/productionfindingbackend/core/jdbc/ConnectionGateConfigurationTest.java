@@ -0,0 +1,36 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ConnectionGateConfiguration}.
+ */
+class ConnectionGateConfigurationTest {
+
+    @Test
+    @DisplayName("Should size the gate to the primary's pool, plus the replicas' pools when routing")
+    void shouldSizeTheGateToAllRoutedPools() {
+        // Given
+        HikariDataSource primary = pool(8);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primary, List.of(pool(8), pool(4)),
+                mock(ReplicaPositions.class));
+
+        // When/Then
+        assertThat(ConnectionGateConfiguration.poolSize(primary)).isEqualTo(8);
+        assertThat(ConnectionGateConfiguration.poolSize(routing)).isEqualTo(20);
+        assertThat(ConnectionGateConfiguration.poolSize(new CountingDataSource(routing))).isEqualTo(20);
+    }
+
+    private static HikariDataSource pool(int maximumPoolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setMaximumPoolSize(maximumPoolSize);
+        return pool;
+    }
+}
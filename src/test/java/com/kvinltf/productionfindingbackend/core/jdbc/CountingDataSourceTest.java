@@ -0,0 +1,77 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CountingDataSource}.
+ */
+class CountingDataSourceTest {
+
+    private CountingDataSource dataSource;
+    private PreparedStatement statement;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, true, false);
+        dataSource = new CountingDataSource(target);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SqlStatistics.end();
+    }
+
+    @Test
+    @DisplayName("Should count statements and fetched rows inside a scope")
+    void shouldCountStatementsAndFetchedRowsInsideAScope() throws SQLException {
+        // Given
+        SqlStatistics statistics = SqlStatistics.begin();
+
+        // When
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement prepared = connection.prepareStatement("select 1");
+             ResultSet resultSet = prepared.executeQuery()) {
+            while (resultSet.next()) {
+                // drain
+            }
+            prepared.executeBatch();
+        }
+
+        // Then
+        assertThat(statistics.statements()).isEqualTo(2);
+        assertThat(statistics.rows()).isEqualTo(2);
+        verify(statement).executeBatch();
+    }
+
+    @Test
+    @DisplayName("Should pass calls through outside a scope")
+    void shouldPassCallsThroughOutsideAScope() throws SQLException {
+        // When
+        try (Connection connection = dataSource.getConnection()) {
+            connection.prepareStatement("select 1").executeQuery();
+        }
+
+        // Then
+        assertThat(SqlStatistics.current()).isNull();
+        verify(statement).executeQuery();
+    }
+}
@@ -0,0 +1,79 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link GatedDataSource}.
+ */
+class GatedDataSourceTest {
+
+    private DataSource target;
+    private SimpleMeterRegistry meterRegistry;
+    private GatedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        target = mock(DataSource.class);
+        when(target.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource = new GatedDataSource(target, 2, Duration.ofMillis(50));
+        dataSource.bindTo(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should time out when all permits are held")
+    void shouldTimeOutWhenAllPermitsAreHeld() throws SQLException {
+        // Given
+        dataSource.getConnection();
+        dataSource.getConnection();
+
+        // When/Then
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(meterRegistry.get("db.gate.timeouts").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("db.gate.in.use").gauge().value()).isEqualTo(2);
+        verify(target, times(2)).getConnection();
+    }
+
+    @Test
+    @DisplayName("Should release the permit once when the connection is closed")
+    void shouldReleaseThePermitOnceWhenTheConnectionIsClosed() throws SQLException {
+        // Given
+        Connection connection = dataSource.getConnection();
+        dataSource.getConnection();
+
+        // When
+        connection.close();
+        connection.close();
+
+        // Then
+        assertThat(meterRegistry.get("db.gate.in.use").gauge().value()).isEqualTo(1);
+        dataSource.getConnection();
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+    }
+
+    @Test
+    @DisplayName("Should release the permit when the target data source fails")
+    void shouldReleaseThePermitWhenTheTargetDataSourceFails() throws SQLException {
+        // Given
+        when(target.getConnection()).thenThrow(new SQLException("down"));
+
+        // When/Then
+        assertThatThrownBy(() -> dataSource.getConnection()).hasMessage("down");
+        assertThat(meterRegistry.get("db.gate.in.use").gauge().value()).isZero();
+    }
+}
@@ -0,0 +1,163 @@
+package com.kvinltf.productionfindingbackend.core.jdbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link ReadWriteRoutingDataSource}, with two embedded databases standing in for the primary and
+ * its replica.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private final StubPositions positions = new StubPositions();
+    private SimpleMeterRegistry meterRegistry;
+    private ReadWriteRoutingDataSource dataSource;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        dataSource = new ReadWriteRoutingDataSource(primary, List.of(replica), positions);
+        meterRegistry = new SimpleMeterRegistry();
+        dataSource.bindTo(meterRegistry);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        transactionManager.addListener(new ReadYourWritesListener(positions));
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.end();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and the others to the primary")
+    void shouldSendReadOnlyTransactionsToTheReplica() {
+        // Given
+        positions.replayed = 100;
+
+        // When
+        String read = reads.execute(status -> server());
+        String written = writes.execute(status -> server());
+
+        // Then
+        assertThat(read).isEqualTo("replica");
+        assertThat(written).isEqualTo("primary");
+        assertThat(meterRegistry.get("db.routing.reads").tag("target", "replica-0").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should read from the primary when the replica is unavailable")
+    void shouldReadFromThePrimaryWhenTheReplicaIsUnavailable() {
+        // Given
+        positions.replayed = ReplicaLagMonitor.UNAVAILABLE;
+
+        // When
+        String read = reads.execute(status -> server());
+
+        // Then
+        assertThat(read).isEqualTo("primary");
+        assertThat(meterRegistry.get("db.routing.reads").tag("target", "primary").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should read from the primary until the replica has replayed the last write")
+    void shouldReadFromThePrimaryUntilTheReplicaHasReplayedTheLastWrite() {
+        // Given
+        List<Long> cookies = new ArrayList<>();
+        ReadYourWrites.begin(0, cookies::add);
+        positions.replayed = 100;
+        positions.primary = 150;
+
+        // When
+        writes.executeWithoutResult(status -> jdbcTemplate.update("update server set name = name"));
+        String beforeReplay = reads.execute(status -> server());
+        positions.replayed = 150;
+        String afterReplay = reads.execute(status -> server());
+
+        // Then
+        assertThat(cookies).containsExactly(150L);
+        assertThat(beforeReplay).isEqualTo("primary");
+        assertThat(afterReplay).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Should keep reading from the primary when a read-only transaction commits")
+    void shouldNotMoveThePositionOnReadOnlyCommits() {
+        // Given
+        List<Long> cookies = new ArrayList<>();
+        ReadYourWrites.begin(0, cookies::add);
+        positions.replayed = 100;
+        positions.primary = 150;
+
+        // When
+        String read = reads.execute(status -> server());
+
+        // Then
+        assertThat(read).isEqualTo("replica");
+        assertThat(cookies).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should send the read-only transactions of reads filling a cache to the primary")
+    void shouldSendCacheFillingReadsToThePrimary() {
+        // Given
+        positions.replayed = Long.MAX_VALUE - 1;
+
+        // When
+        String fromPrimary = ReadYourWrites.fromPrimary(() -> reads.execute(status -> server()));
+        String afterwards = reads.execute(status -> server());
+
+        // Then
+        assertThat(fromPrimary).isEqualTo("primary");
+        assertThat(afterwards).isEqualTo("replica");
+    }
+
+    private String server() {
+        return jdbcTemplate.queryForObject("select name from server", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists server (name varchar(10))");
+        jdbcTemplate.execute("delete from server");
+        jdbcTemplate.update("insert into server values (?)", name);
+        return dataSource;
+    }
+
+    private static class StubPositions implements ReplicaPositions {
+        long replayed;
+        long primary;
+
+        @Override
+        public boolean canServe(int replica, long requiredPosition) {
+            return replayed != ReplicaLagMonitor.UNAVAILABLE && replayed >= requiredPosition;
+        }
+
+        @Override
+        public long primaryPosition() {
+            return primary;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.kvinltf.productionfindingbackend.core.search;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link RadixTrie}.
+ */
+class RadixTrieTest {
+
+    @Test
+    @DisplayName("Should return the best distinct values under a prefix")
+    void shouldReturnTheBestDistinctValuesUnderAPrefix() {
+        // Given
+        RadixTrie<String> trie = RadixTrie.<String>builder(3, Comparator.naturalOrder())
+                .add("dollar", "USD", 1)
+                .add("dollar", "CAD", 1)
+                .add("dong", "VND", 1)
+                .add("usd", "USD", 3)
+                .add("us dollar", "USD", 2)
+                .add("danish krone", "DKK", 2)
+                .build();
+
+        // When/Then
+        assertThat(trie.prefixSearch("do", 10)).containsExactly("CAD", "USD", "VND");
+        assertThat(trie.prefixSearch("dol", 10)).containsExactly("CAD", "USD");
+        assertThat(trie.prefixSearch("d", 10)).containsExactly("DKK", "CAD", "USD");
+        assertThat(trie.prefixSearch("d", 1)).containsExactly("DKK");
+        assertThat(trie.prefixSearch("u", 10)).containsExactly("USD");
+        assertThat(trie.prefixSearch("dollars", 10)).isEmpty();
+        assertThat(trie.prefixSearch("dx", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should collapse single-child chains into one node")
+    void shouldCollapseSingleChildChainsIntoOneNode() {
+        // When
+        RadixTrie<String> trie = RadixTrie.<String>builder(5, Comparator.naturalOrder())
+                .add("swiss franc", "CHF", 1)
+                .add("swedish krona", "SEK", 1)
+                .build();
+
+        // Then
+        assertThat(trie.nodeCount()).isEqualTo(4);
+        assertThat(trie.prefixSearch("sw", 5)).containsExactly("CHF", "SEK");
+        assertThat(trie.prefixSearch("swis", 5)).containsExactly("CHF");
+        assertThat(trie.prefixSearch("swiss franc", 5)).containsExactly("CHF");
+        assertThat(trie.prefixSearch("", 5)).containsExactly("CHF", "SEK");
+    }
+}
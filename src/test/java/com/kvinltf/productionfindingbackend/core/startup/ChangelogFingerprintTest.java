@@ -0,0 +1,82 @@
+package com.kvinltf.productionfindingbackend.core.startup;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link ChangelogFingerprint}.
+ */
+class ChangelogFingerprintTest {
+    private static final String MASTER = "classpath:/db/changelog/db.changelog-master.yaml";
+
+    @TempDir
+    Path classpath;
+
+    private ResourceLoader resourceLoader;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        write("db/changelog/db.changelog-master.yaml", "databaseChangeLog: []");
+        write("db/changelog/changelogs/17-01-changelog.yaml", "databaseChangeLog: []");
+        write("other/unrelated.yaml", "a: 1");
+        resourceLoader = new DefaultResourceLoader(
+                new URLClassLoader(new URL[]{classpath.toUri().toURL()}, null));
+    }
+
+    @Test
+    @DisplayName("Should not depend on how the changelog location is written")
+    void shouldNotDependOnTheLocationPrefix() {
+        // When
+        String fingerprint = ChangelogFingerprint.of(resourceLoader, MASTER, "");
+        String again = ChangelogFingerprint.of(resourceLoader, "db/changelog/db.changelog-master.yaml", "");
+
+        // Then
+        assertThat(fingerprint).hasSize(64).isEqualTo(again);
+    }
+
+    @Test
+    @DisplayName("Should change when an included changelog changes")
+    void shouldChangeWhenAnIncludedChangelogChanges() throws IOException {
+        // Given
+        String before = ChangelogFingerprint.of(resourceLoader, MASTER, "");
+        write("other/unrelated.yaml", "a: 2");
+        String unrelated = ChangelogFingerprint.of(resourceLoader, MASTER, "");
+
+        // When
+        write("db/changelog/changelogs/17-01-changelog.yaml", "databaseChangeLog: [ ]");
+        String after = ChangelogFingerprint.of(resourceLoader, MASTER, "");
+
+        // Then
+        assertThat(unrelated).isEqualTo(before);
+        assertThat(after).isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Should change with the contexts and labels")
+    void shouldChangeWithTheFilter() {
+        // When
+        String all = ChangelogFingerprint.of(resourceLoader, MASTER, "null|null");
+        String filtered = ChangelogFingerprint.of(resourceLoader, MASTER, "test|null");
+
+        // Then
+        assertThat(filtered).isNotEqualTo(all);
+    }
+
+    private void write(String path, String content) throws IOException {
+        Path file = classpath.resolve(path);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+}
@@ -0,0 +1,92 @@
+package com.kvinltf.productionfindingbackend.core.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link AdaptiveConcurrencyLimit}.
+ */
+class AdaptiveConcurrencyLimitTest {
+    private static final long MILLISECOND = Duration.ofMillis(1).toNanos();
+
+    @Test
+    @DisplayName("Should refuse requests beyond the limit until one is released")
+    void shouldRefuseRequestsBeyondTheLimit() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, 2);
+        limit.tryAcquire();
+        limit.tryAcquire();
+
+        // When
+        boolean overLimit = limit.tryAcquire();
+        limit.release();
+        boolean afterRelease = limit.tryAcquire();
+
+        // Then
+        assertThat(overLimit).isFalse();
+        assertThat(afterRelease).isTrue();
+        assertThat(limit.inFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should raise the limit while the latency stays steady under load")
+    void shouldRaiseTheLimitWhileTheLatencyStaysSteady() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 4, 100, 2);
+
+        // When
+        load(limit, 50, 10 * MILLISECOND);
+
+        // Then
+        assertThat(limit.limit()).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("Should lower the limit when requests get much slower than usual")
+    void shouldLowerTheLimitWhenRequestsGetSlower() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(40, 4, 40, 2);
+        load(limit, 50, 10 * MILLISECOND);
+
+        // When
+        load(limit, 10, 100 * MILLISECOND);
+
+        // Then
+        assertThat(limit.limit()).isLessThan(10);
+    }
+
+    @Test
+    @DisplayName("Should keep the limit while less than half of it is used")
+    void shouldKeepTheLimitWhileLittleOfItIsUsed() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 4, 100, 2);
+
+        // When
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(i % 2 == 0 ? MILLISECOND : 100 * MILLISECOND);
+        }
+
+        // Then
+        assertThat(limit.limit()).isEqualTo(20);
+    }
+
+    /**
+     * Completes rounds of as many requests as the limit allows, each taking the given latency.
+     */
+    private static void load(AdaptiveConcurrencyLimit limit, int rounds, long latency) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limit.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limit.release(latency);
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.kvinltf.productionfindingbackend.core.web;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link AdmissionInterceptor}.
+ */
+class AdmissionInterceptorTest {
+    private static final AdmissionProperties.Concurrency NO_CONCURRENCY_LIMIT =
+            new AdmissionProperties.Concurrency(false, 0, 0, 0, 0);
+
+    private SimpleMeterRegistry meterRegistry;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new HandlerMethod(this, AdmissionInterceptorTest.class.getDeclaredMethod("setUp"));
+    }
+
+    @Test
+    @DisplayName("Should answer 429 with a Retry-After to a client over its rate, and keep other clients apart")
+    void shouldThrottleAClientOverItsRate() {
+        // Given
+        AdmissionInterceptor interceptor = interceptor(new AdmissionProperties(true, "X-Api-Key",
+                new AdmissionProperties.Limit(1, 1), List.of(), 0, NO_CONCURRENCY_LIMIT));
+
+        // When
+        MockHttpServletResponse first = admit(interceptor, request("a"));
+        MockHttpServletResponse second = admit(interceptor, request("a"));
+        MockHttpServletResponse otherClient = admit(interceptor, request("b"));
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(second.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(second.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(otherClient.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(meterRegistry.get("http.server.admission").tag("result", "throttled").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should answer 429 on an endpoint over its own rate, refunding the client's overall token")
+    void shouldThrottleAnEndpointOverItsRate() {
+        // Given
+        AdmissionInterceptor interceptor = interceptor(new AdmissionProperties(true, "X-Api-Key",
+                new AdmissionProperties.Limit(1, 2), List.of(new AdmissionProperties.Endpoint("post", "/currencies", 1, 1)),
+                0, NO_CONCURRENCY_LIMIT));
+        MockHttpServletRequest post = request("a");
+        post.setMethod("POST");
+        post.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/currencies");
+
+        // When
+        int first = admit(interceptor, post).getStatus();
+        int second = admit(interceptor, post).getStatus();
+        int otherEndpoint = admit(interceptor, request("a")).getStatus();
+
+        // Then
+        assertThat(first).isEqualTo(HttpStatus.OK.value());
+        assertThat(second).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(otherEndpoint).isEqualTo(HttpStatus.OK.value());
+    }
+
+    @Test
+    @DisplayName("Should answer 503 while the concurrency limit is reached, and admit again once a request completes")
+    void shouldShedRequestsOverTheConcurrencyLimit() throws Exception {
+        // Given
+        AdmissionInterceptor interceptor = interceptor(new AdmissionProperties(true, null,
+                new AdmissionProperties.Limit(1_000, 0), List.of(), 0,
+                new AdmissionProperties.Concurrency(true, 1, 1, 1, 2)));
+        MockHttpServletRequest inFlight = request(null);
+        admit(interceptor, inFlight);
+
+        // When
+        MockHttpServletResponse shed = admit(interceptor, request(null));
+        interceptor.afterCompletion(inFlight, new MockHttpServletResponse(), handler, null);
+        MockHttpServletResponse afterCompletion = admit(interceptor, request(null));
+
+        // Then
+        assertThat(shed.getStatus()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(shed.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(afterCompletion.getStatus()).isEqualTo(HttpStatus.OK.value());
+        assertThat(meterRegistry.get("http.server.admission").tag("result", "shed").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("http.server.admission.in.flight").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give the client's and the endpoint's tokens back when shedding a request")
+    void shouldRefundTheTokensOfAShedRequest() {
+        // Given
+        AdmissionInterceptor interceptor = interceptor(new AdmissionProperties(true, "X-Api-Key",
+                new AdmissionProperties.Limit(0.001, 2), List.of(new AdmissionProperties.Endpoint("post", "/currencies", 0.001, 1)),
+                0, new AdmissionProperties.Concurrency(true, 1, 1, 1, 2)));
+        MockHttpServletRequest inFlight = request("a");
+        admit(interceptor, inFlight);
+        MockHttpServletRequest post = request("a");
+        post.setMethod("POST");
+        post.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/currencies");
+
+        // When
+        int shed = admit(interceptor, post).getStatus();
+        interceptor.afterCompletion(inFlight, new MockHttpServletResponse(), handler, null);
+        int retried = admit(interceptor, post).getStatus();
+
+        // Then
+        assertThat(shed).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE.value());
+        assertThat(retried).isEqualTo(HttpStatus.OK.value());
+    }
+
+    private AdmissionInterceptor interceptor(AdmissionProperties properties) {
+        return new AdmissionInterceptor(properties, meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String client) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/currencies");
+        if (client != null) {
+            request.addHeader("X-Api-Key", client);
+        }
+        return request;
+    }
+
+    private MockHttpServletResponse admit(AdmissionInterceptor interceptor, MockHttpServletRequest request) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        boolean admitted = interceptor.preHandle(request, response, handler);
+        assertThat(admitted).isEqualTo(response.getStatus() == HttpStatus.OK.value());
+        return response;
+    }
+}
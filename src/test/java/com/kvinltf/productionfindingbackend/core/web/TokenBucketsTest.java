@@ -0,0 +1,86 @@
+package com.kvinltf.productionfindingbackend.core.web;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link TokenBuckets}.
+ */
+class TokenBucketsTest {
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+
+    @Test
+    @DisplayName("Should admit a burst, then refuse until a token is added")
+    void shouldAdmitABurstThenRefuseUntilATokenIsAdded() {
+        // Given
+        TokenBuckets buckets = new TokenBuckets(10, 3, 100, now::get);
+
+        // When
+        long[] waits = {buckets.tryAcquire("a"), buckets.tryAcquire("a"), buckets.tryAcquire("a"), buckets.tryAcquire("a")};
+        now.addAndGet(SECOND / 10);
+        long afterInterval = buckets.tryAcquire("a");
+
+        // Then
+        assertThat(waits).containsExactly(0, 0, 0, SECOND / 10);
+        assertThat(afterInterval).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep a bucket for each client")
+    void shouldKeepABucketForEachClient() {
+        // Given
+        TokenBuckets buckets = new TokenBuckets(1, 1, 100, now::get);
+        buckets.tryAcquire("a");
+
+        // When
+        long otherClient = buckets.tryAcquire("b");
+        long sameClient = buckets.tryAcquire("a");
+
+        // Then
+        assertThat(otherClient).isZero();
+        assertThat(sameClient).isEqualTo(SECOND);
+        assertThat(buckets.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should put back a refunded token")
+    void shouldPutBackARefundedToken() {
+        // Given
+        TokenBuckets buckets = new TokenBuckets(1, 1, 100, now::get);
+        buckets.tryAcquire("a");
+
+        // When
+        buckets.refund("a");
+
+        // Then
+        assertThat(buckets.tryAcquire("a")).isZero();
+    }
+
+    @Test
+    @DisplayName("Should drop full buckets at the bound, and share one bucket among the clients left over")
+    void shouldDropFullBucketsAtTheBound() {
+        // Given
+        TokenBuckets buckets = new TokenBuckets(1, 1, 2, now::get);
+        buckets.tryAcquire("a");
+        buckets.tryAcquire("b");
+
+        // When
+        long firstOverflow = buckets.tryAcquire("c");
+        long secondOverflow = buckets.tryAcquire("d");
+        now.addAndGet(2 * SECOND);
+        long afterRefill = buckets.tryAcquire("e");
+
+        // Then
+        assertThat(firstOverflow).isZero();
+        assertThat(secondOverflow).isEqualTo(SECOND);
+        assertThat(afterRefill).isZero();
+        assertThat(buckets.size()).isEqualTo(1);
+    }
+}
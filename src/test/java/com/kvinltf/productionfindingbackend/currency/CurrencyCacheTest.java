@@ -0,0 +1,210 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.kvinltf.productionfindingbackend.core.cache.CacheInvalidation;
+import com.kvinltf.productionfindingbackend.core.cache.LocalCacheInvalidationBroker;
+import com.kvinltf.productionfindingbackend.core.cache.LocalCacheInvalidationChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CurrencyCache}.
+ */
+class CurrencyCacheTest {
+
+    private CurrencyRepository currencyRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private LocalCacheInvalidationBroker broker;
+    private CurrencyCache currencyCache;
+
+    @BeforeEach
+    void setUp() {
+        currencyRepository = mock(CurrencyRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        broker = new LocalCacheInvalidationBroker();
+        currencyCache = new CurrencyCache(currencyRepository, meterRegistry, new LocalCacheInvalidationChannel(broker));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the repository before the first reload")
+    void shouldFallBackToTheRepositoryBeforeTheFirstReload() {
+        // Given
+        when(currencyRepository.findById(1L)).thenReturn(Optional.of(currency(1L, "USD", 0)));
+
+        // When
+        Optional<CurrencyDto> found = currencyCache.findById(1L);
+
+        // Then
+        assertThat(found).map(CurrencyDto::getCode).contains("USD");
+        verify(currencyRepository).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Should serve lookups by id and code without the repository after a reload")
+    void shouldServeLookupsWithoutTheRepositoryAfterAReload() {
+        // Given
+        when(currencyRepository.findAllAsDto()).thenReturn(List.of(dto(1L, "USD", 0), dto(2L, "EUR", 0)));
+        currencyCache.reload();
+
+        // When
+        Optional<CurrencyDto> byId = currencyCache.findById(2L);
+        Optional<CurrencyDto> byCode = currencyCache.findByCode("USD");
+        Optional<CurrencyDto> missing = currencyCache.findById(3L);
+
+        // Then
+        assertThat(byId).map(CurrencyDto::getCode).contains("EUR");
+        assertThat(byCode).map(CurrencyDto::getId).contains(1L);
+        assertThat(missing).isEmpty();
+        verify(currencyRepository).findAllAsDto();
+        verifyNoMoreInteractions(currencyRepository);
+        assertThat(meterRegistry.get("currency.cache.requests").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("currency.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("currency.cache.reloads").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should resolve many keys with a single query before the first reload")
+    void shouldResolveManyKeysWithASingleQueryBeforeTheFirstReload() {
+        // Given
+        when(currencyRepository.findAllAsDtoByIdIn(Set.of(1L, 2L, 3L))).thenReturn(List.of(dto(1L, "USD", 0), dto(3L, "EUR", 0)));
+
+        // When
+        Map<Long, CurrencyDto> found = currencyCache.findAllById(Set.of(1L, 2L, 3L));
+
+        // Then
+        assertThat(found).containsOnlyKeys(1L, 3L);
+        verify(currencyRepository).findAllAsDtoByIdIn(Set.of(1L, 2L, 3L));
+        verifyNoMoreInteractions(currencyRepository);
+    }
+
+    @Test
+    @DisplayName("Should resolve many keys from the snapshot after a reload")
+    void shouldResolveManyKeysFromTheSnapshotAfterAReload() {
+        // Given
+        when(currencyRepository.findAllAsDto()).thenReturn(List.of(dto(1L, "USD", 0), dto(2L, "EUR", 0)));
+        currencyCache.reload();
+
+        // When
+        Map<String, CurrencyDto> found = currencyCache.findAllByCode(List.of("EUR", "XXX"));
+
+        // Then
+        assertThat(found).containsOnlyKeys("EUR");
+        verify(currencyRepository).findAllAsDto();
+        verifyNoMoreInteractions(currencyRepository);
+        assertThat(meterRegistry.get("currency.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("currency.cache.requests").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should apply committed writes to a new snapshot")
+    void shouldApplyCommittedWritesToANewSnapshot() {
+        // Given
+        when(currencyRepository.findAllAsDto()).thenReturn(List.of(dto(1L, "USD", 0)));
+        currencyCache.reload();
+        CurrencyCache.Snapshot before = currencyCache.snapshot();
+
+        // When
+        currencyCache.onCurrencyChanged(new CurrencyChangedEvent(CurrencyChangedEvent.Type.UPDATED, currency(1L, "USN", 1)));
+        currencyCache.onCurrencyChanged(new CurrencyChangedEvent(CurrencyChangedEvent.Type.CREATED, currency(2L, "EUR", 0)));
+
+        // Then
+        assertThat(before.byId()).hasSize(1);
+        assertThat(before.byCode()).containsOnlyKeys("USD");
+        assertThat(currencyCache.findByCode("USD")).isEmpty();
+        assertThat(currencyCache.findByCode("USN")).map(CurrencyDto::getVersion).contains(1);
+        assertThat(currencyCache.findById(2L)).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should remove deleted currencies")
+    void shouldRemoveDeletedCurrencies() {
+        // Given
+        when(currencyRepository.findAllAsDto()).thenReturn(List.of(dto(1L, "USD", 0)));
+        currencyCache.reload();
+
+        // When
+        currencyCache.onCurrencyChanged(new CurrencyChangedEvent(CurrencyChangedEvent.Type.DELETED, currency(1L, "USD", 0)));
+
+        // Then
+        assertThat(currencyCache.findById(1L)).isEmpty();
+        assertThat(currencyCache.findByCode("USD")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ignore changes older than the cached version")
+    void shouldIgnoreChangesOlderThanTheCachedVersion() {
+        // Given
+        when(currencyRepository.findAllAsDto()).thenReturn(List.of(dto(1L, "USD", 3)));
+        currencyCache.reload();
+
+        // When
+        currencyCache.onCurrencyChanged(new CurrencyChangedEvent(CurrencyChangedEvent.Type.UPDATED, currency(1L, "USN", 2)));
+
+        // Then
+        assertThat(currencyCache.findById(1L)).map(CurrencyDto::getCode).contains("USD");
+    }
+
+    @Test
+    @DisplayName("Should apply the writes of another instance by reading the written currencies again")
+    void shouldApplyTheWritesOfAnotherInstance() {
+        // Given
+        LocalCacheInvalidationChannel otherInstance = new LocalCacheInvalidationChannel(broker);
+        when(currencyRepository.findAllAsDto()).thenReturn(List.of(dto(1L, "USD", 0), dto(2L, "EUR", 0)));
+        currencyCache.reload();
+        when(currencyRepository.findAllAsDtoByIdIn(Set.of(1L, 2L, 3L))).thenReturn(List.of(dto(1L, "USN", 1), dto(3L, "GBP", 0)));
+
+        // When
+        otherInstance.publishAfterCommit(new CacheInvalidation(otherInstance.nodeId(),
+                Map.of(Currency.class.getName(), Set.of(1L, 2L, 3L))));
+
+        // Then
+        assertThat(currencyCache.findById(1L)).map(CurrencyDto::getCode).contains("USN");
+        assertThat(currencyCache.findByCode("USD")).isEmpty();
+        assertThat(currencyCache.findById(2L)).isEmpty();
+        assertThat(currencyCache.findByCode("GBP")).map(CurrencyDto::getId).contains(3L);
+        verify(currencyRepository).findAllAsDtoByIdIn(Set.of(1L, 2L, 3L));
+    }
+
+    @Test
+    @DisplayName("Should reload when another instance invalidates every currency, and ignore other entities")
+    void shouldReloadWhenAnotherInstanceInvalidatesEveryCurrency() {
+        // Given
+        LocalCacheInvalidationChannel otherInstance = new LocalCacheInvalidationChannel(broker);
+        when(currencyRepository.findAllAsDto()).thenReturn(List.of(dto(1L, "USD", 0)), List.of(dto(1L, "USN", 1)));
+        currencyCache.reload();
+
+        // When
+        otherInstance.publishAfterCommit(new CacheInvalidation(otherInstance.nodeId(), Map.of("Other", Set.of(1L))));
+        Optional<CurrencyDto> afterOther = currencyCache.findById(1L);
+        otherInstance.publishAfterCommit(CacheInvalidation.everything(otherInstance.nodeId()));
+
+        // Then
+        assertThat(afterOther).map(CurrencyDto::getCode).contains("USD");
+        assertThat(currencyCache.findById(1L)).map(CurrencyDto::getCode).contains("USN");
+        verify(currencyRepository, times(2)).findAllAsDto();
+        verifyNoMoreInteractions(currencyRepository);
+    }
+
+    private static Currency currency(Long id, String code, int version) {
+        Currency currency = new Currency();
+        currency.setId(id);
+        currency.setVersion(version);
+        currency.setName(code + " name");
+        currency.setCode(code);
+        currency.setDecimalPlaces(2);
+        return currency;
+    }
+
+    private static CurrencyDto dto(Long id, String code, int version) {
+        return CurrencyDto.from(currency(id, code, version));
+    }
+}
@@ -0,0 +1,190 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/**
+ * Unit tests for the {@link CurrencyChangeFeed}, streaming through the {@link CurrencyController} over a mocked
+ * outbox.
+ */
+class CurrencyChangeFeedTest {
+    private static final Instant MODIFIED = Instant.parse("2025-03-01T12:00:00Z");
+    private static final int BATCH_SIZE = 500;
+    private static final int SUBSCRIBER_BUFFER = 2;
+
+    private CurrencyChangeRepository currencyChangeRepository;
+    private SimpleMeterRegistry meterRegistry;
+    private Queue<Runnable> sender;
+    private CurrencyChangeFeed currencyChangeFeed;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        currencyChangeRepository = mock(CurrencyChangeRepository.class);
+        CurrencyRepository currencyRepository = mock(CurrencyRepository.class);
+        when(currencyRepository.findAllAsDtoByIdIn(anyCollection())).thenAnswer(invocation -> invocation
+                .<List<Long>>getArgument(0).stream().map(CurrencyChangeFeedTest::dto).toList());
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        meterRegistry = new SimpleMeterRegistry();
+        sender = new ArrayDeque<>();
+        // The poller and the senders are run by the tests rather than on a schedule and on threads of their own
+        currencyChangeFeed = new CurrencyChangeFeed(currencyChangeRepository, currencyRepository, objectMapper,
+                meterRegistry, Duration.ofHours(1), Duration.ofHours(1), Duration.ofHours(1), BATCH_SIZE,
+                SUBSCRIBER_BUFFER, sender::add);
+        CurrencyController controller = new CurrencyController(currencyRepository, mock(CurrencyCache.class),
+                mock(CurrencyImporter.class), mock(CurrencyExporter.class), mock(CurrencySuggester.class),
+                currencyChangeFeed, mock(CurrencyDeltaSync.class), mock(CurrencyPatcher.class),
+                mock(CurrencyPageCache.class), Validation.buildDefaultValidatorFactory().getValidator(),
+                mock(ApplicationEventPublisher.class), objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+        when(currencyChangeRepository.findLast()).thenReturn(Optional.of(change(5L, 50L)));
+        currencyChangeFeed.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        currencyChangeFeed.stop();
+    }
+
+    @Test
+    @DisplayName("Should replay the changes after Last-Event-ID, then stream live ones, without gaps or duplicates")
+    void shouldReplayMissedChangesThenStreamLiveOnes() throws Exception {
+        // Given
+        when(currencyChangeRepository.findFirst()).thenReturn(Optional.of(change(2L, 20L)));
+        // Change 6-60 committed after the feed's last poll, so it is left to the poller
+        when(currencyChangeRepository.findAllAfter(3L, 30L, BATCH_SIZE))
+                .thenReturn(List.of(change(4L, 40L), change(5L, 50L), change(6L, 60L)));
+        when(currencyChangeRepository.findAllAfter(5L, 50L, BATCH_SIZE))
+                .thenReturn(List.of(change(6L, 60L), change(7L, 70L)));
+
+        // When
+        MvcResult result = subscribe("3-30");
+        currencyChangeFeed.poll();
+        runSender();
+
+        // Then
+        assertThat(lines(result, "id:")).containsExactly("4-40", "5-50", "6-60", "7-70");
+        assertThat(lines(result, "event:")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should send a reset event at the feed's position when Last-Event-ID is older than the first change kept")
+    void shouldResetAClientPastTheReplayHorizon() throws Exception {
+        // Given
+        when(currencyChangeRepository.findFirst()).thenReturn(Optional.of(change(4L, 40L)));
+        when(currencyChangeRepository.findAllAfter(5L, 50L, BATCH_SIZE)).thenReturn(List.of(change(6L, 60L)));
+
+        // When
+        MvcResult result = subscribe("3-30");
+        currencyChangeFeed.poll();
+        runSender();
+
+        // Then
+        assertThat(lines(result, "event:")).containsExactly("reset");
+        assertThat(lines(result, "id:")).containsExactly("5-50", "6-60");
+        verify(currencyChangeRepository, never()).findAllAfter(eq(3L), eq(30L), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should resume a client positioned on the first change kept without resetting it")
+    void shouldResumeAClientOnTheReplayHorizon() throws Exception {
+        // Given
+        when(currencyChangeRepository.findFirst()).thenReturn(Optional.of(change(4L, 40L)));
+        when(currencyChangeRepository.findAllAfter(4L, 40L, BATCH_SIZE)).thenReturn(List.of(change(5L, 50L)));
+
+        // When
+        MvcResult result = subscribe("4-40");
+
+        // Then
+        assertThat(lines(result, "event:")).isEmpty();
+        assertThat(lines(result, "id:")).containsExactly("5-50");
+        verify(currencyChangeRepository, never()).findAllAfter(eq(5L), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should close a subscriber whose queue overflows without writing to it on the poller's thread")
+    void shouldCloseASubscriberThatFallsBehind() throws Exception {
+        // Given
+        when(currencyChangeRepository.findAllAfter(5L, 50L, BATCH_SIZE))
+                .thenReturn(List.of(change(6L, 60L), change(7L, 70L), change(8L, 80L)));
+        MvcResult result = mockMvc.perform(get("/currencies/events")).andExpect(request().asyncStarted()).andReturn();
+        runSender();
+
+        // When
+        currencyChangeFeed.poll();
+
+        // Then
+        assertThat(lines(result, "id:")).containsExactly("5-50");
+        assertThat(meterRegistry.get("currency.changes.subscribers").gauge().value()).isZero();
+        assertThat(meterRegistry.get("currency.changes.lagging").counter().count()).isEqualTo(1);
+        runSender();
+        assertThat(lines(result, "id:")).containsExactly("5-50");
+        assertThat(result.getAsyncResult(0)).isNull();
+    }
+
+    private MvcResult subscribe(String lastEventId) throws Exception {
+        MvcResult result = mockMvc.perform(get("/currencies/events").header("Last-Event-ID", lastEventId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        runSender();
+        return result;
+    }
+
+    private void runSender() {
+        Runnable task;
+        while ((task = sender.poll()) != null) {
+            task.run();
+        }
+    }
+
+    /**
+     * @return The values of the stream's fields with the given prefix, in order
+     */
+    private static List<String> lines(MvcResult result, String prefix) throws Exception {
+        return Arrays.stream(result.getResponse().getContentAsString().split("\n"))
+                .filter(line -> line.startsWith(prefix))
+                .map(line -> line.substring(prefix.length()))
+                .toList();
+    }
+
+    private static CurrencyChange change(Long txid, Long id) {
+        CurrencyChange change = new CurrencyChange();
+        change.setTxid(txid);
+        change.setId(id);
+        change.setType(CurrencyChangedEvent.Type.UPDATED);
+        change.setCurrencyId(id % 3 + 1);
+        change.setVersion(1);
+        change.setLastModifiedDate(MODIFIED);
+        return change;
+    }
+
+    private static CurrencyDto dto(Long id) {
+        return new CurrencyDto(id, 1, MODIFIED, MODIFIED, null, null, "Currency " + id, "C" + id, null, 2);
+    }
+}
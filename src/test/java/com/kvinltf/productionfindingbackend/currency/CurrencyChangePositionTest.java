@@ -0,0 +1,48 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link CurrencyChangePosition}.
+ */
+class CurrencyChangePositionTest {
+
+    @Test
+    @DisplayName("Should round-trip through its event ID form")
+    void shouldRoundTripThroughItsEventIdForm() {
+        // Given
+        CurrencyChangePosition position = new CurrencyChangePosition(1183, 51);
+
+        // When
+        CurrencyChangePosition parsed = CurrencyChangePosition.parse(position.toString());
+
+        // Then
+        assertThat(position.toString()).isEqualTo("1183-51");
+        assertThat(parsed).isEqualTo(position);
+    }
+
+    @Test
+    @DisplayName("Should order by transaction first and change ID second")
+    void shouldOrderByTransactionFirstAndChangeIdSecond() {
+        // Given
+        CurrencyChangePosition position = new CurrencyChangePosition(10, 200);
+
+        // Then
+        assertThat(new CurrencyChangePosition(11, 1).isAfter(position)).isTrue();
+        assertThat(new CurrencyChangePosition(10, 201).isAfter(position)).isTrue();
+        assertThat(new CurrencyChangePosition(10, 200).isAfter(position)).isFalse();
+        assertThat(new CurrencyChangePosition(9, 500).isAfter(position)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reject IDs that are not positions")
+    void shouldRejectIdsThatAreNotPositions() {
+        assertThatThrownBy(() -> CurrencyChangePosition.parse("junk")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CurrencyChangePosition.parse("12-")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CurrencyChangePosition.parse("-12")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,38 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CurrencyChangeRetention}.
+ */
+class CurrencyChangeRetentionTest {
+    private static final Instant NOW = Instant.parse("2025-03-08T12:00:00Z");
+
+    @Test
+    @DisplayName("Should delete the changes recorded before the retention and count them")
+    void shouldDeleteTheChangesOlderThanTheRetention() {
+        // Given
+        CurrencyChangeRepository currencyChangeRepository = mock(CurrencyChangeRepository.class);
+        when(currencyChangeRepository.deleteAllRecordedBefore(Instant.parse("2025-03-01T12:00:00Z"))).thenReturn(3);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        CurrencyChangeRetention retention = new CurrencyChangeRetention(currencyChangeRepository, meterRegistry,
+                Duration.ofDays(7), Duration.ofHours(1), Clock.fixed(NOW, ZoneOffset.UTC));
+
+        // When
+        int pruned = retention.prune();
+
+        // Then
+        assertThat(pruned).isEqualTo(3);
+        assertThat(meterRegistry.counter("currency.changes.pruned").count()).isEqualTo(3);
+    }
+}
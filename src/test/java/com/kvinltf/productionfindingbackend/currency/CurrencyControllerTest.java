@@ -0,0 +1,224 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.kvinltf.productionfindingbackend.core.ETags;
+import com.kvinltf.productionfindingbackend.core.web.RepresentationTagAdvice;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Unit tests for the {@link CurrencyController}, through a standalone {@link MockMvc} over mocked collaborators.
+ */
+class CurrencyControllerTest {
+    private static final Instant MODIFIED = Instant.parse("2025-03-01T12:00:00Z");
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+
+    private final ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+    private final ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+
+    private CurrencyRepository currencyRepository;
+    private CurrencyCache currencyCache;
+    private CurrencyImporter currencyImporter;
+    private CurrencyPageCache currencyPageCache;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        currencyRepository = mock(CurrencyRepository.class);
+        currencyCache = mock(CurrencyCache.class);
+        currencyImporter = mock(CurrencyImporter.class);
+        currencyPageCache = mock(CurrencyPageCache.class);
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        CurrencyController controller = new CurrencyController(currencyRepository, currencyCache,
+                currencyImporter, mock(CurrencyExporter.class), mock(CurrencySuggester.class),
+                mock(CurrencyChangeFeed.class), mock(CurrencyDeltaSync.class), mock(CurrencyPatcher.class),
+                currencyPageCache, Validation.buildDefaultValidatorFactory().getValidator(),
+                mock(ApplicationEventPublisher.class), objectMapper);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller)
+                .setControllerAdvice(new RepresentationTagAdvice())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(objectMapper),
+                        new MappingJackson2CborHttpMessageConverter(cborMapper),
+                        new MappingJackson2SmileHttpMessageConverter(smileMapper))
+                .setCustomArgumentResolvers(new PageableHandlerMethodArgumentResolver())
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should answer a currency with the strong ETag of its JSON body, and 304 to a matching If-None-Match")
+    void shouldAnswerNotModifiedToAMatchingIfNoneMatch() throws Exception {
+        // Given
+        when(currencyCache.findById(1L)).thenReturn(Optional.of(dto(1L, 3)));
+
+        // When / Then
+        mockMvc.perform(get("/currencies/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3+json\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andExpect(jsonPath("$.code").value("C1"));
+        mockMvc.perform(get("/currencies/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-3+json\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-3+json\""))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/currencies/1").header(HttpHeaders.IF_NONE_MATCH, "\"1-2+json\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should create, update and read a currency in CBOR and Smile, with an ETag for each representation")
+    void shouldRoundTripBinaryRepresentations() throws Exception {
+        // Given
+        when(currencyRepository.save(any(Currency.class))).thenAnswer(invocation -> saved(invocation.getArgument(0), 0));
+        Currency stored = saved(new Currency(), 0);
+        stored.setName("Euro");
+        stored.setCode("EUR");
+        stored.setDecimalPlaces(2);
+        when(currencyRepository.findVersionById(1L)).thenReturn(Optional.of(0));
+        when(currencyRepository.findById(1L)).thenReturn(Optional.of(stored));
+        when(currencyRepository.saveAndFlush(stored)).thenAnswer(invocation -> saved(stored, 1));
+        when(currencyCache.findById(1L)).thenReturn(Optional.of(dto(1L, 1)));
+
+        // When
+        byte[] created = mockMvc.perform(post("/currencies")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cborMapper.writeValueAsBytes(new CurrencyCreateRequest("Euro", "EUR", "€", 2))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] updated = mockMvc.perform(put("/currencies/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-0+cbor\"")
+                        .contentType(SMILE)
+                        .accept(SMILE)
+                        .content(smileMapper.writeValueAsBytes(new CurrencyUpdateRequest("Euro (new)", "EUR", "€", 2))))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1+smile\""))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        assertThat(cborMapper.readValue(created, CurrencyDto.class))
+                .extracting(CurrencyDto::getId, CurrencyDto::getCode, CurrencyDto::getSymbol)
+                .containsExactly(1L, "EUR", "€");
+        assertThat(smileMapper.readValue(updated, CurrencyDto.class))
+                .extracting(CurrencyDto::getName, CurrencyDto::getVersion)
+                .containsExactly("Euro (new)", 1);
+        mockMvc.perform(get("/currencies/1").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1+cbor\""))
+                .andExpect(result -> assertThat(cborMapper.readValue(result.getResponse().getContentAsByteArray(),
+                        CurrencyDto.class).getCode()).isEqualTo("C1"));
+        mockMvc.perform(get("/currencies/1").accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, "\"1-1+cbor\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-1+smile\""));
+        mockMvc.perform(get("/currencies/1").accept(SMILE).header(HttpHeaders.IF_NONE_MATCH, "\"1-1+smile\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should answer 304 to a page whose weak ETag is matched")
+    void shouldAnswerNotModifiedToAMatchingPage() throws Exception {
+        // Given
+        List<CurrencyDto> content = List.of(dto(1L, 1), dto(2L, 4));
+        when(currencyRepository.findAllAsDto(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(content, PageRequest.of(0, 20), 2));
+        String eTag = ETags.representation(ETags.weak(2, content), MediaType.APPLICATION_JSON);
+
+        // When / Then
+        mockMvc.perform(get("/currencies").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+        mockMvc.perform(get("/currencies").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Should reject an update with a stale If-Match with 412 before loading the currency")
+    void shouldRejectAStaleIfMatch() throws Exception {
+        // Given
+        when(currencyRepository.findVersionById(1L)).thenReturn(Optional.of(3));
+
+        // When / Then
+        mockMvc.perform(put("/currencies/1")
+                        .header(HttpHeaders.IF_MATCH, "\"1-2\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"name": "Euro", "code": "EUR", "symbol": "€", "decimalPlaces": 2}
+                                """))
+                .andExpect(status().isPreconditionFailed());
+        verify(currencyRepository, never()).findById(any());
+        verify(currencyRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("Should import a newline-delimited JSON body row by row and summarize the results")
+    void shouldImportNewlineDelimitedJson() throws Exception {
+        // Given
+        List<CurrencyCreateRequest> rows = new ArrayList<>();
+        when(currencyImporter.importAll(any())).thenAnswer(invocation -> {
+            invocation.<Iterator<CurrencyCreateRequest>>getArgument(0).forEachRemaining(rows::add);
+            return List.of(
+                    new CurrencyImportResult(0, "USD", CurrencyImportResult.Status.CREATED, 1L, List.of()),
+                    new CurrencyImportResult(1, "EU", CurrencyImportResult.Status.INVALID, null,
+                            List.of("Currency code must be exactly 3 characters")));
+        });
+
+        // When / Then
+        mockMvc.perform(post("/currencies/_bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("""
+                                {"name": "US Dollar", "code": "USD", "symbol": "$", "decimalPlaces": 2}
+                                {"name": "Euro", "code": "EU", "decimalPlaces": 2, "unknown": true}
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.invalid").value(1))
+                .andExpect(jsonPath("$.results[1].status").value("INVALID"));
+        assertThat(rows).containsExactly(
+                new CurrencyCreateRequest("US Dollar", "USD", "$", 2),
+                new CurrencyCreateRequest("Euro", "EU", null, 2));
+    }
+
+    private static Currency saved(Currency currency, int version) {
+        currency.setId(1L);
+        currency.setVersion(version);
+        currency.setLastModifiedDate(MODIFIED);
+        return currency;
+    }
+
+    private static CurrencyDto dto(Long id, Integer version) {
+        return new CurrencyDto(id, version, MODIFIED, MODIFIED, "n/a", "n/a", "Currency " + id, "C" + id, null, 2);
+    }
+}
@@ -0,0 +1,159 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CurrencyDeltaSync}.
+ */
+class CurrencyDeltaSyncTest {
+    private static final Instant NOW = Instant.parse("2025-03-01T12:00:00Z");
+    private static final int LIMIT = 3;
+
+    private CurrencyRepository currencyRepository;
+    private CurrencyChangeRepository currencyChangeRepository;
+    private CurrencyDeltaSync currencyDeltaSync;
+
+    @BeforeEach
+    void setUp() {
+        currencyRepository = mock(CurrencyRepository.class);
+        currencyChangeRepository = mock(CurrencyChangeRepository.class);
+        currencyDeltaSync = new CurrencyDeltaSync(currencyRepository, currencyChangeRepository, LIMIT);
+    }
+
+    @Test
+    @DisplayName("Should return all currencies with the position of the last settled change, read first, as watermark")
+    void shouldReturnAllCurrenciesWithoutAWatermark() {
+        // Given
+        when(currencyChangeRepository.findLast()).thenReturn(Optional.of(change(7L, 12L, 2L, CurrencyChangedEvent.Type.UPDATED)));
+        when(currencyRepository.findAllAsDto()).thenReturn(List.of(dto(1L), dto(2L)));
+
+        // When
+        CurrencyDelta delta = currencyDeltaSync.changesSince(null);
+
+        // Then
+        assertThat(delta.currencies()).extracting(CurrencyDto::getId).containsExactly(1L, 2L);
+        assertThat(delta.deletedIds()).isEmpty();
+        assertThat(delta.watermark()).isEqualTo("7-12");
+        assertThat(delta.more()).isFalse();
+        InOrder inOrder = inOrder(currencyChangeRepository, currencyRepository);
+        inOrder.verify(currencyChangeRepository).findLast();
+        inOrder.verify(currencyRepository).findAllAsDto();
+    }
+
+    @Test
+    @DisplayName("Should start from the beginning of the outbox when it is empty")
+    void shouldStartFromTheBeginningOfAnEmptyOutbox() {
+        // Given
+        when(currencyChangeRepository.findLast()).thenReturn(Optional.empty());
+
+        // When
+        CurrencyDelta delta = currencyDeltaSync.changesSince(null);
+
+        // Then
+        assertThat(delta.watermark()).isEqualTo(CurrencyChangePosition.START.toString());
+    }
+
+    @Test
+    @DisplayName("Should send each currency changed after the watermark once, by its last change")
+    void shouldReturnTheRowsChangedSinceTheWatermark() {
+        // Given
+        when(currencyChangeRepository.findFirst()).thenReturn(Optional.of(change(5L, 9L, 3L, CurrencyChangedEvent.Type.CREATED)));
+        when(currencyChangeRepository.findAllAfter(5L, 9L, LIMIT)).thenReturn(List.of(
+                change(5L, 10L, 3L, CurrencyChangedEvent.Type.CREATED),
+                change(6L, 11L, 4L, CurrencyChangedEvent.Type.DELETED)
+        ));
+        when(currencyRepository.findAllAsDtoByIdIn(List.of(3L))).thenReturn(List.of(dto(3L)));
+
+        // When
+        CurrencyDelta delta = currencyDeltaSync.changesSince(new CurrencyChangePosition(5, 9));
+
+        // Then
+        assertThat(delta.currencies()).extracting(CurrencyDto::getId).containsExactly(3L);
+        assertThat(delta.deletedIds()).containsExactly(4L);
+        assertThat(delta.watermark()).isEqualTo("6-11");
+        assertThat(delta.more()).isFalse();
+        assertThat(delta.reset()).isFalse();
+        verify(currencyRepository, never()).findAllAsDto();
+    }
+
+    @Test
+    @DisplayName("Should report as deleted a currency created then deleted, or gone by the time it is read")
+    void shouldReportCurrenciesNoLongerThereAsDeleted() {
+        // Given
+        when(currencyChangeRepository.findAllAfter(5L, 9L, LIMIT)).thenReturn(List.of(
+                change(5L, 10L, 3L, CurrencyChangedEvent.Type.CREATED),
+                change(5L, 11L, 4L, CurrencyChangedEvent.Type.UPDATED),
+                change(6L, 12L, 3L, CurrencyChangedEvent.Type.DELETED)
+        ));
+        when(currencyRepository.findAllAsDtoByIdIn(List.of(4L))).thenReturn(List.of());
+
+        // When
+        CurrencyDelta delta = currencyDeltaSync.changesSince(new CurrencyChangePosition(5, 9));
+
+        // Then
+        assertThat(delta.currencies()).isEmpty();
+        assertThat(delta.deletedIds()).containsExactly(4L, 3L);
+        assertThat(delta.watermark()).isEqualTo("6-12");
+        assertThat(delta.more()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should reset the client to all currencies when its watermark is older than the first change kept")
+    void shouldResetAWatermarkPastTheReplayHorizon() {
+        // Given
+        when(currencyChangeRepository.findFirst()).thenReturn(Optional.of(change(4L, 8L, 1L, CurrencyChangedEvent.Type.UPDATED)));
+        when(currencyChangeRepository.findLast()).thenReturn(Optional.of(change(7L, 12L, 2L, CurrencyChangedEvent.Type.UPDATED)));
+        when(currencyRepository.findAllAsDto()).thenReturn(List.of(dto(1L), dto(2L)));
+
+        // When
+        CurrencyDelta delta = currencyDeltaSync.changesSince(new CurrencyChangePosition(3, 5));
+
+        // Then
+        assertThat(delta.reset()).isTrue();
+        assertThat(delta.currencies()).extracting(CurrencyDto::getId).containsExactly(1L, 2L);
+        assertThat(delta.watermark()).isEqualTo("7-12");
+        verify(currencyChangeRepository, never()).findAllAfter(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should keep the watermark without reading currencies when nothing changed")
+    void shouldKeepTheWatermarkWhenNothingChanged() {
+        // Given
+        when(currencyChangeRepository.findAllAfter(5L, 9L, LIMIT)).thenReturn(List.of());
+
+        // When
+        CurrencyDelta delta = currencyDeltaSync.changesSince(new CurrencyChangePosition(5, 9));
+
+        // Then
+        assertThat(delta.currencies()).isEmpty();
+        assertThat(delta.deletedIds()).isEmpty();
+        assertThat(delta.watermark()).isEqualTo("5-9");
+        verify(currencyRepository, never()).findAllAsDtoByIdIn(anyCollection());
+    }
+
+    private static CurrencyChange change(Long txid, Long id, Long currencyId, CurrencyChangedEvent.Type type) {
+        CurrencyChange change = new CurrencyChange();
+        change.setTxid(txid);
+        change.setId(id);
+        change.setCurrencyId(currencyId);
+        change.setType(type);
+        return change;
+    }
+
+    private static CurrencyDto dto(Long id) {
+        return new CurrencyDto(id, 0, NOW, NOW, null, null, "Currency " + id, "C" + id, null, 2);
+    }
+}
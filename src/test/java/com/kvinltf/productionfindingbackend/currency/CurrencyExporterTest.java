@@ -0,0 +1,68 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CurrencyExporter}.
+ */
+class CurrencyExporterTest {
+
+    private CurrencyRepository currencyRepository;
+    private CurrencyExporter currencyExporter;
+
+    @BeforeEach
+    void setUp() {
+        currencyRepository = mock(CurrencyRepository.class);
+        currencyExporter = new CurrencyExporter(currencyRepository, new ObjectMapper().registerModule(new JavaTimeModule()));
+        when(currencyRepository.streamAllAsDto()).thenAnswer(invocation -> Stream.of(
+                new CurrencyDto().setId(1L).setVersion(0).setCode("USD").setName("US Dollar").setSymbol("$").setDecimalPlaces(2),
+                new CurrencyDto().setId(2L).setVersion(3).setCode("XTS").setName("Test, \"quoted\"").setDecimalPlaces(0)
+        ));
+    }
+
+    @Test
+    @DisplayName("Should write one JSON object per line")
+    void shouldWriteOneJsonObjectPerLine() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long count = currencyExporter.exportAll(CurrencyExporter.Format.NDJSON, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"id\":1,").contains("\"code\":\"USD\"");
+        assertThat(lines[1]).startsWith("{\"id\":2,").contains("\"code\":\"XTS\"");
+    }
+
+    @Test
+    @DisplayName("Should write a header and quote CSV fields that need it")
+    void shouldWriteAHeaderAndQuoteCsvFieldsThatNeedIt() throws IOException {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        currencyExporter.exportAll(CurrencyExporter.Format.CSV, out);
+
+        // Then
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "id,version,code,name,symbol,decimalPlaces,createdDate,lastModifiedDate,createdBy,lastModifiedBy",
+                "1,0,USD,US Dollar,$,2,,,,",
+                "2,3,XTS,\"Test, \"\"quoted\"\"\",,0,,,,"
+        );
+    }
+}
@@ -0,0 +1,150 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CurrencyImporter}.
+ */
+class CurrencyImporterTest {
+
+    private CurrencyRepository currencyRepository;
+    private EntityManager entityManager;
+    private ApplicationEventPublisher eventPublisher;
+    private CurrencyImporter currencyImporter;
+
+    @BeforeEach
+    void setUp() {
+        currencyRepository = mock(CurrencyRepository.class);
+        entityManager = mock(EntityManager.class);
+        eventPublisher = mock(ApplicationEventPublisher.class);
+        currencyImporter = new CurrencyImporter(currencyRepository, entityManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), eventPublisher, 2);
+        AtomicLong ids = new AtomicLong(100);
+        doAnswer(invocation -> {
+            invocation.<Currency>getArgument(0).setId(ids.incrementAndGet());
+            return null;
+        }).when(entityManager).persist(any(Currency.class));
+    }
+
+    @Test
+    @DisplayName("Should create unknown codes, update changed ones and leave matching ones unchanged")
+    void shouldUpsertByCode() {
+        // Given
+        when(currencyRepository.findAllByCodeIn(anyCollection()))
+                .thenReturn(List.of(currency(1L, "US Dollar", "USD"), currency(2L, "Euro", "EUR")));
+
+        // When
+        List<CurrencyImportResult> results = currencyImporter.importAll(List.of(
+                request("US Dollar", "USD"),
+                request("Euro (new)", "EUR")
+        ).iterator());
+
+        // Then
+        assertThat(results).extracting(CurrencyImportResult::status)
+                .containsExactly(CurrencyImportResult.Status.UNCHANGED, CurrencyImportResult.Status.UPDATED);
+        assertThat(results).extracting(CurrencyImportResult::id).containsExactly(1L, 2L);
+        verify(entityManager, never()).persist(any());
+        verify(eventPublisher).publishEvent(any(CurrencyChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should persist a new currency once, and update it from a later row with the same code")
+    void shouldCreateThenUpdateARepeatedCode() {
+        // Given
+        when(currencyRepository.findAllByCodeIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<CurrencyImportResult> results = currencyImporter.importAll(List.of(
+                request("Swiss Franc", "CHF"),
+                request("Swiss Franc (new)", "CHF")
+        ).iterator());
+
+        // Then
+        assertThat(results).extracting(CurrencyImportResult::status)
+                .containsExactly(CurrencyImportResult.Status.CREATED, CurrencyImportResult.Status.UPDATED);
+        assertThat(results).extracting(CurrencyImportResult::id).containsExactly(101L, 101L);
+        verify(entityManager, times(1)).persist(any(Currency.class));
+    }
+
+    @Test
+    @DisplayName("Should look up, flush and clear once per chunk, keeping the row indexes across chunks")
+    void shouldImportInChunks() {
+        // Given
+        when(currencyRepository.findAllByCodeIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<CurrencyImportResult> results = currencyImporter.importAll(List.of(
+                request("One", "AAA"),
+                request("Two", "BBB"),
+                request("Three", "CCC")
+        ).iterator());
+
+        // Then
+        assertThat(results).extracting(CurrencyImportResult::index).containsExactly(0, 1, 2);
+        InOrder inOrder = inOrder(currencyRepository, entityManager);
+        inOrder.verify(currencyRepository).findAllByCodeIn((Collection<String>) Set.of("AAA", "BBB"));
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).clear();
+        inOrder.verify(currencyRepository).findAllByCodeIn((Collection<String>) Set.of("CCC"));
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).clear();
+        verify(eventPublisher, times(3)).publishEvent(any(CurrencyChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should report invalid rows with their messages without writing them")
+    void shouldReportInvalidRows() {
+        // Given
+        when(currencyRepository.findAllByCodeIn(anyCollection())).thenReturn(List.of());
+
+        // When
+        List<CurrencyImportResult> results = currencyImporter.importAll(List.of(
+                new CurrencyCreateRequest("", "TOOLONG", null, null),
+                request("Valid", "VAL")
+        ).iterator());
+
+        // Then
+        CurrencyImportResult invalid = results.getFirst();
+        assertThat(invalid.status()).isEqualTo(CurrencyImportResult.Status.INVALID);
+        assertThat(invalid.id()).isNull();
+        assertThat(invalid.errors()).contains(
+                "Currency name is required",
+                "Currency code must be exactly 3 characters",
+                "Number of decimal places is required");
+        assertThat(results.get(1).status()).isEqualTo(CurrencyImportResult.Status.CREATED);
+        verify(currencyRepository).findAllByCodeIn((Collection<String>) Set.of("VAL"));
+        verify(entityManager, times(1)).persist(any(Currency.class));
+        assertThat(CurrencyImportResponse.of(results))
+                .extracting(CurrencyImportResponse::created, CurrencyImportResponse::invalid)
+                .containsExactly(1, 1);
+    }
+
+    private static CurrencyCreateRequest request(String name, String code) {
+        return new CurrencyCreateRequest(name, code, null, 2);
+    }
+
+    private static Currency currency(Long id, String name, String code) {
+        Currency currency = new Currency();
+        currency.setId(id);
+        currency.setName(name);
+        currency.setCode(code);
+        currency.setDecimalPlaces(2);
+        return currency;
+    }
+}
@@ -0,0 +1,90 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link CurrencyPatch}.
+ */
+class CurrencyPatchTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    @Test
+    @DisplayName("Should keep only the writable fields given, with the expected version")
+    void shouldKeepOnlyTheWritableFieldsGiven() throws Exception {
+        // Given
+        JsonNode body = objectMapper.readTree("""
+                {"id": 7, "version": 3, "createdDate": "2024-01-01T00:00:00Z", "name": "Euro", "symbol": null, "color": "blue"}
+                """);
+
+        // When
+        CurrencyPatch patch = CurrencyPatch.parse(body, validator);
+
+        // Then
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("name", "Euro");
+        expected.put("symbol", null);
+        assertThat(patch.version()).isEqualTo(3);
+        assertThat(patch.fields()).containsExactlyEntriesOf(expected);
+    }
+
+    @Test
+    @DisplayName("Should reject clearing a required field")
+    void shouldRejectClearingARequiredField() throws Exception {
+        // Given
+        JsonNode body = objectMapper.readTree("""
+                {"decimalPlaces": null}
+                """);
+
+        // When / Then
+        assertThatThrownBy(() -> CurrencyPatch.parse(body, validator))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Number of decimal places is required");
+    }
+
+    @Test
+    @DisplayName("Should reject a field breaking a constraint of the currency")
+    void shouldRejectAFieldBreakingAConstraint() throws Exception {
+        // Given
+        JsonNode body = objectMapper.readTree("""
+                {"code": "EURO"}
+                """);
+
+        // When / Then
+        assertThatThrownBy(() -> CurrencyPatch.parse(body, validator))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Currency code must be exactly 3 characters");
+    }
+
+    @Test
+    @DisplayName("Should reject a field of the wrong type")
+    void shouldRejectAFieldOfTheWrongType() throws Exception {
+        // Given
+        JsonNode body = objectMapper.readTree("""
+                {"decimalPlaces": "2"}
+                """);
+
+        // When / Then
+        assertThatThrownBy(() -> CurrencyPatch.parse(body, validator))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("decimalPlaces must be an integer");
+    }
+}
@@ -0,0 +1,160 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.kvinltf.productionfindingbackend.config.TestContainersConfig;
+import com.kvinltf.productionfindingbackend.core.ETags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Integration tests for the {@link CurrencyPatcher}.
+ * These tests verify the status of each outcome of the conditional update against the database.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({CurrencyPatcher.class, CurrencyPatcherTest.Auditing.class})
+class CurrencyPatcherTest extends TestContainersConfig {
+    private static final AtomicReference<String> AUDITOR = new AtomicReference<>();
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private CurrencyPatcher currencyPatcher;
+
+    private Currency currency;
+
+    @BeforeEach
+    void setUp() {
+        AUDITOR.set("creator");
+        Currency usd = new Currency();
+        usd.setName("US Dollar");
+        usd.setCode("USD");
+        usd.setSymbol("$");
+        usd.setDecimalPlaces(2);
+        currency = currencyRepository.saveAndFlush(usd);
+        AUDITOR.set("patcher");
+    }
+
+    @Test
+    @DisplayName("Should patch the fields, version and modifying user")
+    void shouldPatchTheFieldsVersionAndModifyingUser() {
+        // When
+        Currency patched = currencyPatcher.patch(currency.getId(), null, new CurrencyPatch(null, Map.of("name", "Dollar")));
+
+        // Then
+        assertThat(patched.getName()).isEqualTo("Dollar");
+        assertThat(patched.getVersion()).isEqualTo(currency.getVersion() + 1);
+        assertThat(patched.getCreatedBy()).isEqualTo("creator");
+        assertThat(patched.getLastModifiedBy()).isEqualTo("patcher");
+    }
+
+    @Test
+    @DisplayName("Should answer 404 for an unknown currency")
+    void shouldAnswer404ForAnUnknownCurrency() {
+        // When/Then
+        assertThatThrownBy(() -> currencyPatcher.patch(currency.getId() + 1000, null, new CurrencyPatch(null, Map.of("name", "Dollar"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("Should answer 412 when If-Match names another version")
+    void shouldAnswer412WhenIfMatchNamesAnotherVersion() {
+        // Given
+        String stale = ETags.strong(currency.getId(), currency.getVersion() + 1);
+
+        // When/Then
+        assertThatThrownBy(() -> currencyPatcher.patch(currency.getId(), stale, new CurrencyPatch(null, Map.of("name", "Dollar"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when the version in the patch is stale")
+    void shouldAnswer409WhenTheVersionInThePatchIsStale() {
+        // When/Then
+        assertThatThrownBy(() -> currencyPatcher.patch(currency.getId(), null,
+                new CurrencyPatch(currency.getVersion() + 1, Map.of("name", "Dollar"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    @DisplayName("Should only apply a version both If-Match and the patch accept")
+    void shouldOnlyApplyAVersionBothIfMatchAndThePatchAccept() {
+        // Given
+        Integer current = currency.getVersion();
+        String both = ETags.strong(currency.getId(), current) + ", " + ETags.strong(currency.getId(), current + 1);
+
+        // When
+        Currency patched = currencyPatcher.patch(currency.getId(), both, new CurrencyPatch(current, Map.of("name", "Dollar")));
+
+        // Then
+        assertThat(patched.getVersion()).isEqualTo(current + 1);
+        assertThatThrownBy(() -> currencyPatcher.patch(currency.getId(), ETags.strong(currency.getId(), current + 1),
+                new CurrencyPatch(current, Map.of("name", "Buck"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @Test
+    @DisplayName("Should write nothing for an empty patch, but still check the versions")
+    void shouldWriteNothingForAnEmptyPatch() {
+        // When
+        Currency unchanged = currencyPatcher.patch(currency.getId(), ETags.strong(currency), new CurrencyPatch(null, Map.of()));
+
+        // Then
+        assertThat(unchanged.getVersion()).isEqualTo(currency.getVersion());
+        assertThat(unchanged.getLastModifiedBy()).isEqualTo("creator");
+        assertThatThrownBy(() -> currencyPatcher.patch(currency.getId(),
+                ETags.strong(currency.getId(), currency.getVersion() + 1), new CurrencyPatch(null, Map.of())))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.PRECONDITION_FAILED));
+        assertThatThrownBy(() -> currencyPatcher.patch(currency.getId() + 1000, null, new CurrencyPatch(null, Map.of())))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    @DisplayName("Should answer 409 when the code is taken")
+    void shouldAnswer409WhenTheCodeIsTaken() {
+        // Given
+        Currency eur = new Currency();
+        eur.setName("Euro");
+        eur.setCode("EUR");
+        eur.setDecimalPlaces(2);
+        currencyRepository.saveAndFlush(eur);
+
+        // When/Then
+        assertThatThrownBy(() -> currencyPatcher.patch(currency.getId(), null, new CurrencyPatch(null, Map.of("code", "EUR"))))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.CONFLICT));
+    }
+
+    @TestConfiguration
+    static class Auditing {
+        @Bean
+        AuditorAware<String> auditorAware() {
+            return () -> Optional.ofNullable(AUDITOR.get());
+        }
+    }
+}
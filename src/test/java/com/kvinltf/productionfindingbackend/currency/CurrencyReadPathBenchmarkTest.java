@@ -0,0 +1,111 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kvinltf.productionfindingbackend.config.TestContainersConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PagedModel;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration benchmark comparing the entity read path of {@code GET /currencies} with the
+ * {@link CurrencyDto} projection path, measuring latency and allocated bytes per page including serialization.
+ * <p>
+ * Excluded from the default build; run with {@code mvn test -Dgroups=benchmark -DexcludedGroups=}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class CurrencyReadPathBenchmarkTest extends TestContainersConfig {
+
+    private static final int ROWS = 2_000;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 1_000;
+
+    @Autowired
+    private CurrencyRepository currencyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        currencyRepository.deleteAll();
+        List<Currency> currencies = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Currency currency = new Currency();
+            currency.setName("Currency " + i);
+            currency.setCode(code(i));
+            currency.setSymbol("$");
+            currency.setDecimalPlaces(2);
+            currencies.add(currency);
+        }
+        currencyRepository.saveAll(currencies);
+    }
+
+    @Test
+    @DisplayName("Should compare the entity and projection read paths")
+    void shouldCompareTheEntityAndProjectionReadPaths() {
+        Pageable pageable = PageRequest.of(0, 100);
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        Result entity = measure(() -> readWrite.execute(status ->
+                serialize(new PagedModel<>(currencyRepository.findAll(pageable)))));
+        Result projection = measure(() -> readOnly.execute(status ->
+                serialize(new PagedModel<>(currencyRepository.findAllAsDto(pageable)))));
+
+        System.out.printf("%-12s %12s %16s%n", "path", "avg us/page", "avg bytes/page");
+        System.out.printf("%-12s %12.1f %16d%n", "entity", entity.micros(), entity.bytes());
+        System.out.printf("%-12s %12.1f %16d%n", "projection", projection.micros(), projection.bytes());
+        assertThat(projection.payloadLength()).isEqualTo(entity.payloadLength());
+    }
+
+    private Result measure(Supplier<byte[]> page) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        int payloadLength = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            payloadLength = page.get().length;
+        }
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            page.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        return new Result(elapsed / 1_000.0 / ITERATIONS, allocated / ITERATIONS, payloadLength);
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String code(int i) {
+        return "" + (char) ('A' + i / 676 % 26) + (char) ('A' + i / 26 % 26) + (char) ('A' + i % 26);
+    }
+
+    private record Result(double micros, long bytes, int payloadLength) {
+    }
+}
@@ -7,9 +7,16 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 
 import jakarta.validation.ConstraintViolationException;
+
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -151,7 +158,7 @@ class CurrencyRepositoryTest extends TestContainersConfig {
         currency2.setDecimalPlaces(2);
 
         // When/Then
-        assertThatThrownBy(() -> currencyRepository.save(currency2))
+        assertThatThrownBy(() -> currencyRepository.saveAndFlush(currency2))
                 .isInstanceOf(DataIntegrityViolationException.class);
     }
 
@@ -164,7 +171,7 @@ class CurrencyRepositoryTest extends TestContainersConfig {
         currency.setDecimalPlaces(2);
 
         // When/Then
-        assertThatThrownBy(() -> currencyRepository.save(currency))
+        assertThatThrownBy(() -> currencyRepository.saveAndFlush(currency))
                 .isInstanceOf(ConstraintViolationException.class)
                 .hasMessageContaining("Currency name is required");
     }
@@ -178,7 +185,7 @@ class CurrencyRepositoryTest extends TestContainersConfig {
         currency.setDecimalPlaces(2);
 
         // When/Then
-        assertThatThrownBy(() -> currencyRepository.save(currency))
+        assertThatThrownBy(() -> currencyRepository.saveAndFlush(currency))
                 .isInstanceOf(ConstraintViolationException.class)
                 .hasMessageContaining("Currency code is required");
     }
@@ -192,7 +199,7 @@ class CurrencyRepositoryTest extends TestContainersConfig {
         currency.setCode("USD");
 
         // When/Then
-        assertThatThrownBy(() -> currencyRepository.save(currency))
+        assertThatThrownBy(() -> currencyRepository.saveAndFlush(currency))
                 .isInstanceOf(ConstraintViolationException.class)
                 .hasMessageContaining("Number of decimal places is required");
     }
@@ -343,4 +350,45 @@ class CurrencyRepositoryTest extends TestContainersConfig {
         assertThat(currencies).hasSize(2);
         assertThat(currencies).extracting(Currency::getCode).containsExactlyInAnyOrder("USD", "GBP");
     }
+
+    @Test
+    @DisplayName("Should read slices of currency projections past a keyset position, breaking ties on the ID")
+    void shouldReadSlicesPastAKeysetPosition() {
+        // Given
+        List<Currency> saved = new ArrayList<>();
+        for (String[] values : new String[][]{{"Dollar", "USD"}, {"Dollar", "CAD"}, {"Euro", "EUR"}, {"Dollar", "AUD"}, {"Yen", "JPY"}}) {
+            Currency currency = new Currency();
+            currency.setName(values[0]);
+            currency.setCode(values[1]);
+            currency.setDecimalPlaces(2);
+            saved.add(currencyRepository.save(currency));
+        }
+        currencyRepository.flush();
+        Comparator<Currency> byNameThenId = Comparator.comparing(Currency::getName).thenComparing(Currency::getId);
+
+        // When
+        List<Long> ascending = scrollIds(Sort.by(Sort.Direction.ASC, "name"));
+        List<Long> descending = scrollIds(Sort.by(Sort.Direction.DESC, "name"));
+
+        // Then
+        assertThat(ascending).containsExactlyElementsOf(saved.stream().sorted(byNameThenId).map(Currency::getId).toList());
+        assertThat(descending).containsExactlyElementsOf(saved.stream().sorted(byNameThenId.reversed()).map(Currency::getId).toList());
+    }
+
+    /**
+     * @return The IDs of all currencies, read two at a time from one keyset position to the next
+     */
+    private List<Long> scrollIds(Sort sort) {
+        List<Long> ids = new ArrayList<>();
+        KeysetScrollPosition position = ScrollPosition.keyset();
+        Window<CurrencyDto> window;
+        do {
+            window = currencyRepository.findAllAsDto(position, sort, 2);
+            window.forEach(currency -> ids.add(currency.getId()));
+            if (!window.isEmpty()) {
+                position = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            }
+        } while (window.hasNext());
+        return ids;
+    }
 }
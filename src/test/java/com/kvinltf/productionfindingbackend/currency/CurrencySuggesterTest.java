@@ -0,0 +1,67 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.kvinltf.productionfindingbackend.core.cache.CacheInvalidationChannel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link CurrencySuggester}.
+ */
+class CurrencySuggesterTest {
+
+    private CurrencyCache currencyCache;
+    private CurrencySuggester currencySuggester;
+
+    @BeforeEach
+    void setUp() {
+        CurrencyRepository currencyRepository = mock(CurrencyRepository.class);
+        when(currencyRepository.findAllAsDto()).thenReturn(List.of(
+                currency(1L, "USD", "US Dollar", "$"),
+                currency(2L, "AUD", "Australian Dollar", "A$"),
+                currency(3L, "EUR", "Euro", "€")
+        ));
+        currencyCache = new CurrencyCache(currencyRepository, new SimpleMeterRegistry(), mock(CacheInvalidationChannel.class));
+        currencyCache.reload();
+        currencySuggester = new CurrencySuggester(currencyCache);
+    }
+
+    @Test
+    @DisplayName("Should match codes before names and words of names")
+    void shouldMatchCodesBeforeNamesAndWordsOfNames() {
+        // When/Then
+        assertThat(currencySuggester.suggest("u", 10)).extracting(CurrencyDto::getCode).containsExactly("USD");
+        assertThat(currencySuggester.suggest("Dol", 10)).extracting(CurrencyDto::getCode).containsExactly("AUD", "USD");
+        assertThat(currencySuggester.suggest("a", 10)).extracting(CurrencyDto::getCode).containsExactly("AUD");
+        assertThat(currencySuggester.suggest("€", 10)).extracting(CurrencyDto::getCode).containsExactly("EUR");
+        assertThat(currencySuggester.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should rebuild after the cache changes")
+    void shouldRebuildAfterTheCacheChanges() {
+        // Given
+        assertThat(currencySuggester.suggest("yen", 10)).isEmpty();
+        Currency yen = new Currency();
+        yen.setId(4L);
+        yen.setCode("JPY");
+        yen.setName("Japanese Yen");
+        yen.setDecimalPlaces(0);
+
+        // When
+        currencyCache.onCurrencyChanged(new CurrencyChangedEvent(CurrencyChangedEvent.Type.CREATED, yen));
+
+        // Then
+        assertThat(currencySuggester.suggest("yen", 10)).extracting(CurrencyDto::getCode).containsExactly("JPY");
+    }
+
+    private static CurrencyDto currency(Long id, String code, String name, String symbol) {
+        return new CurrencyDto().setId(id).setVersion(0).setCode(code).setName(name).setSymbol(symbol).setDecimalPlaces(2);
+    }
+}
@@ -0,0 +1,145 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link Money} and {@link MoneyMath}.
+ */
+class MoneyTest {
+    private static final CurrencyDto USD = new CurrencyDto().setId(1L).setCode("USD").setDecimalPlaces(2);
+    private static final CurrencyDto JPY = new CurrencyDto().setId(2L).setCode("JPY").setDecimalPlaces(0);
+    private static final CurrencyDto BHD = new CurrencyDto().setId(3L).setCode("BHD").setDecimalPlaces(3);
+
+    @Test
+    @DisplayName("Should round half-even to the decimal places of the currency")
+    void shouldRoundHalfEvenToTheDecimalPlacesOfTheCurrency() {
+        // When/Then
+        assertThat(Money.of(new BigDecimal("12.345"), USD).minorUnits()).isEqualTo(1234);
+        assertThat(Money.of(new BigDecimal("12.355"), USD).minorUnits()).isEqualTo(1236);
+        assertThat(Money.of(new BigDecimal("-0.005"), USD).minorUnits()).isEqualTo(0);
+        assertThat(Money.of(new BigDecimal("2.5"), JPY).minorUnits()).isEqualTo(2);
+        assertThat(Money.of(new BigDecimal("1.5"), BHD).toString()).isEqualTo("BHD 1.500");
+    }
+
+    @Test
+    @DisplayName("Should multiply by fractions with banker's rounding")
+    void shouldMultiplyByFractionsWithBankersRounding() {
+        // Given
+        Money price = Money.ofMinor(1050, USD);
+
+        // When/Then
+        assertThat(price.times(3).minorUnits()).isEqualTo(3150);
+        assertThat(price.times(1, 4).minorUnits()).isEqualTo(262);
+        assertThat(Money.ofMinor(1070, USD).times(1, 4).minorUnits()).isEqualTo(268);
+        assertThat(Money.ofMinor(-1050, USD).times(1, 4).minorUnits()).isEqualTo(-262);
+        assertThat(price.times(new BigDecimal("0.0825")).minorUnits()).isEqualTo(87);
+        assertThat(price.accumulator().add(price, 2).add(price).total().minorUnits()).isEqualTo(3150);
+        assertThat(MoneyMath.multiplyHalfEven(Long.MAX_VALUE / 2, 4, 4)).isEqualTo(Long.MAX_VALUE / 2);
+    }
+
+    @Test
+    @DisplayName("Should throw instead of overflowing")
+    void shouldThrowInsteadOfOverflowing() {
+        // Given
+        Money large = Money.ofMinor(Long.MAX_VALUE, USD);
+
+        // When/Then
+        assertThatThrownBy(() -> large.plus(Money.ofMinor(1, USD))).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> large.times(2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> large.times(3, 2)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> large.convert(1.0, BHD)).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject arithmetic across currencies")
+    void shouldRejectArithmeticAcrossCurrencies() {
+        // When/Then
+        assertThatThrownBy(() -> Money.ofMinor(1, USD).plus(Money.ofMinor(1, JPY)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("Should convert between currencies with different decimal places")
+    void shouldConvertBetweenCurrenciesWithDifferentDecimalPlaces() {
+        // When/Then
+        assertThat(Money.ofMinor(10000, USD).convert(149.25, JPY)).isEqualTo(Money.ofMinor(14925, JPY));
+        assertThat(Money.ofMinor(14925, JPY).convert(0.0067, USD)).isEqualTo(Money.ofMinor(10000, USD));
+        assertThat(Money.ofMinor(1, USD).convert(0.5, JPY).minorUnits()).isEqualTo(0);
+        assertThat(Money.ofMinor(100, USD).convert(0.377, BHD).toString()).isEqualTo("BHD 0.377");
+    }
+
+    @Test
+    @DisplayName("Should round ties and near ties of a conversion as the exact product does")
+    void shouldRoundTiesOfAConversionAsTheExactProductDoes() {
+        // Given
+        double[] rates = {0.1, 0.5, 0.25, 1.5, 2.5, 0.0067, 149.25, 1.0};
+
+        // When/Then
+        for (long minor = -2000; minor <= 2000; minor++) {
+            for (double rate : rates) {
+                for (int from = 0; from <= 3; from++) {
+                    for (int to = 0; to <= 3; to++) {
+                        long exact = new BigDecimal(minor).multiply(new BigDecimal(rate)).movePointRight(to - from)
+                                .setScale(0, RoundingMode.HALF_EVEN).longValueExact();
+                        assertThat(MoneyMath.convertHalfEven(minor, rate, from, to))
+                                .as("%d * %s from %d to %d decimal places", minor, rate, from, to)
+                                .isEqualTo(exact);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should format and parse the plain amount")
+    void shouldFormatAndParseThePlainAmount() {
+        // When/Then
+        assertThat(Money.ofMinor(-5, USD).amount()).isEqualTo("-0.05");
+        assertThat(Money.ofMinor(-1234, USD).amount()).isEqualTo("-12.34");
+        assertThat(Money.ofMinor(7, JPY).amount()).isEqualTo("7");
+        assertThat(Money.parse("BHD 1.005")).isEqualTo(Money.ofMinor(1005, BHD));
+        assertThat(Money.parse(Money.ofMinor(-1234, USD).toString())).isEqualTo(Money.ofMinor(-1234, USD));
+    }
+
+    @Test
+    @DisplayName("Should round-trip through JSON")
+    @SuppressWarnings("unchecked")
+    void shouldRoundTripThroughJson() throws Exception {
+        // Given
+        CurrencyCache currencyCache = mock(CurrencyCache.class);
+        when(currencyCache.findByCode("USD")).thenReturn(Optional.of(USD));
+        ObjectProvider<CurrencyCache> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(currencyCache);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new SimpleModule()
+                .addSerializer(Money.class, new MoneySerializer())
+                .addDeserializer(Money.class, new MoneyDeserializer(provider)));
+
+        // When
+        String json = objectMapper.writeValueAsString(Money.ofMinor(1205, USD));
+        Money read = objectMapper.readValue("{\"currency\":\"USD\",\"amount\":\"12.045\"}", Money.class);
+
+        // Then
+        assertThat(json).isEqualTo("{\"amount\":12.05,\"currency\":\"USD\"}");
+        assertThat(objectMapper.readValue(json, Money.class)).isEqualTo(Money.ofMinor(1205, USD));
+        assertThat(read.minorUnits()).isEqualTo(1204);
+        assertThatThrownBy(() -> objectMapper.readValue("{\"currency\":\"XXX\",\"amount\":1}", Money.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> objectMapper.readValue("{\"currency\":\"USD\",\"amount\":1e30}", Money.class))
+                .isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> objectMapper.readValue("{\"currency\":\"USD\",\"amount\":\"12,05\"}", Money.class))
+                .isInstanceOf(InvalidFormatException.class);
+    }
+}
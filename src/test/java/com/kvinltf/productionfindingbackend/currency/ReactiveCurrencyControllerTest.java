@@ -0,0 +1,150 @@
+package com.kvinltf.productionfindingbackend.currency;
+
+import com.kvinltf.productionfindingbackend.config.TestContainersConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the {@link ReactiveCurrencyController} and the {@link ReactiveCurrencyRepository}, served by
+ * Netty and R2DBC under the reactive profile.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"test", "reactive"})
+class ReactiveCurrencyControllerTest extends TestContainersConfig {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // The outbox is written by the database alone, through the defaults Liquibase gives it and Hibernate does not
+        jdbcTemplate.execute("alter table currency_changes"
+                + " alter column txid set default pg_current_xact_id()::text::bigint,"
+                + " alter column recorded_date set default now()");
+        jdbcTemplate.update("delete from currencies where code like 'Q%'");
+    }
+
+    @Test
+    @DisplayName("Should create a currency with its auditing fields and read it back with its ETag")
+    void shouldCreateAndGetACurrency() {
+        // When
+        Currency created = create("QAA");
+
+        // Then
+        assertThat(created.getVersion()).isZero();
+        assertThat(created.getCreatedDate()).isNotNull().isEqualTo(created.getLastModifiedDate());
+        assertThat(created.getCreatedBy()).isEqualTo("n/a");
+        assertThat(created.getLastModifiedBy()).isEqualTo("n/a");
+        webTestClient.get().uri("/currencies/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + created.getId() + "-0\"")
+                .expectBody()
+                .jsonPath("$.code").isEqualTo("QAA")
+                .jsonPath("$.createdBy").isEqualTo("n/a");
+    }
+
+    @Test
+    @DisplayName("Should page the currencies with a weak ETag, and answer 304 to a matching If-None-Match")
+    void shouldPageTheCurrencies() {
+        // Given
+        create("QAB");
+        create("QAC");
+
+        // When
+        String eTag = webTestClient.get().uri("/currencies?size=1000&sort=code,asc")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[?(@.code == 'QAB')].name").isEqualTo("Currency QAB")
+                .jsonPath("$.content[?(@.code == 'QAC')].name").isEqualTo("Currency QAC")
+                .returnResult()
+                .getResponseHeaders()
+                .getETag();
+
+        // Then
+        assertThat(eTag).startsWith("W/");
+        webTestClient.get().uri("/currencies?size=1000&sort=code,asc")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    @DisplayName("Should refuse an update with a stale If-Match with 412, and apply one with the current ETag")
+    void shouldUpdateOnlyTheVersionInIfMatch() {
+        // Given
+        Currency created = create("QAD");
+
+        // When / Then
+        webTestClient.put().uri("/currencies/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + created.getId() + "-5\"")
+                .bodyValue(body("QAD", "Renamed"))
+                .exchange()
+                .expectStatus().isEqualTo(412);
+        webTestClient.put().uri("/currencies/{id}", created.getId())
+                .header(HttpHeaders.IF_MATCH, "\"" + created.getId() + "-0\"")
+                .bodyValue(body("QAD", "Renamed"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"" + created.getId() + "-1\"")
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Renamed")
+                .jsonPath("$.version").isEqualTo(1)
+                .jsonPath("$.lastModifiedBy").isEqualTo("n/a");
+    }
+
+    @Test
+    @DisplayName("Should record each write in the outbox in the statement of the write, and delete the currency")
+    void shouldRecordEachWriteInTheOutbox() {
+        // Given
+        Currency created = create("QAE");
+        webTestClient.put().uri("/currencies/{id}", created.getId())
+                .bodyValue(body("QAE", "Renamed"))
+                .exchange()
+                .expectStatus().isOk();
+
+        // When
+        webTestClient.delete().uri("/currencies/{id}", created.getId())
+                .exchange()
+                .expectStatus().isOk();
+
+        // Then
+        webTestClient.get().uri("/currencies/{id}", created.getId())
+                .exchange()
+                .expectStatus().isNotFound();
+        List<String> changes = jdbcTemplate.queryForList(
+                "select type || ':' || version from currency_changes where currency_id = ? order by txid, id",
+                String.class, created.getId());
+        assertThat(changes).containsExactly("CREATED:0", "UPDATED:1", "DELETED:1");
+    }
+
+    private Currency create(String code) {
+        return webTestClient.post().uri("/currencies")
+                .bodyValue(body(code, "Currency " + code))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Currency.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    private static Map<String, Object> body(String code, String name) {
+        return Map.of("name", name, "code", code, "symbol", "Q", "decimalPlaces", 2);
+    }
+}
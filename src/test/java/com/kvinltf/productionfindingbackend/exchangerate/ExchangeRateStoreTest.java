@@ -0,0 +1,131 @@
+package com.kvinltf.productionfindingbackend.exchangerate;
+
+import com.kvinltf.productionfindingbackend.currency.Currency;
+import com.kvinltf.productionfindingbackend.currency.CurrencyChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ExchangeRateStore}.
+ */
+class ExchangeRateStoreTest {
+    private static final long USD = 1;
+    private static final long EUR = 2;
+    private static final long JPY = 3;
+
+    private ExchangeRateRepository exchangeRateRepository;
+    private ExchangeRateStore exchangeRateStore;
+
+    @BeforeEach
+    void setUp() {
+        exchangeRateRepository = mock(ExchangeRateRepository.class);
+        exchangeRateStore = new ExchangeRateStore(exchangeRateRepository, new SimpleMeterRegistry());
+    }
+
+    @Test
+    @DisplayName("Should return the last rate effective at or before the instant")
+    void shouldReturnTheLastRateEffectiveAtOrBeforeTheInstant() {
+        // Given
+        when(exchangeRateRepository.streamAllPoints()).thenReturn(Stream.of(
+                point(USD, EUR, "2026-01-01T00:00:00Z", "0.90"),
+                point(USD, EUR, "2026-02-01T00:00:00Z", "0.95")
+        ));
+
+        // When
+        exchangeRateStore.reload();
+
+        // Then
+        assertThat(exchangeRateStore.rateAt(USD, EUR, Instant.parse("2025-12-31T23:59:59Z"))).isNaN();
+        assertThat(exchangeRateStore.rateAt(USD, EUR, Instant.parse("2026-01-01T00:00:00Z"))).isEqualTo(0.90);
+        assertThat(exchangeRateStore.rateAt(USD, EUR, Instant.parse("2026-01-31T23:59:59Z"))).isEqualTo(0.90);
+        assertThat(exchangeRateStore.rateAt(USD, EUR, Instant.parse("2026-03-01T00:00:00Z"))).isEqualTo(0.95);
+    }
+
+    @Test
+    @DisplayName("Should fall back to the reciprocal of the opposite pair")
+    void shouldFallBackToTheReciprocalOfTheOppositePair() {
+        // Given
+        exchangeRateStore.onRatesChanged(new ExchangeRatesChangedEvent(List.of(
+                point(USD, EUR, "2026-01-01T00:00:00Z", "0.80")
+        )));
+
+        // When
+        double rate = exchangeRateStore.rateAt(EUR, USD, Instant.parse("2026-06-01T00:00:00Z"));
+
+        // Then
+        assertThat(rate).isEqualTo(1.25);
+        assertThat(exchangeRateStore.rateAt(USD, USD, Instant.EPOCH)).isEqualTo(1.0);
+        assertThat(exchangeRateStore.rateAt(USD, JPY, Instant.parse("2026-06-01T00:00:00Z"))).isNaN();
+    }
+
+    @Test
+    @DisplayName("Should merge changed rates into the existing series")
+    void shouldMergeChangedRatesIntoTheExistingSeries() {
+        // Given
+        exchangeRateStore.onRatesChanged(new ExchangeRatesChangedEvent(List.of(
+                point(USD, EUR, "2026-01-01T00:00:00Z", "0.90"),
+                point(USD, EUR, "2026-03-01T00:00:00Z", "0.97")
+        )));
+
+        // When
+        exchangeRateStore.onRatesChanged(new ExchangeRatesChangedEvent(List.of(
+                point(USD, EUR, "2026-02-01T00:00:00Z", "0.95"),
+                point(USD, EUR, "2026-01-01T00:00:00Z", "0.91")
+        )));
+
+        // Then
+        assertThat(exchangeRateStore.rateAt(USD, EUR, Instant.parse("2026-01-15T00:00:00Z"))).isEqualTo(0.91);
+        assertThat(exchangeRateStore.rateAt(USD, EUR, Instant.parse("2026-02-15T00:00:00Z"))).isEqualTo(0.95);
+        assertThat(exchangeRateStore.rateAt(USD, EUR, Instant.parse("2026-03-15T00:00:00Z"))).isEqualTo(0.97);
+    }
+
+    @Test
+    @DisplayName("Should drop the pairs of a deleted currency")
+    void shouldDropThePairsOfADeletedCurrency() {
+        // Given
+        exchangeRateStore.onRatesChanged(new ExchangeRatesChangedEvent(List.of(
+                point(USD, EUR, "2026-01-01T00:00:00Z", "0.90"),
+                point(JPY, USD, "2026-01-01T00:00:00Z", "0.0067")
+        )));
+        Currency euro = new Currency();
+        euro.setId(EUR);
+
+        // When
+        exchangeRateStore.onCurrencyChanged(new CurrencyChangedEvent(CurrencyChangedEvent.Type.DELETED, euro));
+
+        // Then
+        assertThat(exchangeRateStore.rateAt(USD, EUR, Instant.parse("2026-06-01T00:00:00Z"))).isNaN();
+        assertThat(exchangeRateStore.rateAt(JPY, USD, Instant.parse("2026-06-01T00:00:00Z"))).isEqualTo(0.0067);
+    }
+
+    @Test
+    @DisplayName("Should find no rate for IDs too large for a pair key, rather than fail")
+    void shouldFindNoRateForIdsTooLargeForAPairKey() {
+        // Given
+        long large = PairIndex.MAX_ID + 1;
+        exchangeRateStore.onRatesChanged(new ExchangeRatesChangedEvent(List.of(
+                point(USD, EUR, "2026-01-01T00:00:00Z", "0.90"),
+                point(large, USD, "2026-01-01T00:00:00Z", "2.00")
+        )));
+
+        // When/Then
+        assertThat(exchangeRateStore.rateAt(large, USD, Instant.parse("2026-06-01T00:00:00Z"))).isNaN();
+        assertThat(exchangeRateStore.rateAt(USD, Long.MAX_VALUE, Instant.parse("2026-06-01T00:00:00Z"))).isNaN();
+        assertThat(exchangeRateStore.rateAt(USD, EUR, Instant.parse("2026-06-01T00:00:00Z"))).isEqualTo(0.90);
+        assertThat(exchangeRateStore.rateAt(PairIndex.MAX_ID, USD, Instant.parse("2026-06-01T00:00:00Z"))).isNaN();
+    }
+
+    private static ExchangeRatePoint point(long base, long quote, String effectiveAt, String rate) {
+        return new ExchangeRatePoint(base, quote, Instant.parse(effectiveAt), new BigDecimal(rate));
+    }
+}
@@ -0,0 +1,116 @@
+package com.kvinltf.productionfindingbackend.product;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the {@link ProductSearchIndex}.
+ */
+class ProductSearchIndexTest {
+
+    private ProductRepository productRepository;
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        productRepository = mock(ProductRepository.class);
+        productSearchIndex = new ProductSearchIndex(productRepository, new SimpleMeterRegistry());
+        when(productRepository.streamAllAsDto()).thenReturn(Stream.of(
+                product(1L, "Red Cotton T-Shirt", "Soft tee made of organic cotton", Map.of("color", "red")),
+                product(2L, "Blue Denim Jacket", "Classic denim with cotton lining", Map.of("color", "blue")),
+                product(3L, "Crème Brûlée Torch", "Kitchen torch", Map.of()),
+                product(4L, "Cotton Socks", "Pack of five", Map.of("color", "red"))
+        ));
+        productSearchIndex.reload();
+    }
+
+    @Test
+    @DisplayName("Should require every query term and rank name matches first")
+    void shouldRequireEveryQueryTermAndRankNameMatchesFirst() {
+        // When
+        ProductSearchResult result = productSearchIndex.search("cotton red", 0, 10);
+
+        // Then
+        assertThat(result.totalHits()).isEqualTo(2);
+        assertThat(result.content()).extracting(hit -> hit.product().getId()).containsExactlyInAnyOrder(1L, 4L);
+        assertThat(productSearchIndex.search("cotton", 0, 10).content())
+                .extracting(hit -> hit.product().getId())
+                .last()
+                .isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should match the last term as a prefix and ignore accents")
+    void shouldMatchTheLastTermAsAPrefixAndIgnoreAccents() {
+        // When/Then
+        assertThat(productSearchIndex.search("denim jac", 0, 10).content())
+                .extracting(hit -> hit.product().getId())
+                .containsExactly(2L);
+        assertThat(productSearchIndex.search("CREME brulee", 0, 10).content())
+                .extracting(hit -> hit.product().getId())
+                .containsExactly(3L);
+        assertThat(productSearchIndex.search("jac denim", 0, 10).totalHits()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should page through hits in rank order")
+    void shouldPageThroughHitsInRankOrder() {
+        // Given
+        ProductSearchResult all = productSearchIndex.search("cotton", 0, 10);
+
+        // When
+        ProductSearchResult second = productSearchIndex.search("cotton", 1, 2);
+
+        // Then
+        assertThat(second.totalHits()).isEqualTo(3);
+        assertThat(second.content()).hasSize(1);
+        assertThat(second.content().getFirst().product()).isEqualTo(all.content().get(2).product());
+    }
+
+    @Test
+    @DisplayName("Should return an empty page past the window, however far")
+    void shouldReturnAnEmptyPagePastTheWindow() {
+        // When
+        ProductSearchResult far = productSearchIndex.search("cotton", Integer.MAX_VALUE, 100);
+        ProductSearchResult wrapping = productSearchIndex.search("cotton", Integer.MAX_VALUE / 2, 2);
+
+        // Then
+        assertThat(far.content()).isEmpty();
+        assertThat(far.totalHits()).isEqualTo(3);
+        assertThat(wrapping.content()).isEmpty();
+        assertThat(wrapping.totalHits()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Should apply updates and deletions")
+    void shouldApplyUpdatesAndDeletions() {
+        // When
+        productSearchIndex.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.UPDATED,
+                product(4L, "Wool Socks", "Pack of five", Map.of("color", "green"))));
+        productSearchIndex.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.DELETED,
+                product(1L, "Red Cotton T-Shirt", null, Map.of())));
+        productSearchIndex.onProductChanged(new ProductChangedEvent(ProductChangedEvent.Type.CREATED,
+                product(5L, "Cotton Scarf", null, Map.of())));
+
+        // Then
+        assertThat(productSearchIndex.search("cotton", 0, 10).content())
+                .extracting(hit -> hit.product().getId())
+                .containsExactlyInAnyOrder(2L, 5L);
+        assertThat(productSearchIndex.search("green socks", 0, 10).content())
+                .extracting(hit -> hit.product().getId())
+                .containsExactly(4L);
+        assertThat(productSearchIndex.search("red", 0, 10).totalHits()).isZero();
+    }
+
+    private static ProductDto product(Long id, String name, String description, Map<String, String> attributes) {
+        return new ProductDto().setId(id).setName(name).setDescription(description).setAttributes(attributes);
+    }
+}